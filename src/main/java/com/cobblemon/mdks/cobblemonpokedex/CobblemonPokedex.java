@@ -2,28 +2,50 @@ package com.cobblemon.mdks.cobblemonpokedex;
 
 import org.slf4j.LoggerFactory;
 
+import com.cobblemon.mdks.cobblemonpokedex.claim.ClaimJournal;
+import com.cobblemon.mdks.cobblemonpokedex.claim.RewardClaimService;
+import com.cobblemon.mdks.cobblemonpokedex.claim.RewardMailbox;
 import com.cobblemon.mdks.cobblemonpokedex.command.DexRewardsCommand;
+import com.cobblemon.mdks.cobblemonpokedex.config.ConfigReloader;
+import com.cobblemon.mdks.cobblemonpokedex.config.ConfigWatcher;
 import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig;
 import com.cobblemon.mdks.cobblemonpokedex.config.PokedexConfig;
 import com.cobblemon.mdks.cobblemonpokedex.config.RewardConfig;
 import com.cobblemon.mdks.cobblemonpokedex.listeners.CatchPokemonListener;
+import com.cobblemon.mdks.cobblemonpokedex.listeners.LivingDexListener;
+import com.cobblemon.mdks.cobblemonpokedex.listeners.PlayerSessionListener;
+import com.cobblemon.mdks.cobblemonpokedex.listeners.PokedexChangeListener;
+import com.cobblemon.mdks.cobblemonpokedex.progress.DexProgressCache;
+import com.cobblemon.mdks.cobblemonpokedex.progress.LivingDexTracker;
 import com.cobblemon.mdks.cobblemonpokedex.util.CommandsRegistry;
 import com.cobblemon.mdks.cobblemonpokedex.util.MessageHandler;
 import com.cobblemon.mdks.cobblemonpokedex.util.Permissions;
+import com.cobblemon.mdks.cobblemonpokedex.util.SpeciesIds;
 import com.cobblemon.mdks.cobblemonpokedex.util.Utils;
+import com.cobblemon.mod.common.api.pokemon.PokemonSpecies;
+import com.cobblemon.mod.common.pokemon.Species;
 
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.minecraft.server.MinecraftServer;
 
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+
 public class CobblemonPokedex implements ModInitializer {
     public static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger("simpledexrewards");
-    public static PokedexConfig pokedexConfig;
-    public static RewardConfig rewardConfig;
-    public static PlayerDataConfig playerDataConfig;
+    public static volatile PokedexConfig pokedexConfig;
+    public static volatile RewardConfig rewardConfig;
+    public static volatile PlayerDataConfig playerDataConfig;
     public static Permissions permissions;
+    public static DexProgressCache dexProgressCache = new DexProgressCache();
+    public static RewardClaimService claimService;
+    public static RewardMailbox rewardMailbox = new RewardMailbox();
+    public static LivingDexTracker livingDexTracker = new LivingDexTracker();
     public static MinecraftServer server;
+    private static ConfigWatcher configWatcher;
 
     @Override
     public void onInitialize() {
@@ -43,6 +65,11 @@ public class CobblemonPokedex implements ModInitializer {
             
             LOGGER.info("Loading player data configuration...");
             playerDataConfig = new PlayerDataConfig();
+
+            LOGGER.info("Opening reward claim journal...");
+            claimService = new RewardClaimService(
+                new ClaimJournal(Path.of(ClaimJournal.DEFAULT_FILE), pokedexConfig.getFileSyncMode()));
+            claimService.recover();
             
             // Initialize MessageHandler with configured prefix
             LOGGER.info("Initializing MessageHandler...");
@@ -63,32 +90,57 @@ public class CobblemonPokedex implements ModInitializer {
         // Register commands with Fabric
         CommandRegistrationCallback.EVENT.register(CommandsRegistry::registerCommands);
 
+        // Track joins and leaves for player data loading and eviction
+        PlayerSessionListener.register();
+
         LOGGER.info("Cobblemon Pokedex Progression initialized");
 
         // Register event listeners
         ServerLifecycleEvents.SERVER_STARTED.register(server -> {
             CobblemonPokedex.server = server;
+            registerSpeciesIds();
+            rewardConfig.compileRewards(server);
             CatchPokemonListener.register();
+            PokedexChangeListener.register();
+            LivingDexListener.register();
             LOGGER.info("Registered Pokemon catch listener");
+            configWatcher = ConfigWatcher.start(server);
+        });
+
+        // Drain pending player data writes before the server goes down
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
+            if (configWatcher != null) {
+                configWatcher.stop();
+                configWatcher = null;
+            }
+            CatchPokemonListener.flushAll(server);
+            if (playerDataConfig != null) {
+                playerDataConfig.close();
+            }
+            if (claimService != null) {
+                claimService.compactIfSaved();
+                claimService.close();
+            }
         });
     }
 
-    public static void reload() {
-        try {
-            LOGGER.info("Reloading configurations...");
-            pokedexConfig.load();
-            pokedexConfig.save(); // Save after load to ensure new fields are written
-            rewardConfig.load();
-            playerDataConfig = new PlayerDataConfig();
-            permissions = new Permissions();
-            
-            // Reinitialize MessageHandler with updated prefix
-            MessageHandler.initialize(pokedexConfig.getMessagePrefix());
-            
-            LOGGER.info("Cobblemon Pokedex Progression reloaded successfully");
-        } catch (Exception e) {
-            LOGGER.error("Failed to reload configurations", e);
-            throw new RuntimeException("Failed to reload Cobblemon Pokedex", e);
-        }
+    /**
+     * Seeds the species id table in Pokedex order so living dex bitsets stay dense
+     */
+    private static void registerSpeciesIds() {
+        SpeciesIds.registerAll(PokemonSpecies.INSTANCE.getSpecies().stream()
+            .sorted(Comparator.comparingInt(Species::getNationalPokedexNumber))
+            .map(species -> species.getResourceIdentifier().getPath())
+            .toList());
+        LOGGER.info("Registered " + SpeciesIds.size() + " species ids");
+    }
+
+    /**
+     * Reloads the config files in the background, see {@link ConfigReloader}
+     * @return The reloaded configs, completing on the server thread once they are live
+     */
+    public static CompletableFuture<ConfigReloader.Staged> reload() {
+        LOGGER.info("Reloading configurations...");
+        return ConfigReloader.reloadConfigs(server);
     }
 }
@@ -0,0 +1,248 @@
+package com.cobblemon.mdks.cobblemonpokedex.claim;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.storage.AtomicFileWriter;
+import com.cobblemon.mdks.cobblemonpokedex.storage.FileSyncMode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Durable record of reward claims, written ahead of every step of a claim:
+ * INTENT when a claim starts, ATTEMPTED before each reward of the tier is
+ * given, and COMMITTED once the tier is marked claimed in the player's data.
+ * After a crash, claims without COMMITTED are resumed from the first reward
+ * that was not attempted, so no reward is given twice. A reward whose grant
+ * was cut short by the crash is not given again either.
+ *
+ * The file holds one record per line: "INTENT key rewardCount",
+ * "ATTEMPTED key index" or "COMMITTED key", with keys as in {@link ClaimKey}.
+ * A line torn by a crash mid-append is dropped when the journal is opened.
+ * Committed claims are kept until {@link #compact} is called, which must only
+ * happen once the claimed tiers are safely in the player data storage.
+ */
+public class ClaimJournal {
+    public static final String DEFAULT_FILE = "config/simpledexrewards/claims.journal";
+
+    private static final String INTENT = "INTENT";
+    private static final String ATTEMPTED = "ATTEMPTED";
+    private static final String COMMITTED = "COMMITTED";
+
+    private final Path file;
+    private final FileSyncMode syncMode;
+    private final Map<ClaimKey, OpenClaim> open = new LinkedHashMap<>();
+    private final Set<ClaimKey> committed = new LinkedHashSet<>();
+    private FileChannel channel;
+
+    /**
+     * Opens the journal, creating it if needed, and replays its records
+     * @param file The journal file
+     * @param syncMode Whether records are forced to disk as they are appended
+     * @throws IOException If the journal cannot be read or opened for appending
+     */
+    public ClaimJournal(Path file, FileSyncMode syncMode) throws IOException {
+        this.file = file;
+        this.syncMode = syncMode;
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        replay();
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void replay() throws IOException {
+        if (!Files.exists(file)) return;
+
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        int end = content.lastIndexOf('\n') + 1;
+        if (end < content.length()) {
+            CobblemonPokedex.LOGGER.warn("Dropping torn record at the end of " + file.getFileName());
+            try (FileChannel truncate = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                truncate.truncate(content.substring(0, end).getBytes(StandardCharsets.UTF_8).length);
+            }
+        }
+
+        for (String line : content.substring(0, end).split("\n")) {
+            if (line.isEmpty()) continue;
+            try {
+                apply(line.split(" "));
+            } catch (RuntimeException e) {
+                CobblemonPokedex.LOGGER.error("Skipping invalid claim journal record: " + line, e);
+            }
+        }
+    }
+
+    private void apply(String[] record) {
+        ClaimKey key = ClaimKey.parse(record[1]);
+        switch (record[0]) {
+            case INTENT:
+                open.put(key, new OpenClaim(key, Integer.parseInt(record[2])));
+                break;
+            case ATTEMPTED:
+                OpenClaim claim = open.get(key);
+                if (claim != null) claim.markAttempted(Integer.parseInt(record[2]));
+                break;
+            case COMMITTED:
+                open.remove(key);
+                committed.add(key);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown record type " + record[0]);
+        }
+    }
+
+    /**
+     * Records that a claim is starting
+     * @param key The claim
+     * @param rewardCount The number of rewards in the tier
+     * @return The new open claim
+     * @throws IOException If the record could not be written, in which case nothing may be granted
+     */
+    public synchronized OpenClaim begin(ClaimKey key, int rewardCount) throws IOException {
+        append(INTENT + " " + key + " " + rewardCount);
+        OpenClaim claim = new OpenClaim(key, rewardCount);
+        open.put(key, claim);
+        return claim;
+    }
+
+    /**
+     * Records that a reward of an open claim is about to be given
+     * @param key The claim
+     * @param index The position of the reward in the tier
+     * @throws IOException If the record could not be written, in which case the reward may not be given
+     */
+    public synchronized void attempting(ClaimKey key, int index) throws IOException {
+        OpenClaim claim = open.get(key);
+        if (claim == null) {
+            throw new IllegalStateException("Claim " + key + " is not open");
+        }
+        append(ATTEMPTED + " " + key + " " + index);
+        claim.markAttempted(index);
+    }
+
+    /**
+     * Records that a claim is complete and the tier is marked claimed
+     * @param key The claim
+     * @throws IOException If the record could not be written
+     */
+    public synchronized void commit(ClaimKey key) throws IOException {
+        append(COMMITTED + " " + key);
+        open.remove(key);
+        committed.add(key);
+    }
+
+    /**
+     * @param key The claim
+     * @return The claim if it was started but not committed, otherwise null
+     */
+    public synchronized OpenClaim getOpen(ClaimKey key) {
+        return open.get(key);
+    }
+
+    /**
+     * @return Every claim that was started but not committed, in the order they were started
+     */
+    public synchronized List<OpenClaim> getOpenClaims() {
+        return new ArrayList<>(open.values());
+    }
+
+    /**
+     * @param key The claim
+     * @return true if the claim was committed since the journal was last compacted
+     */
+    public synchronized boolean isCommitted(ClaimKey key) {
+        return committed.contains(key);
+    }
+
+    /**
+     * @return The claims committed since the journal was last compacted
+     */
+    public synchronized List<ClaimKey> getCommitted() {
+        return new ArrayList<>(committed);
+    }
+
+    /**
+     * Rewrites the journal with only the open claims, forgetting committed ones.
+     * Call only after the claimed tiers of every committed claim have been saved.
+     * @throws IOException If the journal could not be rewritten
+     */
+    public synchronized void compact() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (OpenClaim claim : open.values()) {
+            content.append(INTENT).append(' ').append(claim.key).append(' ').append(claim.rewardCount).append('\n');
+            BitSet attempted = claim.copyAttempted();
+            for (int i = attempted.nextSetBit(0); i >= 0; i = attempted.nextSetBit(i + 1)) {
+                content.append(ATTEMPTED).append(' ').append(claim.key).append(' ').append(i).append('\n');
+            }
+        }
+
+        channel.close();
+        try {
+            AtomicFileWriter.write(file, content.toString().getBytes(StandardCharsets.UTF_8), syncMode != FileSyncMode.NONE);
+            committed.clear();
+        } finally {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+    }
+
+    public synchronized void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            CobblemonPokedex.LOGGER.error("Failed to close claim journal", e);
+        }
+    }
+
+    private void append(String record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((record + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (syncMode != FileSyncMode.NONE) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * A claim that was started but not committed
+     */
+    public static final class OpenClaim {
+        private final ClaimKey key;
+        private final int rewardCount;
+        private final BitSet attempted = new BitSet();
+
+        private OpenClaim(ClaimKey key, int rewardCount) {
+            this.key = key;
+            this.rewardCount = rewardCount;
+        }
+
+        public ClaimKey getKey() { return key; }
+        public int getRewardCount() { return rewardCount; }
+
+        /**
+         * @param index The position of a reward in the tier
+         * @return true if giving the reward was already attempted
+         */
+        public synchronized boolean isAttempted(int index) {
+            return attempted.get(index);
+        }
+
+        private synchronized void markAttempted(int index) {
+            attempted.set(index);
+        }
+
+        private synchronized BitSet copyAttempted() {
+            return (BitSet) attempted.clone();
+        }
+    }
+}
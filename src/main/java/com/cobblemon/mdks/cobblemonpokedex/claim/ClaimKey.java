@@ -0,0 +1,60 @@
+package com.cobblemon.mdks.cobblemonpokedex.claim;
+
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardTrack;
+
+import java.util.UUID;
+
+/**
+ * Identifies one reward claim: a tier of a track for a player.
+ * Each key can be claimed exactly once, which is what makes claims idempotent.
+ */
+public final class ClaimKey {
+    private final UUID playerId;
+    private final RewardTrack track;
+    private final int tier;
+
+    public ClaimKey(UUID playerId, RewardTrack track, int tier) {
+        this.playerId = playerId;
+        this.track = track;
+        this.tier = tier;
+    }
+
+    /**
+     * @param key A key in the form written by {@link #toString()}
+     * @return The parsed key
+     * @throws IllegalArgumentException If the key is malformed
+     */
+    public static ClaimKey parse(String key) {
+        String[] parts = key.split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid claim key " + key);
+        }
+        try {
+            return new ClaimKey(UUID.fromString(parts[0]), RewardTrack.valueOf(parts[1]), Integer.parseInt(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid claim key " + key, e);
+        }
+    }
+
+    public UUID getPlayerId() { return playerId; }
+    public RewardTrack getTrack() { return track; }
+    public int getTier() { return tier; }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ClaimKey other && tier == other.tier && track == other.track && playerId.equals(other.playerId);
+    }
+
+    @Override
+    public int hashCode() {
+        return (playerId.hashCode() * 31 + track.hashCode()) * 31 + tier;
+    }
+
+    /**
+     * @return The key as uuid:track:tier
+     */
+    @Override
+    public String toString() {
+        return playerId + ":" + track.name() + ":" + tier;
+    }
+}
@@ -0,0 +1,278 @@
+package com.cobblemon.mdks.cobblemonpokedex.claim;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.claim.ClaimJournal.OpenClaim;
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig;
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+import com.cobblemon.mdks.cobblemonpokedex.config.Reward;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardConfig.RewardTier;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardContext;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardSnapshot;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardTrack;
+import com.cobblemon.mdks.cobblemonpokedex.config.TierIndex;
+import com.cobblemon.mdks.cobblemonpokedex.util.Trace;
+import com.cobblemon.mdks.cobblemonpokedex.util.TraceCategory;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grants each reward of a tier at most once per (player, track, tier).
+ * Every step is written to the {@link ClaimJournal} before it is taken, so a
+ * crash or error mid-claim is finished later instead of granting again, and a
+ * player can only run one claim at a time, so clicks that arrive while a claim
+ * is running are turned away.
+ *
+ * A reward counts as given once its grant has been attempted, even if it
+ * failed or the server crashed during it; the failure is reported but not
+ * retried, since what a failed grant already did (e.g. a half-run command)
+ * cannot be known.
+ */
+public class RewardClaimService {
+    private final ClaimJournal journal;
+    private final Set<UUID> claiming = ConcurrentHashMap.newKeySet();
+
+    public RewardClaimService(ClaimJournal journal) {
+        this.journal = journal;
+    }
+
+    public enum Status {
+        CLAIMED,          // Every reward of the tier was given (see the grant results for failures)
+        ALREADY_CLAIMED,  // The tier was claimed before
+        IN_PROGRESS,      // Another claim of the player is running
+        NO_REWARD,        // The track has no such tier
+        FAILED            // The journal could not be written, the claim is resumed later
+    }
+
+    /**
+     * Claims a tier for a player, resuming the claim if an earlier attempt was interrupted.
+     * The caller checks that the player has reached the tier.
+     * @param player The player claiming
+     * @param track The reward track
+     * @param tier The tier to claim
+     * @return The outcome, with the result of each reward given by this call
+     */
+    public ClaimResult claim(ServerPlayer player, RewardTrack track, int tier) {
+        UUID playerId = player.getUUID();
+        PlayerData data = CobblemonPokedex.playerDataConfig.getPlayerData(playerId);
+        if (!claiming.add(playerId)) {
+            return new ClaimResult(Status.IN_PROGRESS);
+        }
+        try {
+            return claimLocked(player, data, new ClaimKey(playerId, track, tier), player.getServer().createCommandSourceStack());
+        } finally {
+            CobblemonPokedex.playerDataConfig.savePlayer(playerId, data);
+            claiming.remove(playerId);
+        }
+    }
+
+    /**
+     * Claims every tier of a track the player has reached but not claimed, as
+     * one batch: the reachable tiers come from a single mask lookup, command
+     * rewards share one command source, and the player data is saved once.
+     * Each tier is still journaled on its own, so a crash mid-batch keeps
+     * the tiers that completed.
+     * @param player The player claiming
+     * @param track The reward track
+     * @param index The track's tier index, read once by the caller
+     * @param progress The player's progress on the track
+     * @return CLAIMED with the claimed tiers and every grant result, NO_REWARD if
+     *         nothing was claimable, or FAILED with the tiers claimed before the journal failed
+     */
+    public ClaimResult claimAll(ServerPlayer player, RewardTrack track, TierIndex index, double progress) {
+        UUID playerId = player.getUUID();
+        PlayerData data = CobblemonPokedex.playerDataConfig.getPlayerData(playerId);
+        if (!claiming.add(playerId)) {
+            return new ClaimResult(Status.IN_PROGRESS);
+        }
+        List<Integer> tiers = new ArrayList<>();
+        List<Reward.GrantResult> results = new ArrayList<>();
+        try {
+            long claimable = data.getClaimableMask(track, index, progress);
+            CommandSourceStack source = player.getServer().createCommandSourceStack();
+            for (long bits = claimable; bits != 0; bits &= bits - 1) {
+                int tier = index.tierAt(Long.numberOfTrailingZeros(bits));
+                ClaimResult result = claimLocked(player, data, new ClaimKey(playerId, track, tier), source);
+                if (result.getStatus() == Status.FAILED) {
+                    return new ClaimResult(Status.FAILED, tiers, results);
+                }
+                if (result.getStatus() == Status.CLAIMED) {
+                    tiers.add(tier);
+                    results.addAll(result.getResults());
+                }
+            }
+            return new ClaimResult(tiers.isEmpty() ? Status.NO_REWARD : Status.CLAIMED, tiers, results);
+        } finally {
+            CobblemonPokedex.playerDataConfig.savePlayer(playerId, data);
+            claiming.remove(playerId);
+        }
+    }
+
+    /**
+     * Claims one tier while the player's claim lock is held; the caller saves the data
+     */
+    private ClaimResult claimLocked(ServerPlayer player, PlayerData data, ClaimKey key, CommandSourceStack source) {
+        try {
+            if (data.hasClaimed(key.getTrack(), key.getTier())) {
+                return new ClaimResult(Status.ALREADY_CLAIMED);
+            }
+            if (journal.isCommitted(key)) {
+                // Committed but the claimed flag was never saved, restore it
+                data.setClaimed(key.getTrack(), key.getTier(), true);
+                return new ClaimResult(Status.ALREADY_CLAIMED);
+            }
+
+            RewardTier reward = RewardSnapshot.current().track(key.getTrack()).getReward(key.getTier());
+            OpenClaim claim = journal.getOpen(key);
+            if (claim == null) {
+                if (reward == null) {
+                    return new ClaimResult(Status.NO_REWARD);
+                }
+                claim = journal.begin(key, reward.getRewards().size());
+            }
+            return complete(player, data, claim, reward, source);
+        } catch (IOException e) {
+            CobblemonPokedex.LOGGER.error("Failed to write claim journal for " + key, e);
+            return new ClaimResult(Status.FAILED);
+        }
+    }
+
+    /**
+     * Finishes the claims of a player that were interrupted by a crash or error,
+     * called when the player joins
+     * @param player The player whose claims to resume
+     */
+    public void resumePending(ServerPlayer player) {
+        for (OpenClaim claim : journal.getOpenClaims()) {
+            ClaimKey key = claim.getKey();
+            if (!key.getPlayerId().equals(player.getUUID())) continue;
+
+            CobblemonPokedex.LOGGER.info("Resuming interrupted claim " + key);
+            ClaimResult result = claim(player, key.getTrack(), key.getTier());
+            if (result.getStatus() == Status.CLAIMED) {
+                player.sendSystemMessage(Component.literal("§aFinished giving your " + key.getTier() + "% reward that was interrupted"));
+            }
+        }
+    }
+
+    private ClaimResult complete(ServerPlayer player, PlayerData data, OpenClaim claim, RewardTier reward,
+                                 CommandSourceStack source) throws IOException {
+        ClaimKey key = claim.getKey();
+        List<Reward> rewards = reward != null ? reward.getRewards() : Collections.emptyList();
+        if (rewards.size() != claim.getRewardCount()) {
+            CobblemonPokedex.LOGGER.warn("Rewards of " + key + " changed from " + claim.getRewardCount()
+                + " to " + rewards.size() + " since the claim started, giving the remaining ones by position");
+        }
+
+        List<Reward.GrantResult> results = new ArrayList<>();
+        if (!rewards.isEmpty()) {
+            RewardContext context = RewardTier.contextFor(player, key.getTrack(), key.getTier());
+            for (int i = 0; i < rewards.size(); i++) {
+                if (claim.isAttempted(i)) continue;
+                journal.attempting(key, i);
+                Reward.GrantResult result = rewards.get(i).grant(player, context, source);
+                Trace.trace(TraceCategory.REWARDS, "Reward {} of {}: {}", i, key,
+                    result.isSuccess() ? "given" : result.getMessage());
+                results.add(result);
+            }
+        }
+
+        data.setClaimed(key.getTrack(), key.getTier(), true);
+        journal.commit(key);
+        Trace.info(TraceCategory.REWARDS, "Claimed {} for {}, {} rewards given", key, player.getGameProfile().getName(), results.size());
+        return new ClaimResult(Status.CLAIMED, List.of(key.getTier()), results);
+    }
+
+    /**
+     * Applies the claimed flag of every committed claim the player data may
+     * have lost in a crash, saves, and drops the committed claims from the journal.
+     * Called on startup, before any claims are made.
+     */
+    public void recover() {
+        PlayerDataConfig playerDataConfig = CobblemonPokedex.playerDataConfig;
+        int restored = 0;
+        for (ClaimKey key : journal.getCommitted()) {
+            PlayerData data = playerDataConfig.getPlayerData(key.getPlayerId());
+            if (!data.hasClaimed(key.getTrack(), key.getTier())) {
+                data.setClaimed(key.getTrack(), key.getTier(), true);
+                restored++;
+            }
+        }
+        if (restored > 0) {
+            CobblemonPokedex.LOGGER.warn("Restored " + restored + " claimed reward tiers from the claim journal");
+        }
+        playerDataConfig.save();
+        compactIfSaved();
+
+        int open = journal.getOpenClaims().size();
+        if (open > 0) {
+            CobblemonPokedex.LOGGER.info(open + " interrupted reward claims will be finished when their players join");
+        }
+    }
+
+    /**
+     * Drops committed claims from the journal, but only once no player data
+     * is left unsaved, since the journal is what restores them otherwise
+     */
+    public void compactIfSaved() {
+        if (CobblemonPokedex.playerDataConfig.getSaveQueue().getPendingCount() > 0) {
+            CobblemonPokedex.LOGGER.warn("Player data has unsaved changes, keeping committed claims in the journal");
+            return;
+        }
+        try {
+            journal.compact();
+        } catch (IOException e) {
+            CobblemonPokedex.LOGGER.error("Failed to compact claim journal", e);
+        }
+    }
+
+    public void close() {
+        journal.close();
+    }
+
+    /**
+     * The outcome of a claim
+     */
+    public static class ClaimResult {
+        private final Status status;
+        private final List<Integer> tiers;
+        private final List<Reward.GrantResult> results;
+
+        ClaimResult(Status status) {
+            this(status, Collections.emptyList(), Collections.emptyList());
+        }
+
+        ClaimResult(Status status, List<Integer> tiers, List<Reward.GrantResult> results) {
+            this.status = status;
+            this.tiers = tiers;
+            this.results = results;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * @return The tiers claimed by this call, in ascending order
+         */
+        public List<Integer> getTiers() {
+            return tiers;
+        }
+
+        /**
+         * @return The result of each reward given by this claim, in order
+         */
+        public List<Reward.GrantResult> getResults() {
+            return results;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.cobblemon.mdks.cobblemonpokedex.claim;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+import com.cobblemon.mdks.cobblemonpokedex.util.Trace;
+import com.cobblemon.mdks.cobblemonpokedex.util.TraceCategory;
+
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.nbt.TagParser;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds reward items that did not fit in a player's inventory and hands them
+ * out once there is room: on login, and every second while the player has mail.
+ * Items are kept in the player data as SNBT so they survive restarts.
+ *
+ * Only online players with mail are checked, and nothing is parsed while their
+ * inventory has no free slot, so a full inventory costs one slot scan. An entry
+ * that cannot be read is reported once, kept in case its mod is only missing
+ * for now, and skipped until the player next joins.
+ */
+public class RewardMailbox {
+    private static final int DELIVERY_INTERVAL_TICKS = 20; // Once a second
+
+    private final Set<UUID> waiting = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Set<String>> unreadable = new ConcurrentHashMap<>();
+    private int ticksSinceDelivery = 0;
+
+    /**
+     * Puts an item in a player's mailbox and tells them about it
+     * @param player The player the item is for
+     * @param stack The item that did not fit
+     */
+    public void send(ServerPlayer player, ItemStack stack) {
+        if (stack.isEmpty()) return;
+        PlayerData data = CobblemonPokedex.playerDataConfig.getPlayerData(player.getUUID());
+        data.addPendingItem(encode(stack, player.registryAccess()));
+        CobblemonPokedex.playerDataConfig.savePlayer(player.getUUID(), data);
+        waiting.add(player.getUUID());
+        Trace.debug(TraceCategory.REWARDS, "Sent {} to the mailbox of {}", stack, player.getGameProfile().getName());
+        player.sendSystemMessage(Component.literal("§eYour inventory is full, " + stack.getCount() + "x "
+            + stack.getHoverName().getString() + " was sent to your reward mailbox §7(/dexrewards mailbox)"));
+    }
+
+    /**
+     * Hands out as much waiting mail as fits in the player's inventory, stopping
+     * at the first stack that no longer fits
+     * @param player The player to deliver to
+     * @return The number of stacks delivered in full
+     */
+    public int deliver(ServerPlayer player) {
+        UUID playerId = player.getUUID();
+        PlayerData data = CobblemonPokedex.playerDataConfig.getPlayerData(playerId);
+        List<String> pending = data.getPendingItems();
+        if (pending.isEmpty()) {
+            waiting.remove(playerId);
+            return 0;
+        }
+
+        Inventory inventory = player.getInventory();
+        if (inventory.getFreeSlot() < 0) return 0;
+
+        RegistryAccess registryAccess = player.registryAccess();
+        List<String> remaining = new ArrayList<>();
+        int delivered = 0;
+        boolean changed = false;
+        boolean full = false;
+        for (String entry : pending) {
+            if (full) {
+                remaining.add(entry);
+                continue;
+            }
+            ItemStack stack = decode(playerId, entry, registryAccess);
+            if (stack.isEmpty()) {
+                remaining.add(entry);
+                continue;
+            }
+
+            int before = stack.getCount();
+            inventory.add(stack);
+            if (stack.isEmpty()) {
+                delivered++;
+                changed = true;
+            } else if (stack.getCount() != before) {
+                remaining.add(encode(stack, registryAccess));
+                changed = true;
+            } else {
+                remaining.add(entry);
+            }
+            full = !stack.isEmpty() || inventory.getFreeSlot() < 0;
+        }
+
+        // Whatever is left without the inventory filling up cannot be read
+        if (!full) {
+            waiting.remove(playerId);
+        }
+        if (changed) {
+            data.setPendingItems(remaining);
+            CobblemonPokedex.playerDataConfig.savePlayer(playerId, data);
+        }
+        if (delivered > 0) {
+            player.sendSystemMessage(Component.literal("§aDelivered " + delivered + " item" + (delivered == 1 ? "" : "s")
+                + " from your reward mailbox" + (remaining.isEmpty() ? "" : "§7, " + remaining.size() + " still waiting for space")));
+        }
+        return delivered;
+    }
+
+    /**
+     * Checks the player's mail once, reporting entries that cannot be read, then delivers it
+     * @param player The player who joined
+     */
+    public void onJoin(ServerPlayer player) {
+        PlayerData data = CobblemonPokedex.playerDataConfig.getPlayerData(player.getUUID());
+        if (!data.hasPendingItems()) return;
+
+        unreadable.remove(player.getUUID());
+        for (String entry : data.getPendingItems()) {
+            decode(player.getUUID(), entry, player.registryAccess());
+        }
+        waiting.add(player.getUUID());
+        deliver(player);
+    }
+
+    /**
+     * @param playerId The player who left
+     */
+    public void onLeave(UUID playerId) {
+        waiting.remove(playerId);
+        unreadable.remove(playerId);
+    }
+
+    /**
+     * Retries delivery for online players with mail, called every server tick
+     * @param server The server
+     */
+    public void tick(MinecraftServer server) {
+        if (++ticksSinceDelivery < DELIVERY_INTERVAL_TICKS || waiting.isEmpty()) return;
+        ticksSinceDelivery = 0;
+        for (UUID playerId : waiting) {
+            ServerPlayer player = server.getPlayerList().getPlayer(playerId);
+            if (player == null) {
+                waiting.remove(playerId);
+            } else {
+                deliver(player);
+            }
+        }
+    }
+
+    /**
+     * @param player The player
+     * @return The player's waiting items, for display
+     */
+    public List<ItemStack> getPending(ServerPlayer player) {
+        List<ItemStack> stacks = new ArrayList<>();
+        for (String entry : CobblemonPokedex.playerDataConfig.getPlayerData(player.getUUID()).getPendingItems()) {
+            ItemStack stack = decode(player.getUUID(), entry, player.registryAccess());
+            if (!stack.isEmpty()) stacks.add(stack);
+        }
+        return stacks;
+    }
+
+    private static String encode(ItemStack stack, RegistryAccess registryAccess) {
+        return stack.save(registryAccess).toString();
+    }
+
+    /**
+     * Parses a mailbox entry, reporting it the first time it cannot be read
+     * @return The item, or an empty stack if the entry cannot be read
+     */
+    private ItemStack decode(UUID playerId, String entry, RegistryAccess registryAccess) {
+        Set<String> known = unreadable.get(playerId);
+        if (known != null && known.contains(entry)) return ItemStack.EMPTY;
+
+        ItemStack stack;
+        Exception failure = null;
+        try {
+            stack = ItemStack.parse(registryAccess, TagParser.parseTag(entry)).orElse(ItemStack.EMPTY);
+        } catch (Exception e) {
+            stack = ItemStack.EMPTY;
+            failure = e;
+        }
+        if (stack.isEmpty()) {
+            unreadable.computeIfAbsent(playerId, id -> ConcurrentHashMap.newKeySet()).add(entry);
+            CobblemonPokedex.LOGGER.error("Unreadable reward mailbox item of " + playerId + ", keeping it: " + entry, failure);
+        }
+        return stack;
+    }
+}
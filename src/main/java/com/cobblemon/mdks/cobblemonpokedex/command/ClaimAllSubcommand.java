@@ -0,0 +1,33 @@
+package com.cobblemon.mdks.cobblemonpokedex.command;
+
+import com.cobblemon.mdks.cobblemonpokedex.util.Subcommand;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.tree.CommandNode;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * Claims every reward tier the player has reached in one go
+ */
+public class ClaimAllSubcommand extends Subcommand {
+    public ClaimAllSubcommand() {
+        super("§9Usage: §3/dexrewards claimall");
+    }
+
+    @Override
+    public int run(CommandContext<CommandSourceStack> context) {
+        ServerPlayer player = context.getSource().getPlayer();
+        if (player == null) return 0;
+
+        return DexRewardsCommand.claimAllRewards(player) > 0 ? 1 : 0;
+    }
+
+    @Override
+    public CommandNode<CommandSourceStack> build() {
+        return LiteralArgumentBuilder.<CommandSourceStack>literal("claimall")
+            .executes(this::run)
+            .build();
+    }
+}
@@ -1,31 +1,24 @@
 package com.cobblemon.mdks.cobblemonpokedex.command;
 
 import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
-import com.cobblemon.mdks.cobblemonpokedex.config.RewardConfig;
-import com.cobblemon.mdks.cobblemonpokedex.config.RewardConfig.RewardTier;
+import com.cobblemon.mdks.cobblemonpokedex.claim.RewardClaimService.ClaimResult;
+import com.cobblemon.mdks.cobblemonpokedex.config.Reward;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardTrack;
+import com.cobblemon.mdks.cobblemonpokedex.progress.DexProgress;
+import com.cobblemon.mdks.cobblemonpokedex.ui.RewardTierTemplates;
+import com.cobblemon.mdks.cobblemonpokedex.ui.RewardsView;
 import com.cobblemon.mdks.cobblemonpokedex.util.*;
-import com.cobblemon.mod.common.Cobblemon;
 import com.cobblemon.mod.common.api.pokemon.PokemonSpecies;
-import com.cobblemon.mod.common.api.pokedex.*;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
-import ca.landonjw.gooeylibs2.api.UIManager;
-import ca.landonjw.gooeylibs2.api.button.GooeyButton;
-import ca.landonjw.gooeylibs2.api.button.PlaceholderButton;
-import ca.landonjw.gooeylibs2.api.page.LinkedPage;
-import ca.landonjw.gooeylibs2.api.template.types.ChestTemplate;
-import net.minecraft.world.item.component.ItemLore;
-import net.minecraft.core.component.DataComponents;
 import kotlin.Unit;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.mojang.brigadier.context.CommandContext;
 import net.minecraft.network.chat.Component;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -37,7 +30,8 @@ public class DexRewardsCommand extends BaseCommand {
         super("dexrewards", 
               Collections.emptyList(), // no aliases
               null, // no permission required
-              List.of(new ReloadSubcommand()) // Add reload subcommand
+              List.of(new ReloadSubcommand(), new MailboxSubcommand(), new ClaimAllSubcommand(), new TraceSubcommand(),
+                      new ShinySubcommand(), new LivingDexSubcommand())
         );
     }
 
@@ -46,172 +40,174 @@ public class DexRewardsCommand extends BaseCommand {
         ServerPlayer player = context.getSource().getPlayer();
         if (player == null) return 0;
 
-        // Get player's Pokedex completion percentage
-        double completionPercentage = getPokedexCompletion(player);
-        
-        // Open the Pokedex progression UI
-        openPokedexUI(player, completionPercentage);
+        // Open the Pokedex progression UI with the player's cached completion
+        openPokedexUI(player, RewardTrack.COMPLETION);
 
         return 1;
     }
 
-    private double getPokedexCompletion(ServerPlayer player) {
+    /**
+     * Opens the rewards page of a track for a player
+     * @param player The viewer
+     * @param track The reward track of the page
+     */
+    public static void openPokedexUI(ServerPlayer player, RewardTrack track) {
         try {
-            // Get player's Pokedex instance
-            var pokedex = Cobblemon.INSTANCE.getPlayerDataManager().getPokedexData(player);
-            
-            // Get number of unique species caught
-            int uniqueSpeciesCaught = pokedex.getDexCalculatedValue(
-                ResourceLocation.tryParse("cobblemon:national"),
-                CaughtCount.INSTANCE
-            );
-            
-            // Calculate completion percentage based on configured total Pokemon
-            return (double) uniqueSpeciesCaught / CobblemonPokedex.pokedexConfig.getTotalPokemon() * 100;
+            RewardsView.open(player, track, UI_LISTENER);
         } catch (Exception e) {
-            LOGGER.error("Error calculating Pokedex completion for player " + player.getName().getString(), e);
-            return 0.0;
+            CobblemonPokedex.LOGGER.error("Error opening Pokedex UI", e);
+            player.sendSystemMessage(Component.literal(PREFIX + "§cError opening Pokedex UI. §7Please try again."));
         }
     }
 
-    private void openPokedexUI(ServerPlayer player, double completionPercentage) {
-        // Create main page template with 6 rows and 9 columns
-        ChestTemplate template = ChestTemplate.builder(6)
-            .fill(new PlaceholderButton()) // Fill with empty background
-            .build();
-
-        // Add completion display
-        int totalSpecies = CobblemonPokedex.pokedexConfig.getTotalPokemon();
-        int uniqueSpeciesCaught = Cobblemon.INSTANCE.getPlayerDataManager()
-            .getPokedexData(player)
-            .getDexCalculatedValue(
-                ResourceLocation.tryParse("cobblemon:national"),
-                CaughtCount.INSTANCE
-            );
-
-        RewardTier completionReward = CobblemonPokedex.rewardConfig.getReward("completion");
-        if (completionReward != null && completionReward.getDisplay() != null) {
-            String format = completionReward.getDisplay().getFormat()
-                .replace("{caught}", String.valueOf(uniqueSpeciesCaught))
-                .replace("{total}", String.valueOf(totalSpecies))
-                .replace("{percent}", String.format("%.1f", completionPercentage));
-
-            GooeyButton completionButton = GooeyButton.builder()
-                .display(completionReward.getDisplayItem())
-                .with(DataComponents.CUSTOM_NAME, Component.literal("§6Pokedex Completion"))
-                .with(DataComponents.LORE, new ItemLore(List.of(Component.literal("§7" + format))))
-                .with(DataComponents.HIDE_ADDITIONAL_TOOLTIP, net.minecraft.util.Unit.INSTANCE)
-                .build();
-            template.set(completionReward.getRow() - 1, completionReward.getSlot() - 1, completionButton);
+    /**
+     * Claims from the open page and refreshes only the buttons the claim changed
+     */
+    private static final RewardsView.Listener UI_LISTENER = new RewardsView.Listener() {
+        @Override
+        public void onTierClick(RewardsView view, int tier, RewardsView.TierState state) {
+            ServerPlayer player = view.getPlayer();
+            switch (state) {
+                case AVAILABLE:
+                    claimRewards(player, view.getTrack(), tier);
+                    view.refresh();
+                    break;
+                case LOCKED:
+                    double completionPercentage = CobblemonPokedex.dexProgressCache.get(player, view.getTrack()).getPercent();
+                    player.sendSystemMessage(Component.literal(PREFIX + "§cYou need §e" + tier + "%§c completion to claim this reward! §7(Current: §f" + String.format("%.1f%%", completionPercentage) + "§7)"));
+                    break;
+                case CLAIMED:
+                    player.sendSystemMessage(Component.literal(PREFIX + "§cYou have already claimed this reward!"));
+                    break;
+            }
         }
 
-        // Add reward buttons
-        for (int tier : CobblemonPokedex.rewardConfig.getCompletionTiers()) {
-            String tierKey = String.valueOf(tier);
-            RewardTier reward = CobblemonPokedex.rewardConfig.getReward(tierKey);
-            if (reward == null) {
-                LOGGER.error("No reward found for tier: " + tierKey);
-                continue;
+        @Override
+        public void onClaimAll(RewardsView view) {
+            if (claimAllRewards(view.getPlayer(), view.getTrack(), true) > 0) {
+                view.refresh();
             }
-            LOGGER.info("Adding button for tier " + tierKey + " at row " + reward.getRow() + ", slot " + reward.getSlot());
+        }
 
-            boolean completed = completionPercentage >= tier;
-            boolean claimed = CobblemonPokedex.playerDataConfig
-                .getPlayerData(player.getUUID())
-                .hasClaimedReward(tier);
+        @Override
+        public void onNavigate(RewardsView view, RewardTrack target) {
+            openPokedexUI(view.getPlayer(), target);
+        }
+    };
+
+    /**
+     * Claims every tier of every shown track the player has reached but not claimed
+     * @param player The player claiming
+     * @return The number of tiers claimed
+     */
+    public static int claimAllRewards(ServerPlayer player) {
+        int claimed = 0;
+        for (RewardTrack track : RewardTrack.values()) {
+            if (RewardTierTemplates.hasPage(track)) {
+                claimed += claimAllRewards(player, track, false);
+            }
+        }
+        if (claimed == 0) {
+            player.sendSystemMessage(Component.literal(PREFIX + "§cYou have no rewards ready to claim!"));
+        } else {
+            RewardsView.refreshOpen(player.getUUID());
+        }
+        return claimed;
+    }
 
-            List<Component> lore = new ArrayList<>();
-            lore.add(Component.literal("§7Required: §f" + tier + "%"));
+    /**
+     * Claims every tier of a track the player has reached but not claimed in one batch
+     * @param player The player claiming
+     * @param track The reward track
+     * @param reportNone Whether to tell the player when nothing was ready
+     * @return The number of tiers claimed
+     */
+    public static int claimAllRewards(ServerPlayer player, RewardTrack track, boolean reportNone) {
+        DexProgress progress = CobblemonPokedex.dexProgressCache.get(player, track);
+        ClaimResult claim;
+        try {
+            claim = CobblemonPokedex.claimService.claimAll(player, track,
+                progress.getTierIndex(), progress.getPercent());
+        } catch (Exception e) {
+            player.sendSystemMessage(Component.literal(PREFIX + "§cError giving rewards: §7" + e.getMessage()));
+            CobblemonPokedex.LOGGER.error("Error claiming all rewards for " + player.getName().getString(), e);
+            return 0;
+        }
 
-            // Add reward list to lore
-            String[] rewardTexts = reward.getHoverText().split("\n");
-            for (String text : rewardTexts) {
-                if (text.startsWith("•")) {
-                    lore.add(Component.literal("§7" + text));
+        switch (claim.getStatus()) {
+            case NO_REWARD:
+                if (reportNone) {
+                    player.sendSystemMessage(Component.literal(PREFIX + "§cYou have no rewards ready to claim!"));
                 }
-            }
+                return 0;
+            case IN_PROGRESS:
+                player.sendSystemMessage(Component.literal(PREFIX + "§eYour rewards are already being claimed."));
+                return 0;
+            case FAILED:
+                player.sendSystemMessage(Component.literal(PREFIX + "§cError giving rewards. §7They will be finished when you next join."));
+                break;
+            default:
+                break;
+        }
 
-            lore.add(Component.literal("")); // Empty line for spacing
-            if (completed && claimed) {
-                lore.add(Component.literal("§a✔ Claimed"));
-            } else if (completed) {
-                lore.add(Component.literal("§e⚡ Available"));
-                lore.add(Component.literal("§7Click to claim!"));
-            } else {
-                lore.add(Component.literal("§c✘ Locked"));
-                lore.add(Component.literal("§7Progress: §f" + String.format("%.1f%%", completionPercentage)));
+        for (Reward.GrantResult result : claim.getResults()) {
+            if (!result.isSuccess()) {
+                player.sendSystemMessage(Component.literal(PREFIX + "§cA reward could not be given: §7" + result.getMessage()));
+                LOGGER.error("Reward not given to " + player.getName().getString() + " during claim all: " + result.getMessage());
             }
-
-            // Get display item from reward tier
-            ItemStack displayItem = reward.getDisplayItem();
-
-            GooeyButton tierButton = GooeyButton.builder()
-                .display(displayItem)
-                .with(DataComponents.CUSTOM_NAME, Component.literal("§6" + reward.getDisplay().getFormat()))
-                .with(DataComponents.LORE, new ItemLore(lore))
-                .with(DataComponents.HIDE_ADDITIONAL_TOOLTIP, net.minecraft.util.Unit.INSTANCE)
-                .onClick(action -> {
-                    if (completed && !claimed) {
-                        claimRewards(player, tier);
-                        // Refresh UI with updated completion percentage
-                        openPokedexUI(player, getPokedexCompletion(player));
-                    } else if (!completed) {
-                        player.sendSystemMessage(Component.literal(PREFIX + "§cYou need §e" + tier + "%§c completion to claim this reward! §7(Current: §f" + String.format("%.1f%%", completionPercentage) + "§7)"));
-                    } else if (claimed) {
-                        player.sendSystemMessage(Component.literal(PREFIX + "§cYou have already claimed this reward!"));
-                    }
-                })
-                .build();
-            
-            template.set(reward.getRow() - 1, reward.getSlot() - 1, tierButton);
         }
-        
-        // Create and show page
-        try {
-            LinkedPage page = LinkedPage.builder()
-                .template(template)
-                .title("Pokedex Progression")
-                .build();
-            
-            LOGGER.info("Opening UI with " + CobblemonPokedex.rewardConfig.getCompletionTiers().size() + " reward tiers");
-            UIManager.openUIForcefully(player, page);
-        } catch (Exception e) {
-            CobblemonPokedex.LOGGER.error("Error opening Pokedex UI", e);
-            player.sendSystemMessage(Component.literal(PREFIX + "§cError opening Pokedex UI. §7Please try again."));
+        if (!claim.getTiers().isEmpty()) {
+            StringBuilder tiers = new StringBuilder();
+            for (int tier : claim.getTiers()) {
+                if (tiers.length() > 0) tiers.append("§a, §e");
+                tiers.append(tier).append('%');
+            }
+            player.sendSystemMessage(Component.literal(PREFIX + "§a§lClaimed " + claim.getTiers().size()
+                + " reward tier" + (claim.getTiers().size() == 1 ? "" : "s") + ": §e" + tiers));
         }
+        return claim.getTiers().size();
     }
 
-    private void claimRewards(ServerPlayer player, int tier) {
-        double completionPercentage = getPokedexCompletion(player);
+    private static void claimRewards(ServerPlayer player, RewardTrack track, int tier) {
+        double completionPercentage = CobblemonPokedex.dexProgressCache.get(player, track).getPercent();
         if (completionPercentage < tier) {
             player.sendSystemMessage(Component.literal(PREFIX + "§cYou need §e" + tier + "%§c completion to claim this reward! §7(Current: §f" + String.format("%.1f%%", completionPercentage) + "§7)"));
             return;
         }
 
-        var playerData = CobblemonPokedex.playerDataConfig.getPlayerData(player.getUUID());
-        if (playerData.hasClaimedReward(tier)) {
-            player.sendSystemMessage(Component.literal(PREFIX + "§cYou have already claimed this reward!"));
+        ClaimResult claim;
+        try {
+            claim = CobblemonPokedex.claimService.claim(player, track, tier);
+        } catch (Exception e) {
+            // The claim stays open in the journal and is finished when the player rejoins
+            player.sendSystemMessage(Component.literal(PREFIX + "§cError giving reward: §7" + e.getMessage()));
+            CobblemonPokedex.LOGGER.error("Error giving reward for tier " + tier, e);
             return;
         }
 
-        RewardTier reward = CobblemonPokedex.rewardConfig.getReward(String.valueOf(tier));
-        if (reward == null) {
-            player.sendSystemMessage(Component.literal(PREFIX + "§cNo reward available for this tier!"));
-            return;
+        switch (claim.getStatus()) {
+            case ALREADY_CLAIMED:
+                player.sendSystemMessage(Component.literal(PREFIX + "§cYou have already claimed this reward!"));
+                return;
+            case NO_REWARD:
+                player.sendSystemMessage(Component.literal(PREFIX + "§cNo reward available for this tier!"));
+                return;
+            case IN_PROGRESS:
+                player.sendSystemMessage(Component.literal(PREFIX + "§eYour reward is already being claimed."));
+                return;
+            case FAILED:
+                player.sendSystemMessage(Component.literal(PREFIX + "§cError giving reward. §7It will be finished when you next join."));
+                return;
+            default:
+                break;
         }
 
-        try {
-            // Grant the reward
-            reward.grant(player);
-            
-            // Mark as claimed
-            playerData.setClaimedReward(tier, true);
-            CobblemonPokedex.playerDataConfig.savePlayer(player.getUUID());
-            
-            player.sendSystemMessage(Component.literal(PREFIX + CobblemonPokedex.rewardConfig.getCongratulatoryMessageTemplate().replace("{tier}", String.valueOf(tier))));
-        } catch (Exception e) {
-            player.sendSystemMessage(Component.literal(PREFIX + "§cError giving reward: §7" + e.getMessage()));
-            CobblemonPokedex.LOGGER.error("Error giving reward for tier " + tier, e);
+        for (Reward.GrantResult result : claim.getResults()) {
+            if (!result.isSuccess()) {
+                player.sendSystemMessage(Component.literal(PREFIX + "§cA reward could not be given: §7" + result.getMessage()));
+                LOGGER.error("Reward for tier " + tier + " not given to " + player.getName().getString() + ": " + result.getMessage());
+            }
         }
+        player.sendSystemMessage(Component.literal(PREFIX + CobblemonPokedex.rewardConfig.getCongratulatoryMessage(track, tier)));
     }
 }
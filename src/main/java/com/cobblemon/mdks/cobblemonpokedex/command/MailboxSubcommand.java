@@ -0,0 +1,83 @@
+package com.cobblemon.mdks.cobblemonpokedex.command;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.util.Subcommand;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.tree.CommandNode;
+
+import ca.landonjw.gooeylibs2.api.UIManager;
+import ca.landonjw.gooeylibs2.api.button.GooeyButton;
+import ca.landonjw.gooeylibs2.api.button.PlaceholderButton;
+import ca.landonjw.gooeylibs2.api.page.LinkedPage;
+import ca.landonjw.gooeylibs2.api.template.types.ChestTemplate;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.component.ItemLore;
+
+import java.util.List;
+
+/**
+ * Shows the reward items waiting in the player's mailbox, with a button to collect what fits
+ */
+public class MailboxSubcommand extends Subcommand {
+    private static final int ROWS = 6;
+    private static final int ITEM_SLOTS = (ROWS - 1) * 9; // The last row holds the collect button
+
+    public MailboxSubcommand() {
+        super("§9Usage: §3/dexrewards mailbox");
+    }
+
+    @Override
+    public int run(CommandContext<CommandSourceStack> context) {
+        ServerPlayer player = context.getSource().getPlayer();
+        if (player == null) return 0;
+
+        openMailbox(player);
+        return 1;
+    }
+
+    private void openMailbox(ServerPlayer player) {
+        List<ItemStack> pending = CobblemonPokedex.rewardMailbox.getPending(player);
+        ChestTemplate template = ChestTemplate.builder(ROWS)
+            .fill(new PlaceholderButton())
+            .build();
+
+        for (int i = 0; i < pending.size() && i < ITEM_SLOTS; i++) {
+            template.set(i / 9, i % 9, GooeyButton.builder().display(pending.get(i)).build());
+        }
+
+        ItemStack collect = new ItemStack(pending.isEmpty() ? Items.BARRIER : Items.CHEST);
+        collect.set(DataComponents.CUSTOM_NAME, Component.literal(pending.isEmpty() ? "§7Your mailbox is empty" : "§6Collect rewards"));
+        if (pending.size() > ITEM_SLOTS) {
+            collect.set(DataComponents.LORE, new ItemLore(List.of(
+                Component.literal("§7and " + (pending.size() - ITEM_SLOTS) + " more not shown"))));
+        }
+        template.set(ROWS - 1, 4, GooeyButton.builder()
+            .display(collect)
+            .onClick(action -> {
+                if (CobblemonPokedex.rewardMailbox.deliver(player) == 0 && !pending.isEmpty()) {
+                    player.sendSystemMessage(Component.literal("§cMake some room in your inventory first!"));
+                }
+                openMailbox(player);
+            })
+            .build());
+
+        LinkedPage page = LinkedPage.builder()
+            .template(template)
+            .title("Reward Mailbox")
+            .build();
+        UIManager.openUIForcefully(player, page);
+    }
+
+    @Override
+    public CommandNode<CommandSourceStack> build() {
+        return LiteralArgumentBuilder.<CommandSourceStack>literal("mailbox")
+            .executes(this::run)
+            .build();
+    }
+}
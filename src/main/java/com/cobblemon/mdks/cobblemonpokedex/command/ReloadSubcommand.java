@@ -1,8 +1,7 @@
 package com.cobblemon.mdks.cobblemonpokedex.command;
 
 import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
-import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig;
-import com.cobblemon.mdks.cobblemonpokedex.util.Permissions;
+import com.cobblemon.mdks.cobblemonpokedex.config.ConfigReloader;
 import com.cobblemon.mdks.cobblemonpokedex.util.Subcommand;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
@@ -11,9 +10,15 @@ import com.mojang.brigadier.tree.CommandNode;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.network.chat.Component;
 
+import java.util.concurrent.CompletionException;
+
+/**
+ * Reloads the config files in the background, and player data only when asked
+ * for with {@code /dexrewards reload players}
+ */
 public class ReloadSubcommand extends Subcommand {
     public ReloadSubcommand() {
-        super("§9Usage: §3/dexrewards reload");
+        super("§9Usage: §3/dexrewards reload [players]");
     }
 
     @Override
@@ -25,40 +30,41 @@ public class ReloadSubcommand extends Subcommand {
             return 0;
         }
 
-        try {
-            // Reload all configurations
-            CobblemonPokedex.pokedexConfig.load();
-            CobblemonPokedex.pokedexConfig.save(); // Save after load to ensure new fields are written
-            context.getSource().sendSystemMessage(
-                Component.literal("§aReloaded Pokedex configuration")
-            );
-
-            CobblemonPokedex.rewardConfig.load();
-            context.getSource().sendSystemMessage(
-                Component.literal("§aReloaded reward configuration")
-            );
-
-            CobblemonPokedex.playerDataConfig = new PlayerDataConfig();
-            context.getSource().sendSystemMessage(
-                Component.literal("§aReloaded player data")
-            );
+        CommandSourceStack source = context.getSource();
+        source.sendSystemMessage(Component.literal("§7Reloading configuration..."));
+        ConfigReloader.reloadConfigs(source.getServer()).whenCompleteAsync((staged, error) -> {
+            if (error != null) {
+                reportFailure(source, "configurations", error);
+                return;
+            }
+            int invalid = staged.getRewardConfig().getCompileErrors();
+            if (invalid > 0) {
+                source.sendSystemMessage(Component.literal("§e" + invalid + " invalid reward entries, see the server log"));
+            }
+            source.sendSystemMessage(Component.literal("§a§lAll configurations reloaded successfully!"));
+            source.sendSystemMessage(Component.literal("§7Storage settings apply after §f/dexrewards reload players"));
+        }, source.getServer());
+        return 1;
+    }
 
-            CobblemonPokedex.permissions = new Permissions();
-            context.getSource().sendSystemMessage(
-                Component.literal("§aReloaded permissions")
-            );
+    private int reloadPlayers(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        source.sendSystemMessage(Component.literal("§7Saving and reloading player data..."));
+        ConfigReloader.reloadPlayers(source.getServer()).whenCompleteAsync((refreshed, error) -> {
+            if (error != null) {
+                reportFailure(source, "player data", error);
+                return;
+            }
+            source.sendSystemMessage(Component.literal("§aReloaded player data, " + refreshed
+                + " cached players refreshed from storage"));
+        }, source.getServer());
+        return 1;
+    }
 
-            context.getSource().sendSystemMessage(
-                Component.literal("§a§lAll configurations reloaded successfully!")
-            );
-            return 1;
-        } catch (Exception e) {
-            context.getSource().sendSystemMessage(
-                Component.literal("§cError reloading configurations: " + e.getMessage())
-            );
-            CobblemonPokedex.LOGGER.error("Failed to reload configurations", e);
-            return 0;
-        }
+    private static void reportFailure(CommandSourceStack source, String what, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        source.sendSystemMessage(Component.literal("§cError reloading " + what + ": " + cause.getMessage()));
+        CobblemonPokedex.LOGGER.error("Failed to reload " + what, cause);
     }
 
     @Override
@@ -66,6 +72,8 @@ public class ReloadSubcommand extends Subcommand {
         return LiteralArgumentBuilder.<CommandSourceStack>literal("reload")
             .requires(source -> source.hasPermission(4)) // Requires operator permission level
             .executes(this::run)
+            .then(LiteralArgumentBuilder.<CommandSourceStack>literal("players")
+                .executes(this::reloadPlayers))
             .build();
     }
 }
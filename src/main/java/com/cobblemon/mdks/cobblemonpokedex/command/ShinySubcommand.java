@@ -0,0 +1,41 @@
+package com.cobblemon.mdks.cobblemonpokedex.command;
+
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardTrack;
+import com.cobblemon.mdks.cobblemonpokedex.ui.RewardTierTemplates;
+import com.cobblemon.mdks.cobblemonpokedex.util.Subcommand;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.tree.CommandNode;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * Opens the shiny Pokedex progression page
+ */
+public class ShinySubcommand extends Subcommand {
+    public ShinySubcommand() {
+        super("§9Usage: §3/dexrewards shiny");
+    }
+
+    @Override
+    public int run(CommandContext<CommandSourceStack> context) {
+        ServerPlayer player = context.getSource().getPlayer();
+        if (player == null) return 0;
+
+        if (!RewardTierTemplates.hasPage(RewardTrack.SHINY)) {
+            player.sendSystemMessage(Component.literal("§cShiny rewards are not enabled on this server"));
+            return 0;
+        }
+        DexRewardsCommand.openPokedexUI(player, RewardTrack.SHINY);
+        return 1;
+    }
+
+    @Override
+    public CommandNode<CommandSourceStack> build() {
+        return LiteralArgumentBuilder.<CommandSourceStack>literal("shiny")
+            .executes(this::run)
+            .build();
+    }
+}
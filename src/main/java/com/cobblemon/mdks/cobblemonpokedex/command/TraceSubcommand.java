@@ -0,0 +1,130 @@
+package com.cobblemon.mdks.cobblemonpokedex.command;
+
+import com.cobblemon.mdks.cobblemonpokedex.listeners.CatchPokemonListener;
+import com.cobblemon.mdks.cobblemonpokedex.util.Subcommand;
+import com.cobblemon.mdks.cobblemonpokedex.util.Trace;
+import com.cobblemon.mdks.cobblemonpokedex.util.TraceBuffer;
+import com.cobblemon.mdks.cobblemonpokedex.util.TraceCategory;
+import com.cobblemon.mdks.cobblemonpokedex.util.TraceLevel;
+import com.cobblemon.mdks.cobblemonpokedex.util.Utils;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.tree.CommandNode;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+
+import java.util.List;
+
+/**
+ * Shows and controls the debug trace: dumps recent entries to chat or a file,
+ * and changes a category's level until the config is next loaded
+ */
+public class TraceSubcommand extends Subcommand {
+    private static final String TRACE_PATH = "config/simpledexrewards/traces";
+    private static final int DEFAULT_DUMP_LINES = 20;
+
+    public TraceSubcommand() {
+        super("§9Usage: §3/dexrewards trace <dump [lines]|save|clear|level <category> <level>>");
+    }
+
+    @Override
+    public int run(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        StringBuilder levels = new StringBuilder("§aTrace levels:");
+        for (TraceCategory category : TraceCategory.values()) {
+            levels.append(" §7").append(category.name().toLowerCase()).append("=§f").append(Trace.getLevel(category));
+        }
+        TraceBuffer buffer = Trace.getBuffer();
+        source.sendSystemMessage(Component.literal(levels.toString()));
+        source.sendSystemMessage(Component.literal("§a" + buffer.getRecorded() + " entries recorded, the last "
+            + buffer.getCapacity() + " are kept"));
+        source.sendSystemMessage(Component.literal("§aCapture batches: §7" + CatchPokemonListener.getStats()));
+        return showUsage(context);
+    }
+
+    private int dump(CommandContext<CommandSourceStack> context, int lines) {
+        List<TraceBuffer.Entry> entries = Trace.getRecent(lines);
+        if (entries.isEmpty()) {
+            context.getSource().sendSystemMessage(Component.literal("§eThe trace buffer is empty"));
+            return 0;
+        }
+        for (TraceBuffer.Entry entry : entries) {
+            context.getSource().sendSystemMessage(Component.literal("§7" + entry));
+        }
+        return entries.size();
+    }
+
+    private int save(CommandContext<CommandSourceStack> context) {
+        TraceBuffer buffer = Trace.getBuffer();
+        List<TraceBuffer.Entry> entries = buffer.getRecent(buffer.getCapacity());
+        StringBuilder content = new StringBuilder();
+        for (TraceBuffer.Entry entry : entries) {
+            content.append(entry).append('\n');
+        }
+
+        String fileName = "trace-" + System.currentTimeMillis() + ".log";
+        if (!Utils.writeFileSync(TRACE_PATH, fileName, content.toString())) {
+            context.getSource().sendSystemMessage(Component.literal("§cFailed to save the trace, see the server log"));
+            return 0;
+        }
+        context.getSource().sendSystemMessage(Component.literal("§aSaved " + entries.size()
+            + " trace entries to " + TRACE_PATH + "/" + fileName));
+        return 1;
+    }
+
+    private int clear(CommandContext<CommandSourceStack> context) {
+        Trace.getBuffer().clear();
+        context.getSource().sendSystemMessage(Component.literal("§aCleared the trace buffer"));
+        return 1;
+    }
+
+    private int setLevel(CommandContext<CommandSourceStack> context) {
+        TraceCategory category = TraceCategory.fromString(StringArgumentType.getString(context, "category"));
+        String levelName = StringArgumentType.getString(context, "level");
+        TraceLevel level = TraceLevel.fromString(levelName);
+        if (category == null || !level.name().equalsIgnoreCase(levelName)) {
+            return showUsage(context);
+        }
+
+        Trace.setLevel(category, level);
+        context.getSource().sendSystemMessage(Component.literal("§aTracing §f" + category.name().toLowerCase()
+            + "§a at §f" + level + "§7 until the config is reloaded"));
+        return 1;
+    }
+
+    @Override
+    public CommandNode<CommandSourceStack> build() {
+        return LiteralArgumentBuilder.<CommandSourceStack>literal("trace")
+            .requires(source -> source.hasPermission(4)) // Requires operator permission level
+            .executes(this::run)
+            .then(LiteralArgumentBuilder.<CommandSourceStack>literal("dump")
+                .executes(context -> dump(context, DEFAULT_DUMP_LINES))
+                .then(RequiredArgumentBuilder.<CommandSourceStack, Integer>argument("lines", IntegerArgumentType.integer(1, 200))
+                    .executes(context -> dump(context, IntegerArgumentType.getInteger(context, "lines")))))
+            .then(LiteralArgumentBuilder.<CommandSourceStack>literal("save")
+                .executes(this::save))
+            .then(LiteralArgumentBuilder.<CommandSourceStack>literal("clear")
+                .executes(this::clear))
+            .then(LiteralArgumentBuilder.<CommandSourceStack>literal("level")
+                .then(RequiredArgumentBuilder.<CommandSourceStack, String>argument("category", StringArgumentType.word())
+                    .suggests((context, builder) -> {
+                        for (TraceCategory category : TraceCategory.values()) {
+                            builder.suggest(category.name().toLowerCase());
+                        }
+                        return builder.buildFuture();
+                    })
+                    .then(RequiredArgumentBuilder.<CommandSourceStack, String>argument("level", StringArgumentType.word())
+                        .suggests((context, builder) -> {
+                            for (TraceLevel level : TraceLevel.values()) {
+                                builder.suggest(level.name().toLowerCase());
+                            }
+                            return builder.buildFuture();
+                        })
+                        .executes(this::setLevel))))
+            .build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+import java.util.Arrays;
+
+/**
+ * The claimed tiers of one player on one reward track.
+ * Tiers present in the track's {@link TierIndex} are kept as bits of a single
+ * long, so lookups never box. Claims on tiers that are not (or no longer)
+ * configured are kept in a small sorted array so they survive config changes.
+ * When the track's index is replaced, the bits are remapped on next access.
+ */
+public final class ClaimedTiers {
+    private static final int[] NO_TIERS = new int[0];
+
+    private final RewardTrack track;
+    private TierIndex index;
+    private long bits;
+    private int[] extra = NO_TIERS;
+
+    public ClaimedTiers(RewardTrack track) {
+        this.track = track;
+        this.index = TierIndex.current(track);
+    }
+
+    private ClaimedTiers(ClaimedTiers other) {
+        this.track = other.track;
+        this.index = other.index;
+        this.bits = other.bits;
+        this.extra = other.extra.length == 0 ? NO_TIERS : other.extra.clone();
+    }
+
+    public ClaimedTiers copy() {
+        return new ClaimedTiers(this);
+    }
+
+    /**
+     * Replaces these claims with a copy of another set of claims on the same track
+     * @param other The claims to copy
+     */
+    public void replaceWith(ClaimedTiers other) {
+        this.index = other.index;
+        this.bits = other.bits;
+        this.extra = other.extra.length == 0 ? NO_TIERS : other.extra.clone();
+    }
+
+    public boolean isClaimed(int tier) {
+        sync();
+        int ordinal = index.ordinalOf(tier);
+        if (ordinal >= 0) {
+            return (bits & (1L << ordinal)) != 0;
+        }
+        return Arrays.binarySearch(extra, tier) >= 0;
+    }
+
+    public void set(int tier, boolean claimed) {
+        sync();
+        put(tier, claimed);
+    }
+
+    private void put(int tier, boolean claimed) {
+        int ordinal = index.ordinalOf(tier);
+        if (ordinal >= 0) {
+            if (claimed) {
+                bits |= 1L << ordinal;
+            } else {
+                bits &= ~(1L << ordinal);
+            }
+            return;
+        }
+
+        int position = Arrays.binarySearch(extra, tier);
+        if (claimed && position < 0) {
+            int insert = -position - 1;
+            int[] grown = new int[extra.length + 1];
+            System.arraycopy(extra, 0, grown, 0, insert);
+            grown[insert] = tier;
+            System.arraycopy(extra, insert, grown, insert + 1, extra.length - insert);
+            extra = grown;
+        } else if (!claimed && position >= 0) {
+            int[] shrunk = new int[extra.length - 1];
+            System.arraycopy(extra, 0, shrunk, 0, position);
+            System.arraycopy(extra, position + 1, shrunk, position, extra.length - position - 1);
+            extra = shrunk.length == 0 ? NO_TIERS : shrunk;
+        }
+    }
+
+    /**
+     * Gets the tiers that are reached but not yet claimed, without allocating.
+     * Bit i of the result stands for {@code index.tierAt(i)}.
+     * @param index The tier index the caller resolves bits against, normally
+     *              {@link TierIndex#current(RewardTrack)} read once up front
+     * @param progress The player's progress on this track
+     * @return The claimable tiers as a bitmask
+     */
+    public long claimableMask(TierIndex index, double progress) {
+        rebase(index);
+        return index.reachedMask(progress) & ~bits;
+    }
+
+    /**
+     * @param index The tier index the caller resolves bits against
+     * @return The claimed configured tiers as a bitmask
+     */
+    public long claimedMask(TierIndex index) {
+        rebase(index);
+        return bits;
+    }
+
+    /**
+     * @return Every claimed tier in ascending order, configured or not
+     */
+    public int[] toArray() {
+        sync();
+        int[] result = claimedTiers();
+        Arrays.sort(result);
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return bits == 0 && extra.length == 0;
+    }
+
+    private void sync() {
+        rebase(TierIndex.current(track));
+    }
+
+    /**
+     * Remaps the claims onto another index. Only happens after a config reload.
+     */
+    private void rebase(TierIndex target) {
+        if (target == index) return;
+
+        int[] claimed = claimedTiers();
+        index = target;
+        bits = 0;
+        extra = NO_TIERS;
+        for (int tier : claimed) {
+            put(tier, true);
+        }
+    }
+
+    private int[] claimedTiers() {
+        int[] result = new int[Long.bitCount(bits) + extra.length];
+        int count = 0;
+        for (long remaining = bits; remaining != 0; remaining &= remaining - 1) {
+            result[count++] = index.tierAt(Long.numberOfTrailingZeros(remaining));
+        }
+        System.arraycopy(extra, 0, result, count, extra.length);
+        return result;
+    }
+}
@@ -0,0 +1,137 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A command reward split once into literal text and %name% placeholder slots,
+ * so granting only joins the parts instead of scanning for every placeholder.
+ * Text between two % signs only counts as a placeholder if it is a single word,
+ * so commands like "say 50% off, 10% more" are left alone.
+ */
+public final class CommandTemplate {
+    private static final List<PlaceholderResolver> RESOLVERS = new CopyOnWriteArrayList<>();
+
+    private final String command;
+    // Literal text and placeholder names alternate, starting and ending with literal text
+    private final String[] literals;
+    private final String[] placeholders;
+
+    private CommandTemplate(String command, String[] literals, String[] placeholders) {
+        this.command = command;
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Splits a command into literal text and placeholder slots
+     * @param command The configured command
+     * @return The compiled template
+     */
+    public static CommandTemplate compile(String command) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < command.length()) {
+            char c = command.charAt(i);
+            int end = c == '%' ? command.indexOf('%', i + 1) : -1;
+            if (end > i + 1 && isPlaceholderName(command, i + 1, end)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                placeholders.add(command.substring(i + 1, end));
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+        return new CommandTemplate(command, literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    private static boolean isPlaceholderName(String command, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = command.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '.' && c != ':' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a resolver consulted for placeholders the built-in ones do not know
+     * @param resolver The resolver
+     */
+    public static void addResolver(PlaceholderResolver resolver) {
+        RESOLVERS.add(resolver);
+    }
+
+    /**
+     * Removes a resolver added with {@link #addResolver}
+     * @param resolver The resolver
+     */
+    public static void removeResolver(PlaceholderResolver resolver) {
+        RESOLVERS.remove(resolver);
+    }
+
+    /**
+     * @return true if the command is the same for every player, so it can be parsed once
+     */
+    public boolean isConstant() {
+        return placeholders.length == 0;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Fills in the placeholders; unknown ones are kept as written
+     * @param context The player and tier being rewarded
+     * @return The command to run
+     */
+    public String apply(RewardContext context) {
+        if (placeholders.length == 0) {
+            return command;
+        }
+        StringBuilder result = new StringBuilder(command.length() + 32);
+        for (int i = 0; i < placeholders.length; i++) {
+            result.append(literals[i]);
+            String value = resolve(placeholders[i], context);
+            if (value != null) {
+                result.append(value);
+            } else {
+                result.append('%').append(placeholders[i]).append('%');
+            }
+        }
+        result.append(literals[placeholders.length]);
+        return result.toString();
+    }
+
+    private static String resolve(String name, RewardContext context) {
+        switch (name) {
+            case "player":
+                return context.getPlayerName();
+            case "uuid":
+                return context.getPlayerUuid().toString();
+            case "tier":
+                return String.valueOf(context.getTier());
+            case "caught":
+                return String.valueOf(context.getCaught());
+            case "total":
+                return String.valueOf(context.getTotal());
+            case "percent":
+                return String.format(Locale.ROOT, "%.1f", context.getPercent());
+            default:
+                for (PlaceholderResolver resolver : RESOLVERS) {
+                    String value = resolver.resolve(name, context);
+                    if (value != null) return value;
+                }
+                return null;
+        }
+    }
+}
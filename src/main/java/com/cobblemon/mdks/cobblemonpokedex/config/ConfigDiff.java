@@ -0,0 +1,69 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Lists what changed between two versions of a config, for logging what a
+ * reload did. Top-level values are compared as a whole, except objects, whose
+ * entries are compared one by one so a changed reward tier or trace level is
+ * named rather than the whole section.
+ */
+public final class ConfigDiff {
+    private static final int MAX_VALUE_LENGTH = 60;
+
+    private ConfigDiff() {}
+
+    /**
+     * @param before The config JSON before the reload
+     * @param after The config JSON after the reload
+     * @return One line per changed setting, in file order, empty if nothing changed
+     */
+    public static List<String> describe(JsonObject before, JsonObject after) {
+        List<String> changes = new ArrayList<>();
+        describe("", before, after, changes, true);
+        return changes;
+    }
+
+    /**
+     * @param file The file name the changes belong to
+     * @param changes The changes found by {@link #describe}
+     * @return A one-line summary for the log
+     */
+    public static String summarize(String file, List<String> changes) {
+        if (changes.isEmpty()) {
+            return file + ": no changes";
+        }
+        return file + ": " + String.join(", ", changes);
+    }
+
+    private static void describe(String prefix, JsonObject before, JsonObject after, List<String> changes, boolean nest) {
+        Set<String> keys = new LinkedHashSet<>(before.keySet());
+        keys.addAll(after.keySet());
+        for (String key : keys) {
+            JsonElement old = before.get(key);
+            JsonElement now = after.get(key);
+            if (Objects.equals(old, now)) continue;
+
+            String name = prefix + key;
+            if (nest && old != null && now != null && old.isJsonObject() && now.isJsonObject()) {
+                describe(name + ".", old.getAsJsonObject(), now.getAsJsonObject(), changes, false);
+            } else if (old == null) {
+                changes.add(name + " added");
+            } else if (now == null) {
+                changes.add(name + " removed");
+            } else if (!old.isJsonObject() && !now.isJsonObject()
+                    && old.toString().length() <= MAX_VALUE_LENGTH && now.toString().length() <= MAX_VALUE_LENGTH) {
+                changes.add(name + " " + old + " -> " + now);
+            } else {
+                changes.add(name + " changed");
+            }
+        }
+    }
+}
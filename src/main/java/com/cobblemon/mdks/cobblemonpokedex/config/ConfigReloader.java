@@ -0,0 +1,139 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.util.MessageHandler;
+
+import net.minecraft.server.MinecraftServer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reloads configuration without stalling the server. Config files are read,
+ * parsed and compiled on a background thread into new config instances, which
+ * are swapped in together on the server thread; a file that fails to parse
+ * leaves the live configs untouched. The live instances are never changed in
+ * place, so readers see either the old or the new config, never a mix.
+ *
+ * Player data is separate and only reloaded when asked for: the cache is then
+ * reconciled with storage instead of being thrown away (see
+ * {@link PlayerDataConfig#adopt}).
+ */
+public final class ConfigReloader {
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "SimpleDexRewards-Reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicBoolean RUNNING = new AtomicBoolean();
+
+    private ConfigReloader() {}
+
+    /**
+     * The configs read by one reload, before they are swapped in
+     */
+    public static final class Staged {
+        private final PokedexConfig pokedexConfig;
+        private final RewardConfig rewardConfig;
+        private final List<String> changes;
+
+        private Staged(PokedexConfig pokedexConfig, RewardConfig rewardConfig, List<String> changes) {
+            this.pokedexConfig = pokedexConfig;
+            this.rewardConfig = rewardConfig;
+            this.changes = changes;
+        }
+
+        public PokedexConfig getPokedexConfig() { return pokedexConfig; }
+        public RewardConfig getRewardConfig() { return rewardConfig; }
+        /** @return One summary line per config file, see {@link ConfigDiff} */
+        public List<String> getChanges() { return changes; }
+    }
+
+    /**
+     * @return Whether a reload is in progress
+     */
+    public static boolean isRunning() {
+        return RUNNING.get();
+    }
+
+    /**
+     * Reads both config files off the server thread and swaps them in on it
+     * @param server The running server
+     * @return The configs that were swapped in, completing on the server thread;
+     *     fails if a file could not be read or another reload is running
+     */
+    public static CompletableFuture<Staged> reloadConfigs(MinecraftServer server) {
+        if (!RUNNING.compareAndSet(false, true)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("A reload is already in progress"));
+        }
+        return CompletableFuture.supplyAsync(() -> stage(server), EXECUTOR)
+            .thenApplyAsync(ConfigReloader::swap, server)
+            .whenComplete((staged, error) -> RUNNING.set(false));
+    }
+
+    /**
+     * Saves and reloads player data off the server thread, reconciling the cached
+     * players with storage: players with unsaved changes keep them, the rest take
+     * the stored record. Also applies changed persistence settings.
+     * @param server The running server
+     * @return The number of cached players refreshed from storage, completing on the server thread
+     */
+    public static CompletableFuture<Integer> reloadPlayers(MinecraftServer server) {
+        if (!RUNNING.compareAndSet(false, true)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("A reload is already in progress"));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+                PlayerDataConfig previous = CobblemonPokedex.playerDataConfig;
+                previous.close();
+                PlayerDataConfig replacement = new PlayerDataConfig();
+                int refreshed = replacement.adopt(previous);
+                CobblemonPokedex.playerDataConfig = replacement;
+                return refreshed;
+            }, EXECUTOR)
+            .thenApplyAsync(refreshed -> {
+                CobblemonPokedex.playerDataConfig.trackOnlinePlayers(server);
+                CobblemonPokedex.dexProgressCache.clear();
+                return refreshed;
+            }, server)
+            .whenComplete((refreshed, error) -> RUNNING.set(false));
+    }
+
+    /**
+     * Reads, validates and compiles both config files. Runs off the server thread
+     * and changes nothing that is live.
+     */
+    private static Staged stage(MinecraftServer server) {
+        PokedexConfig pokedexConfig = PokedexConfig.read();
+        RewardConfig rewardConfig = RewardConfig.read(server);
+        // Writes fields added since the file was last saved, as a startup load does
+        pokedexConfig.save();
+
+        List<String> changes = new ArrayList<>();
+        changes.add(ConfigDiff.summarize("config.json",
+            ConfigDiff.describe(CobblemonPokedex.pokedexConfig.toJson(), pokedexConfig.toJson())));
+        changes.add(ConfigDiff.summarize("rewardconfig.json",
+            ConfigDiff.describe(CobblemonPokedex.rewardConfig.toJson(), rewardConfig.toJson())));
+        return new Staged(pokedexConfig, rewardConfig, changes);
+    }
+
+    /**
+     * Makes the staged configs live, on the server thread
+     */
+    private static Staged swap(Staged staged) {
+        CobblemonPokedex.pokedexConfig = staged.pokedexConfig;
+        CobblemonPokedex.rewardConfig = staged.rewardConfig;
+        staged.pokedexConfig.apply();
+        staged.rewardConfig.publish();
+        MessageHandler.initialize(staged.pokedexConfig.getMessagePrefix());
+        CobblemonPokedex.dexProgressCache.clear();
+        CobblemonPokedex.LOGGER.info("Reloaded configuration");
+        for (String change : staged.changes) {
+            CobblemonPokedex.LOGGER.info("  " + change);
+        }
+        return staged;
+    }
+}
@@ -0,0 +1,155 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.util.Utils;
+
+import net.minecraft.server.MinecraftServer;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reloads config.json and rewardconfig.json when they change on disk. Editors
+ * often write a file several times in a row, so a reload only starts once the
+ * directory has been quiet for {@link #DEBOUNCE_MILLIS}. The reload itself goes
+ * through {@link ConfigReloader}, which parses off the server thread and only
+ * swaps in configs that loaded cleanly.
+ *
+ * A file whose contents are unchanged since the last reload is ignored, which
+ * also covers the reload's own rewrite of config.json.
+ */
+public final class ConfigWatcher {
+    private static final String CONFIG_PATH = "config/simpledexrewards";
+    private static final List<String> FILES = List.of("config.json", "rewardconfig.json");
+    private static final long DEBOUNCE_MILLIS = 500;
+    private static final long RELOAD_TIMEOUT_SECONDS = 30;
+
+    private final MinecraftServer server;
+    private final WatchService watchService;
+    private final Thread thread;
+    private final Map<String, String> lastContents = new HashMap<>();
+    private volatile boolean running = true;
+
+    private ConfigWatcher(MinecraftServer server, WatchService watchService) {
+        this.server = server;
+        this.watchService = watchService;
+        this.thread = new Thread(this::run, "SimpleDexRewards-ConfigWatcher");
+        this.thread.setDaemon(true);
+        rememberContents();
+    }
+
+    /**
+     * Starts watching the config directory
+     * @param server The running server
+     * @return The watcher, or null if the file system does not support watching
+     */
+    public static ConfigWatcher start(MinecraftServer server) {
+        Path directory = Utils.checkForDirectory(CONFIG_PATH).toPath().toAbsolutePath();
+        try {
+            WatchService watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            ConfigWatcher watcher = new ConfigWatcher(server, watchService);
+            watcher.thread.start();
+            CobblemonPokedex.LOGGER.info("Watching " + directory + " for config changes");
+            return watcher;
+        } catch (IOException e) {
+            CobblemonPokedex.LOGGER.warn("Could not watch " + directory + " for config changes, use /dexrewards reload", e);
+            return null;
+        }
+    }
+
+    /**
+     * Stops watching; a reload already in progress still completes
+     */
+    public void stop() {
+        running = false;
+        thread.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            CobblemonPokedex.LOGGER.warn("Failed to close config watcher", e);
+        }
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                if (!drain(watchService.take())) continue;
+
+                // Wait until the editor is done writing
+                WatchKey next;
+                while ((next = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    drain(next);
+                }
+                // A reload from the command is still reading the files, look again once it is done
+                while (ConfigReloader.isRunning()) {
+                    Thread.sleep(DEBOUNCE_MILLIS);
+                }
+                if (running && contentsChanged() && CobblemonPokedex.pokedexConfig.isWatchConfigFiles()) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * @return Whether the key held an event for one of the config files
+     */
+    private boolean drain(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || FILES.contains(String.valueOf(event.context()))) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    private void reload() throws InterruptedException {
+        CobblemonPokedex.LOGGER.info("Config files changed on disk, reloading");
+        try {
+            ConfigReloader.reloadConfigs(server).get(RELOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            CobblemonPokedex.LOGGER.error("Failed to reload changed config files, keeping the current configuration: "
+                + e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            CobblemonPokedex.LOGGER.warn("Reload of changed config files did not finish in time");
+        }
+        // Skip the events of the reload's own writes, then remember what it left on disk
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            drain(key);
+        }
+        rememberContents();
+    }
+
+    private boolean contentsChanged() {
+        for (String file : FILES) {
+            if (!Utils.readFileSync(CONFIG_PATH, file).equals(lastContents.get(file))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rememberContents() {
+        for (String file : FILES) {
+            lastContents.put(file, Utils.readFileSync(CONFIG_PATH, file));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+/**
+ * Supplies values for %name% placeholders in command rewards.
+ * Register with {@link CommandTemplate#addResolver} to add placeholders
+ * beyond the built-in %player%, %uuid%, %tier%, %caught%, %total% and %percent%.
+ */
+@FunctionalInterface
+public interface PlaceholderResolver {
+    /**
+     * @param name The placeholder name without the surrounding %
+     * @param context The player and tier being rewarded
+     * @return The value, or null if this resolver does not know the placeholder
+     */
+    String resolve(String name, RewardContext context);
+}
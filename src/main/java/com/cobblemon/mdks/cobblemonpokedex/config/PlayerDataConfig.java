@@ -1,98 +1,387 @@
 package com.cobblemon.mdks.cobblemonpokedex.config;
 
 import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
-import com.cobblemon.mdks.cobblemonpokedex.util.PlayerDataMigration;
+import com.cobblemon.mdks.cobblemonpokedex.progress.MilestoneTracker;
+import com.cobblemon.mdks.cobblemonpokedex.storage.FileSyncMode;
+import com.cobblemon.mdks.cobblemonpokedex.storage.JsonFileStorage;
+import com.cobblemon.mdks.cobblemonpokedex.storage.LogFileStorage;
+import com.cobblemon.mdks.cobblemonpokedex.storage.LogStorageImporter;
+import com.cobblemon.mdks.cobblemonpokedex.storage.PlayerDataSaveQueue;
+import com.cobblemon.mdks.cobblemonpokedex.storage.PlayerDataStorage;
+import com.cobblemon.mdks.cobblemonpokedex.storage.StorageBackend;
+import com.cobblemon.mdks.cobblemonpokedex.util.Trace;
+import com.cobblemon.mdks.cobblemonpokedex.util.TraceCategory;
 import com.cobblemon.mdks.cobblemonpokedex.util.Utils;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 
-import java.io.File;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Caches player data and writes it behind through the save queue. Safe to use
+ * from any thread: the cache is a concurrent map, each {@link PlayerData} locks
+ * itself, and saves take a snapshot and clear its dirty flag atomically.
+ * Callers save the object they changed, see {@link #savePlayer}, so a change
+ * is written even if the player was evicted meanwhile.
+ *
+ * On reload the replacement instance {@link #adopt adopts} the cached entries
+ * of this one, so code still holding the old instance keeps changing the same
+ * objects, and cache misses and saves on it are forwarded to the replacement.
+ */
 public class PlayerDataConfig {
-    private Map<UUID, PlayerData> playerDataMap = new HashMap<>();
-    private static final String CONFIG_PATH = "config/simpledexrewards/players";
+    private final Map<UUID, PlayerData> playerDataMap = new ConcurrentHashMap<>();
+    private final Set<UUID> onlinePlayers = ConcurrentHashMap.newKeySet();
+    // Shared by inserts and saves, exclusive while closing or handing off
+    private final ReadWriteLock handoffLock = new ReentrantReadWriteLock();
+    private volatile PlayerDataConfig successor;
+    private volatile boolean closed;
+    private static final String CONFIG_PATH = "config/simpledexrewards";
+    private static final String PLAYERS_DIRECTORY = "players";
     private static final String DATA_VERSION = "2.0";
+    private static final String LOG_FILE = "players.db";
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 2000;
+
+    private final PlayerDataStorage storage;
+    private final PlayerDataSaveQueue saveQueue;
+    private final boolean lazyLoading;
+    private final long idleEvictionMs;
+    private final int maxCachedPlayers;
 
     public PlayerDataConfig() {
-        File playerDir = Utils.checkForDirectory("/" + CONFIG_PATH);
+        this(Path.of(CONFIG_PATH), CobblemonPokedex.pokedexConfig);
+    }
+
+    /**
+     * @param directory The directory holding the player files and the player data log
+     * @param config The settings to use, or null for the defaults
+     */
+    PlayerDataConfig(Path directory, PokedexConfig config) {
+        long flushInterval = config != null ? config.getSaveFlushIntervalMs() : DEFAULT_FLUSH_INTERVAL_MS;
+        this.lazyLoading = config != null && config.isLazyPlayerLoading();
+        this.idleEvictionMs = (config != null ? config.getPlayerCacheIdleMinutes() : 10) * 60_000L;
+        this.maxCachedPlayers = config != null ? config.getPlayerCacheMaxSize() : 500;
+        this.storage = createStorage(directory, config);
+        this.saveQueue = new PlayerDataSaveQueue(storage::write, flushInterval);
         CobblemonPokedex.LOGGER.info("Loading player data configuration...");
         load();
     }
 
+    /**
+     * Opens the storage backend selected in config.json. The log backend imports
+     * existing JSON player files the first time it is opened, and switching back
+     * to JSON exports the log into player files again.
+     */
+    private static PlayerDataStorage createStorage(Path directory, PokedexConfig config) {
+        FileSyncMode syncMode = config != null ? config.getFileSyncMode() : FileSyncMode.BATCH;
+        String playersPath = Utils.checkForDirectory(directory.resolve(PLAYERS_DIRECTORY).toString()).getPath();
+        JsonFileStorage jsonStorage = new JsonFileStorage(playersPath, syncMode);
+        Path logFile = directory.resolve(LOG_FILE);
+        if (config == null || config.getStorageBackend() != StorageBackend.LOG) {
+            if (config != null) {
+                LogStorageImporter.exportIfNeeded(logFile, jsonStorage);
+            }
+            return jsonStorage;
+        }
+
+        try {
+            LogFileStorage logStorage = new LogFileStorage(logFile, syncMode, config.getPlayerDataEncoding());
+            LogStorageImporter.importIfNeeded(jsonStorage, logStorage, logFile);
+            CobblemonPokedex.LOGGER.info("Using player data log with " + logStorage.size() + " players");
+            return logStorage;
+        } catch (IOException e) {
+            CobblemonPokedex.LOGGER.error("Failed to open player data log, falling back to JSON files", e);
+            return jsonStorage;
+        }
+    }
+
     public void load() {
-        File playerDir = new File(CONFIG_PATH);
-        if (!playerDir.exists()) {
-            playerDir.mkdirs();
-            CobblemonPokedex.LOGGER.info("Created players directory at " + playerDir.getAbsolutePath());
+        if (lazyLoading) {
+            // Players are read on join or first access instead of loading every record
+            CobblemonPokedex.LOGGER.info("Lazy player loading enabled, skipping eager player load");
+            return;
         }
 
-        File[] files = playerDir.listFiles((dir, name) -> 
-            name.endsWith(".json") && !name.contains("_backup_"));
-        if (files == null) return;
+        playerDataMap.putAll(storage.loadAll());
+    }
 
-        int migratedCount = 0;
-        int failedMigrations = 0;
+    /**
+     * Loads a player's data from storage, preferring a snapshot that is still waiting
+     * in the save queue over the possibly older stored record
+     * @param playerId The UUID of the player
+     * @return The loaded data, or fresh data if the player has no saved record
+     */
+    private PlayerData loadOrCreate(UUID playerId) {
+        PlayerData pending = saveQueue.getPending(playerId);
+        if (pending != null) {
+            return pending.copy();
+        }
 
-        for (File file : files) {
-            try {
-                String content = Utils.readFileSync(CONFIG_PATH, file.getName());
-                if (content == null || content.isEmpty()) continue;
-
-                JsonObject json = JsonParser.parseString(content).getAsJsonObject();
-                
-                // Check if migration is needed
-                if (PlayerDataMigration.needsMigration(json)) {
-                    CobblemonPokedex.LOGGER.info("Migrating player data file: " + file.getName());
-                    if (PlayerDataMigration.migratePlayerFile(file, CONFIG_PATH)) {
-                        migratedCount++;
-                        // Re-read the migrated data
-                        content = Utils.readFileSync(CONFIG_PATH, file.getName());
-                        json = JsonParser.parseString(content).getAsJsonObject();
-                    } else {
-                        failedMigrations++;
-                        CobblemonPokedex.LOGGER.error("Failed to migrate player data: " + file.getName());
-                        continue;
-                    }
-                }
+        PlayerData data = storage.load(playerId);
+        Trace.debug(TraceCategory.PERSISTENCE, "Loaded player data of {} ({})", playerId, data != null ? "found" : "new");
+        return data != null ? data : new PlayerData();
+    }
+
+    /**
+     * Writes every modified player to disk and waits for the writes to complete
+     */
+    public void save() {
+        for (Map.Entry<UUID, PlayerData> entry : playerDataMap.entrySet()) {
+            enqueueIfDirty(entry.getKey(), entry.getValue());
+        }
+        saveQueue.flush();
+    }
 
-                UUID playerId = UUID.fromString(file.getName().replace(".json", ""));
-                PlayerData data = new PlayerData(json);
-                playerDataMap.put(playerId, data);
-            } catch (Exception e) {
-                CobblemonPokedex.LOGGER.error("Failed to load player data: " + file.getName(), e);
+    /**
+     * Queues a player's data for a write-behind save. The write happens on the
+     * I/O thread and is coalesced with other saves of the same player. The given
+     * object is saved even if it was evicted since the caller got it, so a change
+     * racing an eviction is still written.
+     * @param playerId The UUID of the player whose data should be saved
+     * @param data The data the caller changed, as returned by {@link #getPlayerData}
+     */
+    public void savePlayer(UUID playerId, PlayerData data) {
+        handoffLock.readLock().lock();
+        try {
+            if (successor != null) {
+                successor.savePlayer(playerId, data);
+                return;
             }
+            // Once closed the data stays dirty for the instance taking over
+            if (closed) return;
+            enqueueIfDirty(playerId, data);
+        } finally {
+            handoffLock.readLock().unlock();
         }
+    }
 
-        if (migratedCount > 0) {
-            CobblemonPokedex.LOGGER.info("Successfully migrated " + migratedCount + " player data files to v2.0");
+    private void enqueueIfDirty(UUID playerId, PlayerData data) {
+        PlayerData snapshot = data.snapshotIfDirty();
+        if (snapshot != null) {
+            saveQueue.enqueue(playerId, snapshot);
         }
-        if (failedMigrations > 0) {
-            CobblemonPokedex.LOGGER.warn("Failed to migrate " + failedMigrations + " player data files");
+    }
+
+    /**
+     * Saves all modified players and drains the write-behind queue.
+     * Must be called before this instance is discarded.
+     */
+    public void close() {
+        handoffLock.writeLock().lock();
+        try {
+            closed = true;
+            for (Map.Entry<UUID, PlayerData> entry : playerDataMap.entrySet()) {
+                enqueueIfDirty(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            handoffLock.writeLock().unlock();
         }
+        saveQueue.shutdown();
+        storage.close();
     }
 
-    public void save() {
-        for (Map.Entry<UUID, PlayerData> entry : playerDataMap.entrySet()) {
-            String filename = entry.getKey().toString() + ".json";
-            Utils.writeFileSync(CONFIG_PATH, filename, Utils.newGson().toJson(entry.getValue().toJson()));
+    /**
+     * Takes over the cached players of the instance this one replaces on reload.
+     * The same objects are kept, so changes made through the old instance, even
+     * after it was closed, are saved by this one. Each object is reconciled with
+     * the record just read from storage, which wins unless the object has unsaved
+     * changes (see {@link PlayerData#reconcileWith}). The old instance forwards
+     * cache misses and saves here from now on.
+     * @param previous The closed instance being replaced
+     * @return The number of cached players refreshed from storage
+     */
+    public int adopt(PlayerDataConfig previous) {
+        // Read outside the lock, the old instance is still in use meanwhile
+        Map<UUID, PlayerData> stored = new HashMap<>();
+        for (UUID playerId : previous.playerDataMap.keySet()) {
+            PlayerData record = lazyLoading ? storage.load(playerId) : playerDataMap.get(playerId);
+            if (record != null) {
+                stored.put(playerId, record);
+            }
         }
+
+        int refreshed = 0;
+        previous.handoffLock.writeLock().lock();
+        try {
+            previous.successor = this;
+            for (Map.Entry<UUID, PlayerData> entry : previous.playerDataMap.entrySet()) {
+                PlayerData record = stored.get(entry.getKey());
+                if (record != null && entry.getValue().reconcileWith(record)) {
+                    refreshed++;
+                }
+                playerDataMap.put(entry.getKey(), entry.getValue());
+            }
+            onlinePlayers.addAll(previous.onlinePlayers);
+        } finally {
+            previous.handoffLock.writeLock().unlock();
+        }
+        Trace.info(TraceCategory.PERSISTENCE, "Adopted {} cached players from the previous player data config, {} refreshed from storage",
+            previous.playerDataMap.size(), refreshed);
+        return refreshed;
+    }
+
+    public PlayerDataSaveQueue getSaveQueue() {
+        return saveQueue;
     }
 
-    public void savePlayer(UUID playerId) {
+    public PlayerData getPlayerData(UUID playerId) {
+        PlayerData data = playerDataMap.get(playerId);
+        if (data == null) {
+            // In lazy mode a miss means the player simply has not been read yet
+            PlayerData loaded = lazyLoading ? loadOrCreate(playerId) : new PlayerData();
+            data = insert(playerId, loaded);
+        }
+        data.touch();
+        return data;
+    }
+
+    /**
+     * Caches loaded data unless another thread got there first, or hands the
+     * lookup to the replacement instance after a reload
+     * @return The data now cached for the player
+     */
+    private PlayerData insert(UUID playerId, PlayerData loaded) {
+        handoffLock.readLock().lock();
+        try {
+            if (successor != null) {
+                return successor.getPlayerData(playerId);
+            }
+            PlayerData existing = playerDataMap.putIfAbsent(playerId, loaded);
+            return existing != null ? existing : loaded;
+        } finally {
+            handoffLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Starts tracking a player as online and, in lazy mode, reads their data on the
+     * I/O thread so the first access from the server thread does not touch the disk
+     * @param playerId The UUID of the player that joined
+     * @return Completes once the player's data is cached, on the I/O thread if it had to be read
+     */
+    public CompletableFuture<Void> onPlayerJoin(UUID playerId) {
+        onlinePlayers.add(playerId);
+        if (!lazyLoading || playerDataMap.containsKey(playerId)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> cached = new CompletableFuture<>();
+        saveQueue.runOnIoThread(() -> {
+            try {
+                PlayerData loaded = loadOrCreate(playerId);
+                loaded.touch();
+                insert(playerId, loaded);
+            } finally {
+                // Completes even if the read failed, the next access then retries it
+                cached.complete(null);
+            }
+        });
+        return cached;
+    }
+
+    /**
+     * Stops tracking a player as online and queues their data for saving.
+     * The data stays cached until it is evicted.
+     * @param playerId The UUID of the player that left
+     */
+    public void onPlayerLeave(UUID playerId) {
+        onlinePlayers.remove(playerId);
         PlayerData data = playerDataMap.get(playerId);
         if (data != null) {
-            String filename = playerId.toString() + ".json";
-            Utils.writeFileSync(CONFIG_PATH, filename, Utils.newGson().toJson(data.toJson()));
+            data.touch();
+            enqueueIfDirty(playerId, data);
         }
     }
 
-    public PlayerData getPlayerData(UUID playerId) {
-        return playerDataMap.computeIfAbsent(playerId, k -> new PlayerData());
+    /**
+     * Registers every player currently on the server as online, used after a reload
+     * replaces this instance while players are connected
+     * @param server The running server, may be null before the server has started
+     */
+    public void trackOnlinePlayers(MinecraftServer server) {
+        if (server == null) return;
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            onPlayerJoin(player.getUUID());
+        }
+    }
+
+    /**
+     * Evicts offline players that have been idle for longer than the configured
+     * time, then the least recently used offline players while the cache is over
+     * its size limit. Evicted players are flushed to the save queue, and a thread
+     * still holding an evicted player's data saves it through {@link #savePlayer}.
+     * Only applies in lazy mode.
+     * @return The number of evicted players
+     */
+    public int evictIdlePlayers() {
+        if (!lazyLoading) return 0;
+
+        long now = System.currentTimeMillis();
+        List<Map.Entry<UUID, PlayerData>> offline = new ArrayList<>();
+        int evicted = 0;
+
+        for (Map.Entry<UUID, PlayerData> entry : playerDataMap.entrySet()) {
+            if (onlinePlayers.contains(entry.getKey())) continue;
+            if (now - entry.getValue().getLastAccessTime() >= idleEvictionMs) {
+                if (evict(entry.getKey(), entry.getValue())) evicted++;
+            } else {
+                offline.add(entry);
+            }
+        }
+
+        int overLimit = playerDataMap.size() - maxCachedPlayers;
+        if (overLimit > 0) {
+            offline.sort(Comparator.comparingLong(entry -> entry.getValue().getLastAccessTime()));
+            for (int i = 0; i < overLimit && i < offline.size(); i++) {
+                if (evict(offline.get(i).getKey(), offline.get(i).getValue())) evicted++;
+            }
+        }
+
+        if (evicted > 0) {
+            Trace.debug(TraceCategory.PERSISTENCE, "Evicted {} cached player data entries", evicted);
+        }
+        return evicted;
+    }
+
+    /**
+     * Removes a player from the cache, then queues whatever was changed before
+     * the removal. Holding the handoff lock keeps the snapshot from racing a save
+     * or a close; changes made after it are dirty again and saved by the holder.
+     * @return Whether the player was removed
+     */
+    private boolean evict(UUID playerId, PlayerData data) {
+        handoffLock.writeLock().lock();
+        try {
+            if (closed || !playerDataMap.remove(playerId, data)) return false;
+            enqueueIfDirty(playerId, data);
+            return true;
+        } finally {
+            handoffLock.writeLock().unlock();
+        }
+    }
+
+    public int getCachedPlayerCount() {
+        return playerDataMap.size();
+    }
+
+    public boolean isLazyLoading() {
+        return lazyLoading;
     }
 
     /**
@@ -100,31 +389,56 @@ public class PlayerDataConfig {
      * @param playerId The UUID of the player whose data should be saved
      */
     public void saveImmediately(UUID playerId) {
+        PlayerDataConfig successor = this.successor;
+        if (successor != null) {
+            successor.saveImmediately(playerId);
+            return;
+        }
+        if (closed) return;
         PlayerData data = playerDataMap.get(playerId);
         if (data != null) {
-            data.updateLastSaveTime();
-            savePlayer(playerId);
+            PlayerData snapshot;
+            synchronized (data) {
+                data.updateLastSaveTime();
+                snapshot = data.copy();
+                data.clearDirty();
+            }
+            saveQueue.enqueue(playerId, snapshot);
+            saveQueue.flush();
         }
     }
 
+    /**
+     * One player's progress. Every method locks the instance, so it can be changed
+     * from any thread; views returned by the getters are only safe to iterate on a
+     * snapshot taken with {@link #copy()}, which is what the save queue writes.
+     */
     public static class PlayerData {
         private final String version;
-        private final Map<Integer, Boolean> claimedRewards;
-        private final Map<Integer, Boolean> claimedShinyRewards;
-        private final Map<Integer, Boolean> claimedLivingDexRewards;
-        private final Set<String> livingDexSpecies;
+        private final ClaimedTiers claimedRewards;
+        private final ClaimedTiers claimedShinyRewards;
+        private final ClaimedTiers claimedLivingDexRewards;
+        private final SpeciesSet livingDexSpecies;
+        private final SpeciesSet shinySpecies; // Species caught shiny at least once
+        private final List<String> pendingItems; // Reward items waiting for inventory space, as SNBT
+        private final int[] lastNotifiedTiers; // Milestone watermark per reward track, by ordinal
         private int totalCaught;
         private int totalShinyCaught;
         private int highestTierReached;
         private int highestShinyTierReached;
         private long lastSaveTime;
+        private boolean dirty;
+        private volatile long lastAccessTime; // Cache bookkeeping only, never persisted
 
         public PlayerData() {
             this.version = DATA_VERSION;
-            this.claimedRewards = new HashMap<>();
-            this.claimedShinyRewards = new HashMap<>();
-            this.claimedLivingDexRewards = new HashMap<>();
-            this.livingDexSpecies = new HashSet<>();
+            this.claimedRewards = new ClaimedTiers(RewardTrack.COMPLETION);
+            this.claimedShinyRewards = new ClaimedTiers(RewardTrack.SHINY);
+            this.claimedLivingDexRewards = new ClaimedTiers(RewardTrack.LIVING_DEX);
+            this.livingDexSpecies = new SpeciesSet();
+            this.shinySpecies = new SpeciesSet();
+            this.pendingItems = new ArrayList<>();
+            this.lastNotifiedTiers = unsetWatermarks();
             this.totalCaught = 0;
             this.totalShinyCaught = 0;
             this.highestTierReached = 0;
@@ -134,10 +448,13 @@ public class PlayerDataConfig {
 
         public PlayerData(JsonObject json) {
             this.version = json.has("version") ? json.get("version").getAsString() : DATA_VERSION;
-            this.claimedRewards = new HashMap<>();
-            this.claimedShinyRewards = new HashMap<>();
-            this.claimedLivingDexRewards = new HashMap<>();
-            this.livingDexSpecies = new HashSet<>();
+            this.claimedRewards = new ClaimedTiers(RewardTrack.COMPLETION);
+            this.claimedShinyRewards = new ClaimedTiers(RewardTrack.SHINY);
+            this.claimedLivingDexRewards = new ClaimedTiers(RewardTrack.LIVING_DEX);
+            this.livingDexSpecies = new SpeciesSet();
+            this.shinySpecies = new SpeciesSet();
+            this.pendingItems = new ArrayList<>();
+            this.lastNotifiedTiers = unsetWatermarks();
             
             this.totalCaught = json.has("totalCaught") ? json.get("totalCaught").getAsInt() : 0;
             this.totalShinyCaught = json.has("totalShinyCaught") ? json.get("totalShinyCaught").getAsInt() : 0;
@@ -151,7 +468,7 @@ public class PlayerDataConfig {
                 for (String key : rewards.keySet()) {
                     int tier = Integer.parseInt(key);
                     boolean claimed = rewards.get(key).getAsBoolean();
-                    claimedRewards.put(tier, claimed);
+                    claimedRewards.set(tier, claimed);
                 }
             }
 
@@ -161,7 +478,7 @@ public class PlayerDataConfig {
                 for (String key : shinyRewards.keySet()) {
                     int tier = Integer.parseInt(key);
                     boolean claimed = shinyRewards.get(key).getAsBoolean();
-                    claimedShinyRewards.put(tier, claimed);
+                    claimedShinyRewards.set(tier, claimed);
                 }
             }
 
@@ -171,7 +488,7 @@ public class PlayerDataConfig {
                 for (String key : livingDexRewards.keySet()) {
                     int tier = Integer.parseInt(key);
                     boolean claimed = livingDexRewards.get(key).getAsBoolean();
-                    claimedLivingDexRewards.put(tier, claimed);
+                    claimedLivingDexRewards.set(tier, claimed);
                 }
             }
 
@@ -182,100 +499,402 @@ public class PlayerDataConfig {
                     livingDexSpecies.add(species);
                 }
             }
+
+            if (json.has("shinySpecies")) {
+                for (String species : json.getAsJsonObject("shinySpecies").keySet()) {
+                    shinySpecies.add(species);
+                }
+            }
+
+            if (json.has("pendingItems")) {
+                for (JsonElement item : json.getAsJsonArray("pendingItems")) {
+                    pendingItems.add(item.getAsString());
+                }
+            }
+
+            for (RewardTrack track : RewardTrack.values()) {
+                String key = watermarkKey(track);
+                if (json.has(key)) {
+                    lastNotifiedTiers[track.ordinal()] = json.get(key).getAsInt();
+                }
+            }
         }
 
-        public boolean hasClaimedReward(int tier) {
-            return claimedRewards.getOrDefault(tier, false);
+        /**
+         * Rebuilds player data from already decoded fields, used by binary storage codecs
+         */
+        public PlayerData(String version, int totalCaught, int totalShinyCaught,
+                          int highestTierReached, int highestShinyTierReached, long lastSaveTime,
+                          int[] claimedRewards, int[] claimedShinyRewards,
+                          int[] claimedLivingDexRewards, Set<String> livingDexSpecies,
+                          List<String> pendingItems, int[] lastNotifiedTiers, Set<String> shinySpecies) {
+            this.version = version;
+            this.totalCaught = totalCaught;
+            this.totalShinyCaught = totalShinyCaught;
+            this.highestTierReached = highestTierReached;
+            this.highestShinyTierReached = highestShinyTierReached;
+            this.lastSaveTime = lastSaveTime;
+            this.claimedRewards = new ClaimedTiers(RewardTrack.COMPLETION);
+            this.claimedShinyRewards = new ClaimedTiers(RewardTrack.SHINY);
+            this.claimedLivingDexRewards = new ClaimedTiers(RewardTrack.LIVING_DEX);
+            for (int tier : claimedRewards) this.claimedRewards.set(tier, true);
+            for (int tier : claimedShinyRewards) this.claimedShinyRewards.set(tier, true);
+            for (int tier : claimedLivingDexRewards) this.claimedLivingDexRewards.set(tier, true);
+            this.livingDexSpecies = new SpeciesSet();
+            this.livingDexSpecies.replaceWith(livingDexSpecies);
+            this.shinySpecies = new SpeciesSet();
+            this.shinySpecies.replaceWith(shinySpecies);
+            this.pendingItems = new ArrayList<>(pendingItems);
+            this.lastNotifiedTiers = unsetWatermarks();
+            System.arraycopy(lastNotifiedTiers, 0, this.lastNotifiedTiers, 0,
+                Math.min(lastNotifiedTiers.length, this.lastNotifiedTiers.length));
         }
 
-        public void setClaimedReward(int tier, boolean claimed) {
-            claimedRewards.put(tier, claimed);
+        private PlayerData(PlayerData other) {
+            this.version = other.version;
+            this.claimedRewards = other.claimedRewards.copy();
+            this.claimedShinyRewards = other.claimedShinyRewards.copy();
+            this.claimedLivingDexRewards = other.claimedLivingDexRewards.copy();
+            this.livingDexSpecies = other.livingDexSpecies.copy();
+            this.shinySpecies = other.shinySpecies.copy();
+            this.pendingItems = new ArrayList<>(other.pendingItems);
+            this.lastNotifiedTiers = other.lastNotifiedTiers.clone();
+            this.totalCaught = other.totalCaught;
+            this.totalShinyCaught = other.totalShinyCaught;
+            this.highestTierReached = other.highestTierReached;
+            this.highestShinyTierReached = other.highestShinyTierReached;
+            this.lastSaveTime = other.lastSaveTime;
+        }
+
+        /**
+         * Creates a detached copy of this data, used as the snapshot handed to the save queue
+         */
+        public synchronized PlayerData copy() {
+            return new PlayerData(this);
+        }
+
+        public synchronized boolean hasClaimedReward(int tier) {
+            return claimedRewards.isClaimed(tier);
+        }
+
+        public synchronized void setClaimedReward(int tier, boolean claimed) {
+            claimedRewards.set(tier, claimed);
             if (claimed && tier > highestTierReached) {
                 highestTierReached = tier;
             }
-            updateLastSaveTime();
+            markDirty();
         }
 
-        public boolean hasClaimedShinyReward(int tier) {
-            return claimedShinyRewards.getOrDefault(tier, false);
+        public synchronized boolean hasClaimedShinyReward(int tier) {
+            return claimedShinyRewards.isClaimed(tier);
         }
 
-        public void setClaimedShinyReward(int tier, boolean claimed) {
-            claimedShinyRewards.put(tier, claimed);
+        public synchronized void setClaimedShinyReward(int tier, boolean claimed) {
+            claimedShinyRewards.set(tier, claimed);
             if (claimed && tier > highestShinyTierReached) {
                 highestShinyTierReached = tier;
             }
-            updateLastSaveTime();
+            markDirty();
         }
 
-        public boolean hasClaimedLivingDexReward(int tier) {
-            return claimedLivingDexRewards.getOrDefault(tier, false);
+        public synchronized boolean hasClaimedLivingDexReward(int tier) {
+            return claimedLivingDexRewards.isClaimed(tier);
         }
 
-        public void setClaimedLivingDexReward(int tier, boolean claimed) {
-            claimedLivingDexRewards.put(tier, claimed);
-            updateLastSaveTime();
+        public synchronized void setClaimedLivingDexReward(int tier, boolean claimed) {
+            claimedLivingDexRewards.set(tier, claimed);
+            markDirty();
         }
 
-        public void updateTotalCaught(int count) {
+        public synchronized boolean hasClaimed(RewardTrack track, int tier) {
+            switch (track) {
+                case SHINY: return hasClaimedShinyReward(tier);
+                case LIVING_DEX: return hasClaimedLivingDexReward(tier);
+                default: return hasClaimedReward(tier);
+            }
+        }
+
+        public synchronized void setClaimed(RewardTrack track, int tier, boolean claimed) {
+            switch (track) {
+                case SHINY: setClaimedShinyReward(tier, claimed); break;
+                case LIVING_DEX: setClaimedLivingDexReward(tier, claimed); break;
+                default: setClaimedReward(tier, claimed); break;
+            }
+        }
+
+        /**
+         * Queues a reward item that did not fit in the player's inventory
+         * @param item The item stack as SNBT
+         */
+        public synchronized void addPendingItem(String item) {
+            pendingItems.add(item);
+            markDirty();
+        }
+
+        /**
+         * Replaces the queued reward items after a delivery
+         * @param items The items still waiting, as SNBT
+         */
+        public synchronized void setPendingItems(List<String> items) {
+            if (pendingItems.equals(items)) return;
+            pendingItems.clear();
+            pendingItems.addAll(items);
+            markDirty();
+        }
+
+        /**
+         * @return The reward items waiting for inventory space, as SNBT, oldest first
+         */
+        public synchronized List<String> getPendingItems() {
+            return Collections.unmodifiableList(pendingItems);
+        }
+
+        public synchronized boolean hasPendingItems() {
+            return !pendingItems.isEmpty();
+        }
+
+        /**
+         * @param track A reward track
+         * @return The highest tier of the track the player was told they reached,
+         *     or {@link MilestoneTracker#UNSET} if none was recorded yet
+         */
+        public synchronized int getLastNotifiedTier(RewardTrack track) {
+            return lastNotifiedTiers[track.ordinal()];
+        }
+
+        /**
+         * Moves the milestone watermark of a track, after the player was told about the tiers up to it
+         * @param track The reward track
+         * @param tier The highest tier the player was told about
+         */
+        public synchronized void setLastNotifiedTier(RewardTrack track, int tier) {
+            if (lastNotifiedTiers[track.ordinal()] == tier) return;
+            lastNotifiedTiers[track.ordinal()] = tier;
+            markDirty();
+        }
+
+        /**
+         * @return The milestone watermark of every track, by track ordinal
+         */
+        public synchronized int[] getLastNotifiedTiers() {
+            return lastNotifiedTiers.clone();
+        }
+
+        public synchronized void updateTotalCaught(int count) {
+            if (this.totalCaught == count) return;
             this.totalCaught = count;
-            updateLastSaveTime();
+            markDirty();
         }
 
-        public void updateTotalShinyCaught(int count) {
+        public synchronized void updateTotalShinyCaught(int count) {
+            if (this.totalShinyCaught == count) return;
             this.totalShinyCaught = count;
-            updateLastSaveTime();
+            markDirty();
         }
 
-        public void updateLivingDexSpecies(Set<String> species) {
-            this.livingDexSpecies.clear();
-            this.livingDexSpecies.addAll(species);
-            updateLastSaveTime();
+        public synchronized void updateLivingDexSpecies(Set<String> species) {
+            this.livingDexSpecies.replaceWith(species);
+            markDirty();
         }
 
-        public void addLivingDexSpecies(String species) {
-            this.livingDexSpecies.add(species);
-            updateLastSaveTime();
+        public synchronized void addLivingDexSpecies(String species) {
+            if (this.livingDexSpecies.add(species)) {
+                markDirty();
+            }
         }
 
-        public void removeLivingDexSpecies(String species) {
-            this.livingDexSpecies.remove(species);
-            updateLastSaveTime();
+        public synchronized void removeLivingDexSpecies(String species) {
+            if (this.livingDexSpecies.remove(species)) {
+                markDirty();
+            }
+        }
+
+        /**
+         * Records a species caught shiny, keeping the shiny caught count in step
+         * @param species The species name
+         * @return true if the species was not caught shiny before
+         */
+        public synchronized boolean addShinySpecies(String species) {
+            if (!shinySpecies.add(species)) return false;
+            this.totalShinyCaught = shinySpecies.size();
+            markDirty();
+            return true;
+        }
+
+        public synchronized boolean hasShinySpecies(String species) {
+            return shinySpecies.contains(species);
+        }
+
+        public synchronized int getShinySpeciesCount() {
+            return shinySpecies.size();
+        }
+
+        /**
+         * @return A read-only view of the species caught shiny, backed by the player data
+         */
+        public synchronized Set<String> getShinySpecies() {
+            return shinySpecies.asSet();
+        }
+
+        public synchronized boolean hasLivingDexSpecies(String species) {
+            return livingDexSpecies.contains(species);
+        }
+
+        public synchronized int getLivingDexCount() {
+            return livingDexSpecies.size();
+        }
+
+        private static int[] unsetWatermarks() {
+            int[] watermarks = new int[RewardTrack.values().length];
+            Arrays.fill(watermarks, MilestoneTracker.UNSET);
+            return watermarks;
+        }
+
+        private static String watermarkKey(RewardTrack track) {
+            switch (track) {
+                case SHINY: return "lastNotifiedShinyTier";
+                case LIVING_DEX: return "lastNotifiedLivingDexTier";
+                default: return "lastNotifiedTier";
+            }
         }
 
         private void updateLastSaveTime() {
             this.lastSaveTime = System.currentTimeMillis();
         }
 
-        public int getTotalCaught() {
+        private void markDirty() {
+            this.dirty = true;
+            updateLastSaveTime();
+        }
+
+        /**
+         * @return true if this data changed since it was last queued for saving
+         */
+        public synchronized boolean isDirty() {
+            return dirty;
+        }
+
+        public synchronized void clearDirty() {
+            this.dirty = false;
+        }
+
+        /**
+         * Replaces this data with a copy of the stored record, unless it has
+         * changes that were not saved yet, which win over the stored record
+         * @param stored The record read from storage
+         * @return true if the stored record was taken
+         */
+        public synchronized boolean reconcileWith(PlayerData stored) {
+            if (dirty) return false;
+            synchronized (stored) {
+                claimedRewards.replaceWith(stored.claimedRewards);
+                claimedShinyRewards.replaceWith(stored.claimedShinyRewards);
+                claimedLivingDexRewards.replaceWith(stored.claimedLivingDexRewards);
+                livingDexSpecies.replaceWith(stored.livingDexSpecies.asSet());
+                shinySpecies.replaceWith(stored.shinySpecies.asSet());
+                pendingItems.clear();
+                pendingItems.addAll(stored.pendingItems);
+                System.arraycopy(stored.lastNotifiedTiers, 0, lastNotifiedTiers, 0, lastNotifiedTiers.length);
+                totalCaught = stored.totalCaught;
+                totalShinyCaught = stored.totalShinyCaught;
+                highestTierReached = stored.highestTierReached;
+                highestShinyTierReached = stored.highestShinyTierReached;
+                lastSaveTime = stored.lastSaveTime;
+            }
+            return true;
+        }
+
+        /**
+         * Takes a snapshot for saving and clears the dirty flag in one step, so a
+         * change made while another thread saves is never marked as saved
+         * @return A detached copy, or null if nothing changed since the last snapshot
+         */
+        public synchronized PlayerData snapshotIfDirty() {
+            if (!dirty) return null;
+            dirty = false;
+            return new PlayerData(this);
+        }
+
+        void touch() {
+            this.lastAccessTime = System.currentTimeMillis();
+        }
+
+        long getLastAccessTime() {
+            return lastAccessTime;
+        }
+
+        public synchronized int getTotalCaught() {
             return totalCaught;
         }
 
-        public int getTotalShinyCaught() {
+        public synchronized int getTotalShinyCaught() {
             return totalShinyCaught;
         }
 
-        public int getHighestTierReached() {
+        public synchronized int getHighestTierReached() {
             return highestTierReached;
         }
 
-        public int getHighestShinyTierReached() {
+        public synchronized int getHighestShinyTierReached() {
             return highestShinyTierReached;
         }
 
-        public Set<String> getLivingDexSpecies() {
-            return new HashSet<>(livingDexSpecies);
+        /**
+         * @return A read-only view of the living dex species, backed by the player data
+         */
+        public synchronized Set<String> getLivingDexSpecies() {
+            return livingDexSpecies.asSet();
+        }
+
+        /**
+         * Gets the completion tiers that are reached but not claimed, without allocating
+         * @param index The completion tier index, read once by the caller to resolve the bits
+         * @param completionPercentage The player's Pokedex completion percentage
+         * @return A mask where bit i stands for {@code index.tierAt(i)}
+         */
+        public synchronized long getClaimableRewardMask(TierIndex index, double completionPercentage) {
+            return claimedRewards.claimableMask(index, completionPercentage);
         }
 
-        public long getLastSaveTime() {
+        /**
+         * Gets the tiers of a track that are reached but not claimed, without allocating
+         * @param track The reward track
+         * @param index The track's tier index, read once by the caller to resolve the bits
+         * @param progress The player's progress on the track
+         * @return A mask where bit i stands for {@code index.tierAt(i)}
+         */
+        public synchronized long getClaimableMask(RewardTrack track, TierIndex index, double progress) {
+            switch (track) {
+                case SHINY: return claimedShinyRewards.claimableMask(index, progress);
+                case LIVING_DEX: return claimedLivingDexRewards.claimableMask(index, progress);
+                default: return claimedRewards.claimableMask(index, progress);
+            }
+        }
+
+        /**
+         * @return Every claimed completion tier in ascending order
+         */
+        public synchronized int[] getClaimedRewardTiers() {
+            return claimedRewards.toArray();
+        }
+
+        public synchronized int[] getClaimedShinyRewardTiers() {
+            return claimedShinyRewards.toArray();
+        }
+
+        public synchronized int[] getClaimedLivingDexRewardTiers() {
+            return claimedLivingDexRewards.toArray();
+        }
+
+        public synchronized long getLastSaveTime() {
             return lastSaveTime;
         }
 
-        public String getVersion() {
+        public synchronized String getVersion() {
             return version;
         }
 
-        public JsonObject toJson() {
+        public synchronized JsonObject toJson() {
             JsonObject json = new JsonObject();
             json.addProperty("version", version);
             json.addProperty("totalCaught", totalCaught);
@@ -284,35 +903,50 @@ public class PlayerDataConfig {
             json.addProperty("highestShinyTierReached", highestShinyTierReached);
             json.addProperty("lastSaveTime", lastSaveTime);
 
-            // Regular claimed rewards
-            JsonObject rewards = new JsonObject();
-            for (Map.Entry<Integer, Boolean> entry : claimedRewards.entrySet()) {
-                rewards.addProperty(entry.getKey().toString(), entry.getValue());
+            // Claimed rewards per track, same tier -> true objects as before
+            json.add("claimedRewards", claimsToJson(claimedRewards));
+            json.add("claimedShinyRewards", claimsToJson(claimedShinyRewards));
+            json.add("claimedLivingDexRewards", claimsToJson(claimedLivingDexRewards));
+
+            // Living dex species (stored as JsonObject keys for compatibility)
+            JsonObject livingDex = new JsonObject();
+            for (String species : livingDexSpecies.asSet()) {
+                livingDex.addProperty(species, true);
             }
-            json.add("claimedRewards", rewards);
+            json.add("livingDexSpecies", livingDex);
 
-            // Shiny claimed rewards
-            JsonObject shinyRewards = new JsonObject();
-            for (Map.Entry<Integer, Boolean> entry : claimedShinyRewards.entrySet()) {
-                shinyRewards.addProperty(entry.getKey().toString(), entry.getValue());
+            // Only written once a shiny was caught, so older files stay unchanged
+            if (shinySpecies.size() > 0) {
+                JsonObject shinies = new JsonObject();
+                for (String species : shinySpecies.asSet()) {
+                    shinies.addProperty(species, true);
+                }
+                json.add("shinySpecies", shinies);
             }
-            json.add("claimedShinyRewards", shinyRewards);
 
-            // Living dex claimed rewards
-            JsonObject livingDexRewards = new JsonObject();
-            for (Map.Entry<Integer, Boolean> entry : claimedLivingDexRewards.entrySet()) {
-                livingDexRewards.addProperty(entry.getKey().toString(), entry.getValue());
+            // Only written when there is mail, so files of players without any stay unchanged
+            if (!pendingItems.isEmpty()) {
+                JsonArray items = new JsonArray();
+                pendingItems.forEach(items::add);
+                json.add("pendingItems", items);
             }
-            json.add("claimedLivingDexRewards", livingDexRewards);
 
-            // Living dex species (stored as JsonObject keys for compatibility)
-            JsonObject livingDex = new JsonObject();
-            for (String species : livingDexSpecies) {
-                livingDex.addProperty(species, true);
+            // Likewise only written once a milestone was tracked
+            for (RewardTrack track : RewardTrack.values()) {
+                if (lastNotifiedTiers[track.ordinal()] != MilestoneTracker.UNSET) {
+                    json.addProperty(watermarkKey(track), lastNotifiedTiers[track.ordinal()]);
+                }
             }
-            json.add("livingDexSpecies", livingDex);
 
             return json;
         }
+
+        private static JsonObject claimsToJson(ClaimedTiers claims) {
+            JsonObject json = new JsonObject();
+            for (int tier : claims.toArray()) {
+                json.addProperty(String.valueOf(tier), true);
+            }
+            return json;
+        }
     }
 }
@@ -1,10 +1,20 @@
 package com.cobblemon.mdks.cobblemonpokedex.config;
 
 import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.storage.FileSyncMode;
+import com.cobblemon.mdks.cobblemonpokedex.storage.PlayerDataEncoding;
+import com.cobblemon.mdks.cobblemonpokedex.storage.StorageBackend;
+import com.cobblemon.mdks.cobblemonpokedex.util.Trace;
+import com.cobblemon.mdks.cobblemonpokedex.util.TraceCategory;
+import com.cobblemon.mdks.cobblemonpokedex.util.TraceLevel;
 import com.cobblemon.mdks.cobblemonpokedex.util.Utils;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
 public class PokedexConfig {
     private static final String CONFIG_PATH = "config/simpledexrewards";
     private static final String CONFIG_FILE = "config.json";
@@ -27,6 +37,24 @@ public class PokedexConfig {
     private boolean enablePokemonRewards;
     private boolean enableCommandRewards;
     
+    // Persistence settings
+    private int saveFlushIntervalMs;
+    private boolean lazyPlayerLoading;
+    private int playerCacheIdleMinutes;
+    private int playerCacheMaxSize;
+    private FileSyncMode fileSyncMode;
+    private StorageBackend storageBackend;
+    private PlayerDataEncoding playerDataEncoding;
+    
+    // Event settings
+    private int captureBatchMaxTicks;
+    private boolean watchConfigFiles;
+    
+    // Tracing settings
+    private Map<TraceCategory, TraceLevel> traceLevels;
+    private int traceBufferSize;
+    private boolean traceToLog;
+    
     public PokedexConfig() {
         setDefaults();
     }
@@ -47,6 +75,24 @@ public class PokedexConfig {
         this.enableItemRewards = true;
         this.enablePokemonRewards = true;
         this.enableCommandRewards = true;
+        
+        this.saveFlushIntervalMs = 2000;
+        this.lazyPlayerLoading = false;
+        this.playerCacheIdleMinutes = 10;
+        this.playerCacheMaxSize = 500;
+        this.fileSyncMode = FileSyncMode.BATCH;
+        this.storageBackend = StorageBackend.JSON;
+        this.playerDataEncoding = PlayerDataEncoding.JSON;
+        
+        this.captureBatchMaxTicks = 1;
+        this.watchConfigFiles = true;
+        
+        this.traceLevels = new EnumMap<>(TraceCategory.class);
+        for (TraceCategory category : TraceCategory.values()) {
+            this.traceLevels.put(category, TraceLevel.OFF);
+        }
+        this.traceBufferSize = Trace.DEFAULT_BUFFER_SIZE;
+        this.traceToLog = false;
     }
     
     public void load() {
@@ -57,6 +103,7 @@ public class PokedexConfig {
         if (content == null || content.isEmpty()) {
             setDefaults();
             save();
+            applyTracing();
             return;
         }
 
@@ -68,6 +115,49 @@ public class PokedexConfig {
             setDefaults();
             save();
         }
+        applyTracing();
+    }
+    
+    /**
+     * Reads config.json into a new instance without touching the live one, so a
+     * reload can parse it off the server thread. Unlike {@link #load()} a broken
+     * file is reported instead of being replaced with defaults.
+     * @return The parsed config, or the defaults if the file is missing
+     * @throws IllegalArgumentException If the file is not a valid config
+     */
+    public static PokedexConfig read() {
+        return read(Path.of(CONFIG_PATH));
+    }
+
+    /**
+     * Reads config.json from the given directory, see {@link #read()}
+     * @param directory The directory holding config.json
+     * @return The parsed config, or the defaults if the file is missing
+     * @throws IllegalArgumentException If the file is not a valid config
+     */
+    static PokedexConfig read(Path directory) {
+        PokedexConfig config = new PokedexConfig();
+        String content = Utils.readFileSync(directory.toString(), CONFIG_FILE);
+        if (content == null || content.isEmpty()) {
+            return config;
+        }
+        try {
+            config.loadFromJson(JsonParser.parseString(content).getAsJsonObject());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid " + CONFIG_FILE + ": " + e.getMessage(), e);
+        }
+        return config;
+    }
+
+    /**
+     * Applies the settings kept outside the config, once it is the live config
+     */
+    public void apply() {
+        applyTracing();
+    }
+
+    private void applyTracing() {
+        Trace.configure(traceLevels, traceBufferSize, traceToLog);
     }
     
     private void loadFromJson(JsonObject json) {
@@ -86,6 +176,30 @@ public class PokedexConfig {
         this.enableItemRewards = getOrDefault(json, "enableItemRewards", true);
         this.enablePokemonRewards = getOrDefault(json, "enablePokemonRewards", true);
         this.enableCommandRewards = getOrDefault(json, "enableCommandRewards", true);
+        
+        // Bounded so a bad value can neither spin the I/O thread nor leave data unsaved for long
+        this.saveFlushIntervalMs = Math.max(100, Math.min(60000, getOrDefault(json, "saveFlushIntervalMs", 2000)));
+        this.lazyPlayerLoading = getOrDefault(json, "lazyPlayerLoading", false);
+        this.playerCacheIdleMinutes = Math.max(1, getOrDefault(json, "playerCacheIdleMinutes", 10));
+        this.playerCacheMaxSize = Math.max(16, getOrDefault(json, "playerCacheMaxSize", 500));
+        this.fileSyncMode = FileSyncMode.fromString(getOrDefault(json, "fileSyncMode", "BATCH"));
+        this.storageBackend = StorageBackend.fromString(getOrDefault(json, "storageBackend", "JSON"));
+        this.playerDataEncoding = PlayerDataEncoding.fromString(getOrDefault(json, "playerDataEncoding", "JSON"));
+        
+        // Up to 10 seconds, captures are only counted late, never lost
+        this.captureBatchMaxTicks = Math.max(1, Math.min(200, getOrDefault(json, "captureBatchMaxTicks", 1)));
+        this.watchConfigFiles = getOrDefault(json, "watchConfigFiles", true);
+        
+        // Every category is listed on save, so a missing one is simply off
+        this.traceLevels = new EnumMap<>(TraceCategory.class);
+        JsonObject levels = json.has("traceLevels") && json.get("traceLevels").isJsonObject()
+            ? json.getAsJsonObject("traceLevels") : new JsonObject();
+        for (TraceCategory category : TraceCategory.values()) {
+            String key = category.name().toLowerCase();
+            this.traceLevels.put(category, TraceLevel.fromString(levels.has(key) ? levels.get(key).getAsString() : "OFF"));
+        }
+        this.traceBufferSize = Math.max(16, Math.min(65536, getOrDefault(json, "traceBufferSize", Trace.DEFAULT_BUFFER_SIZE)));
+        this.traceToLog = getOrDefault(json, "traceToLog", false);
     }
     
     private <T> T getOrDefault(JsonObject json, String key, T defaultValue) {
@@ -121,6 +235,13 @@ public class PokedexConfig {
     }
     
     public void save() {
+        Utils.writeFileSync(CONFIG_PATH, CONFIG_FILE, Utils.newGson().toJson(toJson()));
+    }
+    
+    /**
+     * @return The config as it is written to config.json
+     */
+    public JsonObject toJson() {
         JsonObject json = new JsonObject();
         json.addProperty("maxTiers", maxTiers);
         json.addProperty("totalPokemon", totalPokemon);
@@ -138,7 +259,25 @@ public class PokedexConfig {
         json.addProperty("enablePokemonRewards", enablePokemonRewards);
         json.addProperty("enableCommandRewards", enableCommandRewards);
         
-        Utils.writeFileSync(CONFIG_PATH, CONFIG_FILE, Utils.newGson().toJson(json));
+        json.addProperty("saveFlushIntervalMs", saveFlushIntervalMs);
+        json.addProperty("lazyPlayerLoading", lazyPlayerLoading);
+        json.addProperty("playerCacheIdleMinutes", playerCacheIdleMinutes);
+        json.addProperty("playerCacheMaxSize", playerCacheMaxSize);
+        json.addProperty("fileSyncMode", fileSyncMode.name());
+        json.addProperty("storageBackend", storageBackend.name());
+        json.addProperty("playerDataEncoding", playerDataEncoding.name());
+        
+        json.addProperty("captureBatchMaxTicks", captureBatchMaxTicks);
+        json.addProperty("watchConfigFiles", watchConfigFiles);
+        
+        JsonObject levels = new JsonObject();
+        for (Map.Entry<TraceCategory, TraceLevel> entry : traceLevels.entrySet()) {
+            levels.addProperty(entry.getKey().name().toLowerCase(), entry.getValue().name());
+        }
+        json.add("traceLevels", levels);
+        json.addProperty("traceBufferSize", traceBufferSize);
+        json.addProperty("traceToLog", traceToLog);
+        return json;
     }
     
     // Getters
@@ -152,9 +291,39 @@ public class PokedexConfig {
     public String getMessagePrefix() { return messagePrefix; }
     public boolean isEnableShinyTracking() { return enableShinyTracking; }
     public boolean isEnableLivingDexTracking() { return enableLivingDexTracking; }
+    
+    /**
+     * @param track A reward track
+     * @return Whether the track is tracked and shown, completion always is
+     */
+    public boolean isTrackEnabled(RewardTrack track) {
+        switch (track) {
+            case SHINY: return enableShinyTracking;
+            case LIVING_DEX: return enableLivingDexTracking;
+            default: return true;
+        }
+    }
     public int getTotalShinyPokemon() { return totalShinyPokemon; }
     
     public boolean isEnableItemRewards() { return enableItemRewards; }
     public boolean isEnablePokemonRewards() { return enablePokemonRewards; }
     public boolean isEnableCommandRewards() { return enableCommandRewards; }
+    
+    // Persistence getters
+    public int getSaveFlushIntervalMs() { return saveFlushIntervalMs; }
+    public boolean isLazyPlayerLoading() { return lazyPlayerLoading; }
+    public int getPlayerCacheIdleMinutes() { return playerCacheIdleMinutes; }
+    public int getPlayerCacheMaxSize() { return playerCacheMaxSize; }
+    public FileSyncMode getFileSyncMode() { return fileSyncMode; }
+    public StorageBackend getStorageBackend() { return storageBackend; }
+    public PlayerDataEncoding getPlayerDataEncoding() { return playerDataEncoding; }
+    
+    // Event getters
+    public int getCaptureBatchMaxTicks() { return captureBatchMaxTicks; }
+    public boolean isWatchConfigFiles() { return watchConfigFiles; }
+    
+    // Tracing getters
+    public TraceLevel getTraceLevel(TraceCategory category) { return traceLevels.get(category); }
+    public int getTraceBufferSize() { return traceBufferSize; }
+    public boolean isTraceToLog() { return traceToLog; }
 }
@@ -1,14 +1,26 @@
 package com.cobblemon.mdks.cobblemonpokedex.config;
 
 import java.util.List;
+import java.util.Map;
 
 import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mod.common.Cobblemon;
+import com.cobblemon.mod.common.api.pokemon.PokemonProperties;
+import com.cobblemon.mod.common.pokemon.Pokemon;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.JsonOps;
 
 import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
 import net.minecraft.core.RegistryAccess;
-import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.TagParser;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.item.ItemStack;
 
@@ -16,11 +28,17 @@ public class Reward {
     private final RewardType type;
     private final JsonObject data;
     private final List<CommandEntry> commands;
+    private final String displayText;
+    // Item rewards resolved against the registries; null until compiled, EMPTY if invalid
+    private volatile ItemStack prototype;
+    // Pokemon rewards parsed into properties; null until compiled or if invalid
+    private volatile PokemonProperties pokemonProperties;
 
     public Reward(RewardType type, JsonObject data, List<CommandEntry> commands) {
         this.type = type;
         this.data = data;
         this.commands = commands;
+        this.displayText = describe(type, data);
     }
 
 
@@ -36,28 +54,143 @@ public class Reward {
         return commands;
     }
 
-    public ItemStack getItemStack(RegistryAccess registryAccess) {
-        if (type != RewardType.ITEM) {
-            return ItemStack.EMPTY;
+    /**
+     * Resolves the reward once per config load so problems are reported up
+     * front: item data becomes the prototype stack every grant copies, Pokemon
+     * data is parsed into properties, and commands without placeholders are
+     * parsed into Brigadier parse results.
+     * @param server The running server
+     * @return null if the reward is valid, otherwise why it is not
+     */
+    public String compile(MinecraftServer server) {
+        switch (type) {
+            case ITEM:
+                return compileItem(server.registryAccess());
+            case POKEMON:
+                return compilePokemon();
+            case COMMAND:
+                return compileCommands(server);
+            default:
+                return null;
+        }
+    }
+
+    private String compileItem(RegistryAccess registryAccess) {
+        if (data == null || !data.has("id")) {
+            prototype = ItemStack.EMPTY;
+            return "item reward has no id";
+        }
+
+        String itemId = data.get("id").getAsString();
+        ResourceLocation location = ResourceLocation.tryParse(itemId);
+        if (location == null || !BuiltInRegistries.ITEM.containsKey(location)) {
+            prototype = ItemStack.EMPTY;
+            return "unknown item id '" + itemId + "'";
+        }
+
+        JsonObject stackJson = data.deepCopy();
+        if (!stackJson.has("count")) {
+            stackJson.addProperty("count", itemCount(data));
+        }
+        DataResult<ItemStack> result = ItemStack.CODEC.parse(
+            registryAccess.createSerializationContext(JsonOps.INSTANCE), stackJson);
+        if (result.error().isPresent()) {
+            prototype = ItemStack.EMPTY;
+            return "invalid item data for '" + itemId + "': " + result.error().get().message();
+        }
+        prototype = result.getOrThrow();
+        return null;
+    }
+
+    /**
+     * Parses the Pokemon data into properties once, in the same syntax as
+     * Cobblemon's give commands. "species" and "shiny" are mapped explicitly,
+     * "properties" is appended verbatim, and any other key becomes key=value,
+     * so "level", "ability", "nature", "gender" and the like all work.
+     */
+    private String compilePokemon() {
+        pokemonProperties = null;
+        if (data == null || !data.has("species")) {
+            return "pokemon reward has no species";
+        }
+
+        String species = data.get("species").getAsString();
+        StringBuilder spec = new StringBuilder(species.toLowerCase());
+        for (Map.Entry<String, JsonElement> entry : data.entrySet()) {
+            String key = entry.getKey();
+            if (key.equals("species")) continue;
+            if (key.equals("shiny")) {
+                // Unset leaves the normal shiny chance, as the give command did
+                if (entry.getValue().getAsBoolean()) spec.append(" shiny=yes");
+            } else if (key.equals("properties")) {
+                spec.append(' ').append(entry.getValue().getAsString());
+            } else {
+                spec.append(' ').append(key).append('=').append(entry.getValue().getAsString());
+            }
         }
 
         try {
-            CompoundTag tag = TagParser.parseTag(data.toString());
-            return ItemStack.parse(registryAccess, tag).orElse(ItemStack.EMPTY);
+            PokemonProperties properties = PokemonProperties.Companion.parse(spec.toString());
+            if (properties.getSpecies() == null) {
+                return "unknown species '" + species + "'";
+            }
+            pokemonProperties = properties;
+            return null;
         } catch (Exception e) {
-            CobblemonPokedex.LOGGER.error("Failed to parse item data", e);
+            return "invalid pokemon data '" + spec + "': " + e.getMessage();
+        }
+    }
+
+    private String compileCommands(MinecraftServer server) {
+        if (commands == null || commands.isEmpty()) {
+            return null;
+        }
+        CommandDispatcher<CommandSourceStack> dispatcher = server.getCommands().getDispatcher();
+        CommandSourceStack source = server.createCommandSourceStack();
+        StringBuilder errors = null;
+        for (CommandEntry entry : commands) {
+            String error = entry.prepare(dispatcher, source);
+            if (error != null) {
+                errors = errors == null ? new StringBuilder(error) : errors.append("; ").append(error);
+            }
+        }
+        return errors == null ? null : errors.toString();
+    }
+
+    /**
+     * @param registryAccess The server's registries, used if the reward was not compiled yet
+     * @return A fresh copy of the reward stack, or EMPTY if the item data is invalid
+     */
+    public ItemStack getItemStack(RegistryAccess registryAccess) {
+        if (type != RewardType.ITEM) {
             return ItemStack.EMPTY;
         }
+
+        ItemStack stack = prototype;
+        if (stack == null) {
+            String error = compileItem(registryAccess);
+            if (error != null) {
+                CobblemonPokedex.LOGGER.error("Failed to parse item data: " + error);
+            }
+            stack = prototype;
+        }
+        return stack.copy();
     }
 
+    /**
+     * @return The reward's line in tier lore and hover text, computed when the reward is loaded
+     */
     public String getDisplayText() {
+        return displayText;
+    }
+
+    private static String describe(RewardType type, JsonObject data) {
         switch (type) {
             case ITEM:
                 try {
-                    CompoundTag tag = TagParser.parseTag(data.toString());
-                    String itemId = tag.getString("id");
-                    int count = tag.contains("Count") ? tag.getInt("Count") : 1;
-                    return count + "x " + itemId.split(":")[1].replace("_", " ");
+                    String itemId = data.get("id").getAsString();
+                    String path = itemId.substring(itemId.indexOf(':') + 1);
+                    return itemCount(data) + "x " + path.replace("_", " ");
                 } catch (Exception e) {
                     return "Unknown Item";
                 }
@@ -70,57 +203,92 @@ public class Reward {
                     return "Unknown Pokemon";
                 }
             case COMMAND:
-                return data.has("display_name") ? data.get("display_name").getAsString() : "Custom Reward";
+                return data != null && data.has("display_name") ? data.get("display_name").getAsString() : "Custom Reward";
             default:
                 return "Unknown Reward";
         }
     }
 
-    public void grant(ServerPlayer player) {
-        switch (type) {
-            case ITEM:
-                ItemStack item = getItemStack(player.level().registryAccess());
-                if (!item.isEmpty()) {
-                    player.getInventory().add(item);
-                }
-                break;
-            case POKEMON:
-                if (data != null && !data.isEmpty()) {
-                    try {
-                        String species = data.get("species").getAsString();
-                        StringBuilder cmd = new StringBuilder();
-                        cmd.append("givepokemonother ").append(player.getName().getString()).append(" ").append(species);
-                        
-                        if (data.has("shiny") && data.get("shiny").getAsBoolean()) {
-                            cmd.append(" shiny");
-                        }
-                        if (data.has("level")) {
-                            cmd.append(" level=").append(data.get("level").getAsInt());
-                        }
-                        if (data.has("ability")) {
-                            cmd.append(" ability=").append(data.get("ability").getAsString());
-                        }
-                        
-                        CommandSourceStack source = player.getServer().createCommandSourceStack();
-                        player.getServer().getCommands().performPrefixedCommand(source, cmd.toString());
-                    } catch (Exception e) {
-                        CobblemonPokedex.LOGGER.error("Failed to grant Pokemon reward", e);
-                    }
-                }
-                break;
-            case COMMAND:
-                if (commands != null && !commands.isEmpty()) {
-                    for (CommandEntry entry : commands) {
-                        String finalCommand = entry.getCommand()
-                            .replace("%player%", player.getName().getString())
-                            .replace("%uuid%", player.getUUID().toString());
-                        
-                        CommandSourceStack source = player.getServer().createCommandSourceStack();
-                        player.getServer().getCommands().performPrefixedCommand(source, finalCommand);
-                    }
+    /**
+     * Item counts are "count" in the current item format; configs written for
+     * older versions use "Count", which the item codec would silently ignore.
+     */
+    private static int itemCount(JsonObject data) {
+        if (data.has("count")) return data.get("count").getAsInt();
+        if (data.has("Count")) return data.get("Count").getAsInt();
+        return 1;
+    }
+
+    /**
+     * Gives the reward to a player
+     * @param player The player receiving the reward
+     * @param context Values for command placeholders
+     * @param source The command source shared by every command reward of the tier
+     * @return Whether the reward was given, with a message describing what went wrong if not
+     */
+    public GrantResult grant(ServerPlayer player, RewardContext context, CommandSourceStack source) {
+        try {
+            switch (type) {
+                case ITEM:
+                    return grantItem(player);
+                case POKEMON:
+                    return grantPokemon(player);
+                case COMMAND:
+                    return grantCommands(player, context, source);
+                default:
+                    return GrantResult.failure("Unknown reward type " + type);
+            }
+        } catch (Exception e) {
+            CobblemonPokedex.LOGGER.error("Failed to grant " + type + " reward " + displayText, e);
+            return GrantResult.failure("Failed to give " + displayText + ": " + e.getMessage());
+        }
+    }
+
+    private GrantResult grantItem(ServerPlayer player) {
+        ItemStack item = getItemStack(player.level().registryAccess());
+        if (item.isEmpty()) {
+            return GrantResult.failure("Invalid item reward " + displayText);
+        }
+        // Inventory.add shrinks the stack by whatever fit, the rest waits in the mailbox
+        player.getInventory().add(item);
+        if (!item.isEmpty()) {
+            int overflow = item.getCount();
+            CobblemonPokedex.rewardMailbox.send(player, item);
+            return GrantResult.success(displayText + " (" + overflow + " sent to mailbox)");
+        }
+        return GrantResult.success(displayText);
+    }
+
+    private GrantResult grantPokemon(ServerPlayer player) {
+        PokemonProperties properties = pokemonProperties;
+        if (properties == null) {
+            String error = compilePokemon();
+            if (error != null) {
+                return GrantResult.failure("Invalid Pokemon reward: " + error);
+            }
+            properties = pokemonProperties;
+        }
+        Pokemon pokemon = properties.create();
+        // The party store sends the Pokemon to the PC when the party is full
+        if (!Cobblemon.INSTANCE.getStorage().getParty(player).add(pokemon)) {
+            return GrantResult.failure("No room in party or PC for " + displayText);
+        }
+        return GrantResult.success(displayText);
+    }
+
+    private GrantResult grantCommands(ServerPlayer player, RewardContext context, CommandSourceStack source) {
+        if (commands != null && !commands.isEmpty()) {
+            Commands serverCommands = player.getServer().getCommands();
+            for (CommandEntry entry : commands) {
+                ParseResults<CommandSourceStack> parsed = entry.getParsed(serverCommands.getDispatcher());
+                if (parsed != null) {
+                    serverCommands.performCommand(parsed, parsed.getReader().getString());
+                } else {
+                    serverCommands.performPrefixedCommand(source, entry.getTemplate().apply(context));
                 }
-                break;
+            }
         }
+        return GrantResult.success(displayText);
     }
 
     public JsonObject toJson() {
@@ -174,12 +342,52 @@ public class Reward {
     public static class CommandEntry {
         private final String command;
         private final boolean hidden;
-        
+        private final CommandTemplate template;
+        // Parse results for commands without placeholders, tied to the dispatcher they were parsed with
+        private volatile PreparedCommand prepared;
+
         public CommandEntry(String command, boolean hidden) {
             this.command = command;
             this.hidden = hidden;
+            this.template = CommandTemplate.compile(command);
         }
-        
+
+        /**
+         * Parses the command once if it has no placeholders
+         * @param dispatcher The server's command dispatcher
+         * @param source The source the parsed command runs as
+         * @return null if the command parsed or has placeholders, otherwise the parse error
+         */
+        String prepare(CommandDispatcher<CommandSourceStack> dispatcher, CommandSourceStack source) {
+            prepared = null;
+            if (!template.isConstant()) {
+                return null;
+            }
+            String line = command.startsWith("/") ? command.substring(1) : command;
+            ParseResults<CommandSourceStack> parse = dispatcher.parse(line, source);
+            CommandSyntaxException error = Commands.getParseException(parse);
+            if (error != null) {
+                // Still run through the normal path at grant time, which reports the error there too
+                return "command '" + command + "' does not parse: " + error.getMessage();
+            }
+            prepared = new PreparedCommand(dispatcher, parse);
+            return null;
+        }
+
+        /**
+         * @param dispatcher The server's current command dispatcher
+         * @return The parse results, or null if the command has to be parsed at grant time
+         */
+        ParseResults<CommandSourceStack> getParsed(CommandDispatcher<CommandSourceStack> dispatcher) {
+            PreparedCommand current = prepared;
+            // A datapack reload replaces the dispatcher, results parsed against the old one are stale
+            return current != null && current.dispatcher == dispatcher ? current.parse : null;
+        }
+
+        public CommandTemplate getTemplate() {
+            return template;
+        }
+
         public String getCommand() {
             return command;
         }
@@ -201,4 +409,46 @@ public class Reward {
             return new CommandEntry(command, hidden);
         }
     }
+
+    private static final class PreparedCommand {
+        private final CommandDispatcher<CommandSourceStack> dispatcher;
+        private final ParseResults<CommandSourceStack> parse;
+
+        private PreparedCommand(CommandDispatcher<CommandSourceStack> dispatcher, ParseResults<CommandSourceStack> parse) {
+            this.dispatcher = dispatcher;
+            this.parse = parse;
+        }
+    }
+
+    /**
+     * The outcome of granting a single reward
+     */
+    public static class GrantResult {
+        private final boolean success;
+        private final String message;
+
+        private GrantResult(boolean success, String message) {
+            this.success = success;
+            this.message = message;
+        }
+
+        public static GrantResult success(String message) {
+            return new GrantResult(true, message);
+        }
+
+        public static GrantResult failure(String message) {
+            return new GrantResult(false, message);
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        /**
+         * @return What was given on success, or why the reward was not given
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
 }
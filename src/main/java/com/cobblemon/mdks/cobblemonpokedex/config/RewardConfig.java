@@ -6,14 +6,18 @@ import java.util.List;
 import java.util.Map;
 
 import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.progress.DexProgress;
+import com.cobblemon.mdks.cobblemonpokedex.ui.RewardTierTemplates;
 import com.cobblemon.mdks.cobblemonpokedex.util.Utils;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
+import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
@@ -22,34 +26,138 @@ public class RewardConfig {
     private static final String CONFIG_PATH = "config/simpledexrewards";
     private static final String CONFIG_FILE = "rewardconfig.json";
     
+    private static final String DEFAULT_CONGRATULATORY_MESSAGE = "[SimpleDexRewards] §a§lCongratulations! §aYou received your reward for reaching §e{tier}%§a completion!";
+    private static final String DEFAULT_SHINY_CONGRATULATORY_MESSAGE = "[SimpleDexRewards] §a§lCongratulations! §aYou received your reward for reaching §e{tier}%§a shiny completion!";
+    private static final String DEFAULT_LIVING_DEX_CONGRATULATORY_MESSAGE = "[SimpleDexRewards] §a§lCongratulations! §aYou received your reward for reaching §e{tier}%§a living dex completion!";
+    
+    // The hardcoded progress trackers, shared by every config
+    private static final RewardTier COMPLETION_PROGRESS = progressDisplay("completion", "Caught: {caught}/{total} ({percent}%)", "minecraft:experience_bottle");
+    private static final RewardTier SHINY_PROGRESS = progressDisplay("shiny_completion", "Shinies: {caught}/{total} ({percent}%)", "minecraft:nether_star");
+    private static final RewardTier LIVING_DEX_PROGRESS = progressDisplay("living_dex_completion", "Owned: {caught}/{total} ({percent}%)", "minecraft:chest");
+    
     private List<Integer> completionTiers;
     private Map<String, RewardTier> rewards;
+    private List<Integer> shinyTiers;
+    private Map<String, RewardTier> shinyRewards;
+    private List<Integer> livingDexTiers;
+    private Map<String, RewardTier> livingDexRewards;
     private boolean enablePermissionNodes;
     private String congratulatoryMessageTemplate;
+    private String shinyCongratulatoryMessageTemplate;
+    private String livingDexCongratulatoryMessageTemplate;
+    private int compileErrors;
+    private RewardSnapshot snapshot = RewardSnapshot.EMPTY;
     
     public RewardConfig() {
+        this(true);
+    }
+
+    private RewardConfig(boolean load) {
         this.rewards = new HashMap<>();
-        Utils.checkForDirectory("/" + CONFIG_PATH);
-        CobblemonPokedex.LOGGER.info("Loading reward configuration...");
-        load();
+        this.shinyRewards = new HashMap<>();
+        this.shinyTiers = List.of();
+        this.livingDexRewards = new HashMap<>();
+        this.livingDexTiers = List.of();
+        if (load) {
+            Utils.checkForDirectory("/" + CONFIG_PATH);
+            CobblemonPokedex.LOGGER.info("Loading reward configuration...");
+            load();
+        }
     }
-    
-    public void load() {
+
+    /**
+     * Reads and compiles rewardconfig.json into a new instance without publishing
+     * its tiers, so a reload can do the work off the server thread and swap the
+     * result in with {@link #publish()}. Unlike {@link #load()} a broken file is
+     * reported instead of being replaced with defaults.
+     * @param server The running server for compiling rewards, or null to skip compiling
+     * @return The parsed config
+     * @throws IllegalArgumentException If the file is missing or not valid JSON
+     */
+    public static RewardConfig read(MinecraftServer server) {
         String content = Utils.readFileSync(CONFIG_PATH, CONFIG_FILE);
         if (content == null || content.isEmpty()) {
-            setDefaults();
-            save();
-            return;
+            throw new IllegalArgumentException(CONFIG_FILE + " is missing or empty");
         }
 
+        RewardConfig config = new RewardConfig(false);
         try {
-            JsonObject json = JsonParser.parseString(content).getAsJsonObject();
-            loadFromJson(json);
+            config.loadFromJson(JsonParser.parseString(content).getAsJsonObject());
         } catch (Exception e) {
-            CobblemonPokedex.LOGGER.error("Failed to load reward config", e);
+            throw new IllegalArgumentException("Invalid " + CONFIG_FILE + ": " + e.getMessage(), e);
+        }
+        config.snapshot = RewardSnapshot.compile(config);
+        if (server != null) {
+            config.compileRewards(server);
+        }
+        return config;
+    }
+    
+    public void load() {
+        String content = Utils.readFileSync(CONFIG_PATH, CONFIG_FILE);
+        if (content == null || content.isEmpty()) {
             setDefaults();
             save();
+        } else {
+            try {
+                JsonObject json = JsonParser.parseString(content).getAsJsonObject();
+                loadFromJson(json);
+            } catch (Exception e) {
+                CobblemonPokedex.LOGGER.error("Failed to load reward config", e);
+                setDefaults();
+                save();
+            }
         }
+
+        this.snapshot = RewardSnapshot.compile(this);
+        publish();
+
+        // Registries only exist once the server is up, the initial load is compiled on SERVER_STARTED
+        if (CobblemonPokedex.server != null) {
+            compileRewards(CobblemonPokedex.server);
+        }
+    }
+
+    /**
+     * Compiles every reward (see {@link Reward#compile}) and checks display
+     * items, logging each invalid entry once instead of failing at claim time
+     * @param server The running server
+     * @return The number of invalid entries found
+     */
+    public int compileRewards(MinecraftServer server) {
+        int errors = compileRewards(server, rewards, "tier ");
+        errors += compileRewards(server, shinyRewards, "shiny tier ");
+        errors += compileRewards(server, livingDexRewards, "living dex tier ");
+        if (errors > 0) {
+            CobblemonPokedex.LOGGER.warn("Reward config has " + errors + " invalid entries, see errors above");
+        }
+        this.compileErrors = errors;
+        return errors;
+    }
+
+    private static int compileRewards(MinecraftServer server, Map<String, RewardTier> tiers, String label) {
+        int errors = 0;
+        for (Map.Entry<String, RewardTier> entry : tiers.entrySet()) {
+            RewardTier tier = entry.getValue();
+            List<Reward> tierRewards = tier.getRewards();
+            for (int i = 0; i < tierRewards.size(); i++) {
+                String error = tierRewards.get(i).compile(server);
+                if (error != null) {
+                    CobblemonPokedex.LOGGER.error("Invalid reward " + (i + 1) + " in " + label + entry.getKey() + ": " + error);
+                    errors++;
+                }
+            }
+            if (tier.getDisplay() != null && tier.getDisplay().getItem() != null && !isKnownItem(tier.getDisplay().getItem())) {
+                CobblemonPokedex.LOGGER.error("Invalid display item in " + label + entry.getKey() + ": " + tier.getDisplay().getItem());
+                errors++;
+            }
+        }
+        return errors;
+    }
+
+    private static boolean isKnownItem(String itemId) {
+        ResourceLocation location = ResourceLocation.tryParse(itemId);
+        return location != null && BuiltInRegistries.ITEM.containsKey(location);
     }
     
     private void loadFromJson(JsonObject json) {
@@ -67,17 +175,36 @@ public class RewardConfig {
         // Load congratulatory message template
         this.congratulatoryMessageTemplate = json.has("congratulatoryMessageTemplate") 
             ? json.get("congratulatoryMessageTemplate").getAsString() 
-            : "[SimpleDexRewards] §a§lCongratulations! §aYou received your reward for reaching §e{tier}%§a completion!";
+            : DEFAULT_CONGRATULATORY_MESSAGE;
         
         // Load rewards
-        this.rewards.clear();
-        if (json.has("rewards")) {
-            JsonObject rewardsJson = json.getAsJsonObject("rewards");
+        loadRewards(json, "rewards", rewards);
+        
+        // Shiny track, absent from configs written before it existed
+        this.shinyTiers = json.has("shinyTiers")
+            ? json.get("shinyTiers").getAsJsonArray().asList().stream().map(JsonElement::getAsInt).toList()
+            : List.of();
+        this.shinyCongratulatoryMessageTemplate = json.has("shinyCongratulatoryMessageTemplate")
+            ? json.get("shinyCongratulatoryMessageTemplate").getAsString()
+            : DEFAULT_SHINY_CONGRATULATORY_MESSAGE;
+        loadRewards(json, "shinyRewards", shinyRewards);
+
+        // Living dex track, likewise optional
+        this.livingDexTiers = json.has("livingDexTiers")
+            ? json.get("livingDexTiers").getAsJsonArray().asList().stream().map(JsonElement::getAsInt).toList()
+            : List.of();
+        this.livingDexCongratulatoryMessageTemplate = json.has("livingDexCongratulatoryMessageTemplate")
+            ? json.get("livingDexCongratulatoryMessageTemplate").getAsString()
+            : DEFAULT_LIVING_DEX_CONGRATULATORY_MESSAGE;
+        loadRewards(json, "livingDexRewards", livingDexRewards);
+    }
+    
+    private static void loadRewards(JsonObject json, String key, Map<String, RewardTier> tiers) {
+        tiers.clear();
+        if (json.has(key)) {
+            JsonObject rewardsJson = json.getAsJsonObject(key);
             for (Map.Entry<String, JsonElement> entry : rewardsJson.entrySet()) {
-                String key = entry.getKey();
-                JsonObject rewardJson = entry.getValue().getAsJsonObject();
-                RewardTier reward = new RewardTier(rewardJson);
-                rewards.put(key, reward);
+                tiers.put(entry.getKey(), new RewardTier(entry.getValue().getAsJsonObject()));
             }
         }
     }
@@ -86,7 +213,7 @@ public class RewardConfig {
         this.enablePermissionNodes = true;
         this.completionTiers = List.of(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
         rewards.clear();
-        this.congratulatoryMessageTemplate = "[SimpleDexRewards] §a§lCongratulations! §aYou received your reward for reaching §e{tier}%§a completion!";
+        this.congratulatoryMessageTemplate = DEFAULT_CONGRATULATORY_MESSAGE;
 
         setupDefaultReward(10, 1, 2, new Reward[]{
             createItemReward("minecraft:diamond", 3),
@@ -147,6 +274,75 @@ public class RewardConfig {
             createPokemonReward("Rayquaza", true, 50),
             createCommandReward("give @p minecraft:totem_of_undying 1", "minecraft:paper", "Totem of Undying")
         }, "cobblemon:master_ball");
+
+        this.shinyTiers = List.of(1, 5, 10, 25, 50, 100);
+        shinyRewards.clear();
+        this.shinyCongratulatoryMessageTemplate = DEFAULT_SHINY_CONGRATULATORY_MESSAGE;
+
+        setupDefaultShinyReward(1, 2, 2, new Reward[]{
+            createItemReward("cobblemon:ultra_ball", 5)
+        }, "minecraft:glowstone_dust");
+
+        setupDefaultShinyReward(5, 2, 4, new Reward[]{
+            createItemReward("minecraft:diamond", 8),
+            createPokemonReward("Ditto", true, 10)
+        }, "minecraft:amethyst_shard");
+
+        setupDefaultShinyReward(10, 2, 6, new Reward[]{
+            createItemReward("cobblemon:master_ball", 1)
+        }, "minecraft:gold_ingot");
+
+        setupDefaultShinyReward(25, 2, 8, new Reward[]{
+            createItemReward("minecraft:netherite_ingot", 1),
+            createPokemonReward("Dratini", true, 20)
+        }, "minecraft:diamond");
+
+        setupDefaultShinyReward(50, 4, 4, new Reward[]{
+            createItemReward("cobblemon:master_ball", 2),
+            createPokemonReward("Beldum", true, 30)
+        }, "minecraft:emerald");
+
+        setupDefaultShinyReward(100, 4, 6, new Reward[]{
+            createItemReward("minecraft:nether_star", 2),
+            createPokemonReward("Rayquaza", true, 70)
+        }, "minecraft:nether_star");
+
+        this.livingDexTiers = List.of(10, 25, 50, 75, 100);
+        livingDexRewards.clear();
+        this.livingDexCongratulatoryMessageTemplate = DEFAULT_LIVING_DEX_CONGRATULATORY_MESSAGE;
+
+        setupDefaultLivingDexReward(10, 2, 3, new Reward[]{
+            createItemReward("cobblemon:great_ball", 10)
+        }, "minecraft:chest");
+
+        setupDefaultLivingDexReward(25, 2, 5, new Reward[]{
+            createItemReward("minecraft:diamond", 5),
+            createItemReward("cobblemon:ultra_ball", 10)
+        }, "minecraft:barrel");
+
+        setupDefaultLivingDexReward(50, 2, 7, new Reward[]{
+            createItemReward("cobblemon:master_ball", 1),
+            createPokemonReward("Porygon", false, 25)
+        }, "minecraft:ender_chest");
+
+        setupDefaultLivingDexReward(75, 4, 4, new Reward[]{
+            createItemReward("minecraft:netherite_ingot", 2)
+        }, "minecraft:shulker_box");
+
+        setupDefaultLivingDexReward(100, 4, 6, new Reward[]{
+            createItemReward("cobblemon:master_ball", 3),
+            createPokemonReward("Mew", true, 50)
+        }, "minecraft:beacon");
+    }
+
+    /**
+     * Publishes the compiled tiers (see {@link RewardSnapshot}) for claims and
+     * claimed reward lookups, and drops UI templates compiled from the previous
+     * config. Called when this becomes the live config.
+     */
+    public void publish() {
+        RewardSnapshot.publish(snapshot);
+        RewardTierTemplates.invalidate();
     }
 
     private void setupDefaultReward(int tier, int row, int slot, Reward[] rewards, String displayItem) {
@@ -172,6 +368,36 @@ public class RewardConfig {
         this.rewards.put(String.valueOf(tier), rewardTier);
     }
 
+    private void setupDefaultShinyReward(int tier, int row, int slot, Reward[] rewards, String displayItem) {
+        RewardTier rewardTier = new RewardTier();
+        rewardTier.row = row;
+        rewardTier.slot = slot;
+        rewardTier.rewards = List.of(rewards);
+        rewardTier.display = new DisplayInfo("shiny_tier_" + tier, tier + "% Shiny Completion");
+        rewardTier.display.item = displayItem;
+        this.shinyRewards.put(String.valueOf(tier), rewardTier);
+    }
+
+    private void setupDefaultLivingDexReward(int tier, int row, int slot, Reward[] rewards, String displayItem) {
+        RewardTier rewardTier = new RewardTier();
+        rewardTier.row = row;
+        rewardTier.slot = slot;
+        rewardTier.rewards = List.of(rewards);
+        rewardTier.display = new DisplayInfo("living_dex_tier_" + tier, tier + "% Living Dex");
+        rewardTier.display.item = displayItem;
+        this.livingDexRewards.put(String.valueOf(tier), rewardTier);
+    }
+
+    private static RewardTier progressDisplay(String type, String format, String item) {
+        RewardTier progress = new RewardTier();
+        progress.row = 6;
+        progress.slot = 5;
+        progress.rewards = List.of();
+        progress.display = new DisplayInfo(type, format);
+        progress.display.item = item;
+        return progress;
+    }
+
     private Reward createItemReward(String itemId, int count) {
         JsonObject data = new JsonObject();
         data.addProperty("id", itemId);
@@ -192,6 +418,13 @@ public class RewardConfig {
     }
     
     public void save() {
+        Utils.writeFileSync(CONFIG_PATH, CONFIG_FILE, Utils.newGson().toJson(toJson()));
+    }
+    
+    /**
+     * @return The config as it is written to rewardconfig.json
+     */
+    public JsonObject toJson() {
         JsonObject json = new JsonObject();
         json.addProperty("enablePermissionNodes", enablePermissionNodes);
         
@@ -202,32 +435,121 @@ public class RewardConfig {
         // Save congratulatory message template
         json.addProperty("congratulatoryMessageTemplate", congratulatoryMessageTemplate);
         
+        json.add("rewards", rewardsToJson(rewards));
+        
+        // Save the shiny track
+        json.add("shinyTiers", Utils.newGson().toJsonTree(shinyTiers).getAsJsonArray());
+        json.addProperty("shinyCongratulatoryMessageTemplate", shinyCongratulatoryMessageTemplate);
+        json.add("shinyRewards", rewardsToJson(shinyRewards));
+        
+        // Save the living dex track
+        json.add("livingDexTiers", Utils.newGson().toJsonTree(livingDexTiers).getAsJsonArray());
+        json.addProperty("livingDexCongratulatoryMessageTemplate", livingDexCongratulatoryMessageTemplate);
+        json.add("livingDexRewards", rewardsToJson(livingDexRewards));
+        return json;
+    }
+    
+    private static JsonObject rewardsToJson(Map<String, RewardTier> tiers) {
         JsonObject rewardsJson = new JsonObject();
-        for (Map.Entry<String, RewardTier> entry : rewards.entrySet()) {
+        for (Map.Entry<String, RewardTier> entry : tiers.entrySet()) {
             rewardsJson.add(entry.getKey(), entry.getValue().toJson());
         }
-        json.add("rewards", rewardsJson);
-        
-        Utils.writeFileSync(CONFIG_PATH, CONFIG_FILE, Utils.newGson().toJson(json));
+        return rewardsJson;
     }
     
-    public RewardTier getReward(String tier) {
-        if ("completion".equals(tier)) {
-            // Return hardcoded completion tracker
-            RewardTier completion = new RewardTier();
-            completion.row = 6;
-            completion.slot = 5;
-            completion.display = new DisplayInfo("completion", "Caught: {caught}/{total} ({percent}%)");
-            completion.display.item = "minecraft:experience_bottle";
-            return completion;
+    /**
+     * @param track The reward track
+     * @return The hardcoded progress tracker shown on the track's page
+     */
+    public RewardTier getProgressDisplay(RewardTrack track) {
+        switch (track) {
+            case SHINY: return SHINY_PROGRESS;
+            case LIVING_DEX: return LIVING_DEX_PROGRESS;
+            default: return COMPLETION_PROGRESS;
         }
-        return rewards.get(tier);
     }
     
+    /**
+     * @param track The reward track
+     * @param tier The tier of the track
+     * @return The rewards of the tier, or null if the track has no such tier
+     */
+    public RewardTier getRewardTier(RewardTrack track, int tier) {
+        return snapshot.track(track).getReward(tier);
+    }
+
+    /**
+     * @param track The reward track
+     * @return The tiers of the track in ascending order, without duplicates
+     */
+    public List<Integer> getTiers(RewardTrack track) {
+        return snapshot.track(track).getTiers();
+    }
+
+    /**
+     * @return The tiers of every track compiled for lookups
+     */
+    public RewardSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    List<Integer> getConfiguredTiers(RewardTrack track) {
+        switch (track) {
+            case COMPLETION: return completionTiers;
+            case SHINY: return shinyTiers;
+            case LIVING_DEX: return livingDexTiers;
+            default: return List.of();
+        }
+    }
+
+    Map<String, RewardTier> getConfiguredRewards(RewardTrack track) {
+        switch (track) {
+            case COMPLETION: return rewards;
+            case SHINY: return shinyRewards;
+            case LIVING_DEX: return livingDexRewards;
+            default: return Map.of();
+        }
+    }
+
+    /**
+     * @param track The reward track
+     * @param tier The tier that was claimed
+     * @return The message shown after claiming the tier
+     */
+    public String getCongratulatoryMessage(RewardTrack track, int tier) {
+        String template;
+        switch (track) {
+            case SHINY: template = shinyCongratulatoryMessageTemplate; break;
+            case LIVING_DEX: template = livingDexCongratulatoryMessageTemplate; break;
+            default: template = congratulatoryMessageTemplate; break;
+        }
+        return template.replace("{tier}", String.valueOf(tier));
+    }
+
     public List<Integer> getCompletionTiers() {
         return completionTiers;
     }
+
+    public List<Integer> getShinyTiers() {
+        return shinyTiers;
+    }
+
+    public List<Integer> getLivingDexTiers() {
+        return livingDexTiers;
+    }
+
+    public TierIndex getCompletionTierIndex() {
+        return snapshot.track(RewardTrack.COMPLETION).getIndex();
+    }
     
+    /**
+     * @return The number of invalid entries found when the rewards were last
+     *     compiled, including tiers left off their page
+     */
+    public int getCompileErrors() {
+        return compileErrors + snapshot.getLayoutErrors();
+    }
+
     public boolean isEnablePermissionNodes() {
         return enablePermissionNodes;
     }
@@ -293,10 +615,43 @@ public class RewardConfig {
             return json;
         }
         
-        public void grant(ServerPlayer player) {
+        /**
+         * Gives every reward of the tier as one batch sharing a command source,
+         * continuing past rewards that fail
+         * @param player The player receiving the rewards
+         * @param tier The tier being granted, for the %tier% placeholder
+         * @return The result of each reward, in order
+         */
+        public List<Reward.GrantResult> grant(ServerPlayer player, int tier) {
+            RewardContext context = contextFor(player, tier);
+            CommandSourceStack source = player.getServer().createCommandSourceStack();
+
+            List<Reward.GrantResult> results = new ArrayList<>(rewards.size());
             for (Reward reward : rewards) {
-                reward.grant(player);
+                results.add(reward.grant(player, context, source));
             }
+            return results;
+        }
+
+        /**
+         * @param player The player being rewarded
+         * @param tier The tier being granted
+         * @return The placeholder values for the player's current progress
+         */
+        public static RewardContext contextFor(ServerPlayer player, int tier) {
+            return contextFor(player, RewardTrack.COMPLETION, tier);
+        }
+
+        /**
+         * @param player The player being rewarded
+         * @param track The track of the tier, whose progress fills the placeholders
+         * @param tier The tier being granted
+         * @return The placeholder values for the player's current progress on the track
+         */
+        public static RewardContext contextFor(ServerPlayer player, RewardTrack track, int tier) {
+            DexProgress progress = CobblemonPokedex.dexProgressCache.get(player, track);
+            return new RewardContext(player.getName().getString(), player.getUUID(), tier,
+                progress.getCaught(), progress.getTotal(), progress.getPercent());
         }
 
         public ItemStack getDisplayItem() {
@@ -305,13 +660,12 @@ public class RewardConfig {
                 return new ItemStack(Items.PAPER);
             }
 
-            ResourceLocation itemId = ResourceLocation.tryParse(display.getItem());
-            if (itemId == null || !BuiltInRegistries.ITEM.containsKey(itemId)) {
+            if (!isKnownItem(display.getItem())) {
                 CobblemonPokedex.LOGGER.error("Invalid item ID: " + display.getItem());
                 return new ItemStack(Items.PAPER);
             }
 
-            ItemStack stack = new ItemStack(BuiltInRegistries.ITEM.get(itemId));
+            ItemStack stack = new ItemStack(BuiltInRegistries.ITEM.get(ResourceLocation.parse(display.getItem())));
             return stack;
         }
 
@@ -0,0 +1,32 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+import java.util.UUID;
+
+/**
+ * What is known about a player at the moment a reward tier is granted,
+ * used to fill command placeholders
+ */
+public final class RewardContext {
+    private final String playerName;
+    private final UUID playerUuid;
+    private final int tier;
+    private final int caught;
+    private final int total;
+    private final double percent;
+
+    public RewardContext(String playerName, UUID playerUuid, int tier, int caught, int total, double percent) {
+        this.playerName = playerName;
+        this.playerUuid = playerUuid;
+        this.tier = tier;
+        this.caught = caught;
+        this.total = total;
+        this.percent = percent;
+    }
+
+    public String getPlayerName() { return playerName; }
+    public UUID getPlayerUuid() { return playerUuid; }
+    public int getTier() { return tier; }
+    public int getCaught() { return caught; }
+    public int getTotal() { return total; }
+    public double getPercent() { return percent; }
+}
@@ -0,0 +1,239 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardConfig.RewardTier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The reward tiers of a {@link RewardConfig}, compiled once per load into
+ * lookup tables: each track's tiers are sorted into a {@link TierIndex} and its
+ * rewards stored by tier ordinal, so claims and the reward UI never go through
+ * string keys. Grid positions are checked while compiling, so the UI can place
+ * every tier that is on the page without looking for collisions, and tiers past
+ * {@link TierIndex#MAX_INDEXED_TIERS} are reported rather than dropped silently.
+ *
+ * Immutable once built. The live snapshot is swapped in as a whole with
+ * {@link #publish}, together with the tier indexes of every track.
+ */
+public final class RewardSnapshot {
+    private static final int ROWS = 6;
+    private static final int COLUMNS = 9;
+    // Percentages and small counts get a direct tier to ordinal table, anything larger a binary search
+    private static final int MAX_DENSE_TIER = 1024;
+
+    public static final RewardSnapshot EMPTY = new RewardSnapshot(emptyTracks(), 0);
+
+    private static volatile RewardSnapshot current = EMPTY;
+
+    private final Track[] tracks;
+    private final int layoutErrors;
+
+    private RewardSnapshot(Track[] tracks, int layoutErrors) {
+        this.tracks = tracks;
+        this.layoutErrors = layoutErrors;
+    }
+
+    /**
+     * @return The snapshot of the live reward config
+     */
+    public static RewardSnapshot current() {
+        return current;
+    }
+
+    /**
+     * Makes a snapshot live, along with its tier indexes for claimed reward lookups
+     * @param snapshot The snapshot of the config being made live
+     */
+    public static void publish(RewardSnapshot snapshot) {
+        TierIndex[] indexes = new TierIndex[snapshot.tracks.length];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = snapshot.tracks[i].index;
+        }
+        TierIndex.publishAll(indexes);
+        current = snapshot;
+    }
+
+    /**
+     * Compiles the tiers of every track, logging each tier that cannot be placed
+     * on its page or is past the tier limit
+     * @param config The loaded config
+     * @return The snapshot
+     */
+    static RewardSnapshot compile(RewardConfig config) {
+        RewardTrack[] values = RewardTrack.values();
+        Track[] tracks = new Track[values.length];
+        int errors = 0;
+        for (RewardTrack track : values) {
+            Track compiled = Track.compile(track, config.getConfiguredTiers(track),
+                config.getConfiguredRewards(track), config.getProgressDisplay(track));
+            tracks[track.ordinal()] = compiled;
+            errors += compiled.layoutErrors;
+        }
+        return new RewardSnapshot(tracks, errors);
+    }
+
+    /**
+     * @param track A reward track
+     * @return The compiled tiers of the track
+     */
+    public Track track(RewardTrack track) {
+        return tracks[track.ordinal()];
+    }
+
+    /**
+     * @return The number of tiers left off their page for an invalid or taken position,
+     *         or ignored for being past the tier limit
+     */
+    public int getLayoutErrors() {
+        return layoutErrors;
+    }
+
+    private static Track[] emptyTracks() {
+        Track[] tracks = new Track[RewardTrack.values().length];
+        for (RewardTrack track : RewardTrack.values()) {
+            tracks[track.ordinal()] = new Track(TierIndex.EMPTY, new RewardTier[0], new boolean[0], null, null, 0);
+        }
+        return tracks;
+    }
+
+    /**
+     * The compiled tiers of one reward track
+     */
+    public static final class Track {
+        private final TierIndex index;
+        private final RewardTier[] rewards;
+        private final boolean[] onPage;
+        private final int[] ordinalByTier;
+        private final RewardTier progressDisplay;
+        private final List<Integer> tiers;
+        private final int layoutErrors;
+
+        private Track(TierIndex index, RewardTier[] rewards, boolean[] onPage, int[] ordinalByTier,
+                      RewardTier progressDisplay, int layoutErrors) {
+            this.index = index;
+            this.rewards = rewards;
+            this.onPage = onPage;
+            this.ordinalByTier = ordinalByTier;
+            this.progressDisplay = progressDisplay;
+            this.layoutErrors = layoutErrors;
+
+            List<Integer> tiers = new ArrayList<>(index.size());
+            for (int i = 0; i < index.size(); i++) {
+                tiers.add(index.tierAt(i));
+            }
+            this.tiers = Collections.unmodifiableList(tiers);
+        }
+
+        private static Track compile(RewardTrack track, List<Integer> configured, Map<String, RewardTier> configuredRewards,
+                                     RewardTier progressDisplay) {
+            TierIndex index = TierIndex.of(configured);
+            int errors = 0;
+            int ignored = configured != null ? (int) configured.stream().distinct().count() - index.size() : 0;
+            if (ignored > 0) {
+                CobblemonPokedex.LOGGER.error("Too many " + trackName(track) + "tiers: only the lowest "
+                    + TierIndex.MAX_INDEXED_TIERS + " are used, " + ignored + " above tier " + index.maxTier() + " are ignored");
+                errors += ignored;
+            }
+            RewardTier[] rewards = new RewardTier[index.size()];
+            for (int i = 0; i < rewards.length; i++) {
+                rewards[i] = configuredRewards.get(String.valueOf(index.tierAt(i)));
+            }
+
+            int[] ordinalByTier = null;
+            if (index.size() > 0 && index.tierAt(0) >= 0 && index.maxTier() <= MAX_DENSE_TIER) {
+                ordinalByTier = new int[index.maxTier() + 1];
+                Arrays.fill(ordinalByTier, -1);
+                for (int i = 0; i < index.size(); i++) {
+                    ordinalByTier[index.tierAt(i)] = i;
+                }
+            }
+
+            // The progress tracker is placed first, lower tiers win a contested slot
+            String[] occupant = new String[ROWS * COLUMNS];
+            if (progressDisplay != null) {
+                occupant[position(progressDisplay)] = "the progress tracker";
+            }
+            boolean[] onPage = new boolean[rewards.length];
+            for (int i = 0; i < rewards.length; i++) {
+                RewardTier reward = rewards[i];
+                if (reward == null) continue; // Logged when the page is built, still counts as no reward on claim
+                String label = trackName(track) + "tier " + index.tierAt(i);
+                if (reward.getRow() < 1 || reward.getRow() > ROWS || reward.getSlot() < 1 || reward.getSlot() > COLUMNS) {
+                    CobblemonPokedex.LOGGER.error("Invalid position in " + label + ": row " + reward.getRow()
+                        + ", slot " + reward.getSlot() + " is outside the " + ROWS + "x" + COLUMNS + " page");
+                    errors++;
+                    continue;
+                }
+                int position = position(reward);
+                if (occupant[position] != null) {
+                    CobblemonPokedex.LOGGER.error("Invalid position in " + label + ": row " + reward.getRow()
+                        + ", slot " + reward.getSlot() + " is already taken by " + occupant[position]);
+                    errors++;
+                    continue;
+                }
+                occupant[position] = label;
+                onPage[i] = true;
+            }
+            return new Track(index, rewards, onPage, ordinalByTier, progressDisplay, errors);
+        }
+
+        private static int position(RewardTier reward) {
+            return (reward.getRow() - 1) * COLUMNS + (reward.getSlot() - 1);
+        }
+
+        private static String trackName(RewardTrack track) {
+            switch (track) {
+                case SHINY: return "shiny ";
+                case LIVING_DEX: return "living dex ";
+                default: return "";
+            }
+        }
+
+        /**
+         * @param tier A tier value
+         * @return The position of the tier in {@link #getIndex()}, or -1 if it is not configured
+         */
+        public int ordinalOf(int tier) {
+            if (ordinalByTier == null) {
+                return index.ordinalOf(tier);
+            }
+            return tier >= 0 && tier < ordinalByTier.length ? ordinalByTier[tier] : -1;
+        }
+
+        /**
+         * @param tier A tier value
+         * @return The rewards of the tier, or null if the track has no such tier
+         */
+        public RewardTier getReward(int tier) {
+            int ordinal = ordinalOf(tier);
+            return ordinal >= 0 ? rewards[ordinal] : null;
+        }
+
+        /**
+         * @param ordinal A position in {@link #getIndex()}
+         * @return The rewards of the tier at that position, or null if none are configured
+         */
+        public RewardTier getRewardAt(int ordinal) {
+            return rewards[ordinal];
+        }
+
+        /**
+         * @param ordinal A position in {@link #getIndex()}
+         * @return Whether the tier has a free, valid position on the track's page
+         */
+        public boolean isOnPage(int ordinal) {
+            return onPage[ordinal];
+        }
+
+        public TierIndex getIndex() { return index; }
+        /** @return The tiers in ascending order, the list position being the tier ordinal */
+        public List<Integer> getTiers() { return tiers; }
+        public RewardTier getProgressDisplay() { return progressDisplay; }
+        public int size() { return rewards.length; }
+    }
+}
@@ -0,0 +1,15 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+public enum RewardTrack {
+    COMPLETION,       // Pokedex completion percentage tiers
+    SHINY,            // Shiny Pokedex completion tiers
+    LIVING_DEX;       // Living dex completion tiers
+
+    public static RewardTrack fromString(String track) {
+        try {
+            return valueOf(track.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return COMPLETION;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+import com.cobblemon.mdks.cobblemonpokedex.util.SpeciesIds;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A set of species stored as a bitset over {@link SpeciesIds}.
+ * A full living dex of ~1000 species takes 128 bytes instead of ~1000 strings.
+ */
+public final class SpeciesSet {
+    private final BitSet bits;
+    private final Set<String> view = new View();
+
+    public SpeciesSet() {
+        this.bits = new BitSet();
+    }
+
+    private SpeciesSet(BitSet bits) {
+        this.bits = bits;
+    }
+
+    public SpeciesSet copy() {
+        return new SpeciesSet((BitSet) bits.clone());
+    }
+
+    /**
+     * @return true if the species was not in the set yet
+     */
+    public boolean add(String species) {
+        int id = SpeciesIds.intern(species);
+        if (bits.get(id)) return false;
+        bits.set(id);
+        return true;
+    }
+
+    /**
+     * @return true if the species was in the set
+     */
+    public boolean remove(String species) {
+        int id = SpeciesIds.idOf(species);
+        if (id < 0 || !bits.get(id)) return false;
+        bits.clear(id);
+        return true;
+    }
+
+    public boolean contains(String species) {
+        int id = SpeciesIds.idOf(species);
+        return id >= 0 && bits.get(id);
+    }
+
+    public void replaceWith(Set<String> species) {
+        bits.clear();
+        for (String name : species) {
+            bits.set(SpeciesIds.intern(name));
+        }
+    }
+
+    public int size() {
+        return bits.cardinality();
+    }
+
+    /**
+     * @return A read-only view backed by this set, no copy is made
+     */
+    public Set<String> asSet() {
+        return view;
+    }
+
+    private final class View extends AbstractSet<String> {
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String species && SpeciesSet.this.contains(species);
+        }
+
+        @Override
+        public int size() {
+            return bits.cardinality();
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<>() {
+                private int next = bits.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public String next() {
+                    if (next < 0) throw new NoSuchElementException();
+                    String species = SpeciesIds.nameOf(next);
+                    next = bits.nextSetBit(next + 1);
+                    return species;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable, sorted set of the configured tiers of one reward track.
+ * A tier's position in the index is its bit in {@link ClaimedTiers} masks.
+ * Only the lowest {@link #MAX_INDEXED_TIERS} tiers get a bit; the reward UI has
+ * 54 slots, so real configs stay well below that. {@link RewardSnapshot} reports
+ * any tiers past the limit when the config is loaded.
+ */
+public final class TierIndex {
+    public static final int MAX_INDEXED_TIERS = 64;
+    public static final TierIndex EMPTY = new TierIndex(new int[0]);
+
+    // Replaced as a whole, never written to, so every track is read from the same reload
+    private static volatile TierIndex[] current = emptyIndexes();
+
+    private final int[] tiers;
+
+    private TierIndex(int[] tiers) {
+        this.tiers = tiers;
+    }
+
+    /**
+     * Builds an index from configured tiers, dropping duplicates and every tier
+     * past the lowest {@link #MAX_INDEXED_TIERS}
+     * @param tiers The tiers in any order
+     * @return The index
+     */
+    public static TierIndex of(Collection<Integer> tiers) {
+        if (tiers == null || tiers.isEmpty()) return EMPTY;
+        int[] sorted = tiers.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+        return new TierIndex(Arrays.copyOf(sorted, Math.min(sorted.length, MAX_INDEXED_TIERS)));
+    }
+
+    /**
+     * @param track A reward track
+     * @return The index of the tiers currently configured for the track
+     */
+    public static TierIndex current(RewardTrack track) {
+        return current[track.ordinal()];
+    }
+
+    /**
+     * Makes an index the current one for a track. Claimed tiers built against an
+     * older index are remapped the next time they are queried.
+     * @param track The reward track
+     * @param index The new index
+     */
+    public static synchronized void publish(RewardTrack track, TierIndex index) {
+        TierIndex[] indexes = current.clone();
+        indexes[track.ordinal()] = index;
+        current = indexes;
+    }
+
+    /**
+     * Makes the indexes of every track current at once
+     * @param indexes The new index of each track, by track ordinal
+     */
+    public static synchronized void publishAll(TierIndex[] indexes) {
+        if (indexes.length != RewardTrack.values().length) {
+            throw new IllegalArgumentException("Expected an index for each of the " + RewardTrack.values().length + " tracks");
+        }
+        current = indexes.clone();
+    }
+
+    private static TierIndex[] emptyIndexes() {
+        TierIndex[] indexes = new TierIndex[RewardTrack.values().length];
+        Arrays.fill(indexes, EMPTY);
+        return indexes;
+    }
+
+    /**
+     * @param tier A tier value
+     * @return The position of the tier, or -1 if it is not configured
+     */
+    public int ordinalOf(int tier) {
+        int position = Arrays.binarySearch(tiers, tier);
+        return position >= 0 ? position : -1;
+    }
+
+    /**
+     * @param ordinal A position in the index
+     * @return The tier value at that position
+     */
+    public int tierAt(int ordinal) {
+        return tiers[ordinal];
+    }
+
+    public int size() {
+        return tiers.length;
+    }
+
+    /**
+     * @return The highest tier, or 0 if there are none
+     */
+    public int maxTier() {
+        return tiers.length == 0 ? 0 : tiers[tiers.length - 1];
+    }
+
+    /**
+     * Binary search for the number of tiers a progress value reaches
+     * @param progress The completion percentage (or count) of the track
+     * @return The number of tiers at or below the progress, so the tiers reached
+     *     are the ordinals below it
+     */
+    public int countReached(double progress) {
+        int low = 0;
+        int high = tiers.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tiers[mid] <= progress) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Allocation-free: a progress value reaches every tier up to the first larger one
+     * @param progress The completion percentage (or count) of the track
+     * @return A mask with the bit of every tier at or below the progress set
+     */
+    public long reachedMask(double progress) {
+        int reached = countReached(progress);
+        return reached == 64 ? -1L : (1L << reached) - 1;
+    }
+}
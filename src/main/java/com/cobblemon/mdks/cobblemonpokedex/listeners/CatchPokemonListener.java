@@ -5,19 +5,27 @@ import org.slf4j.LoggerFactory;
 
 import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
 import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig;
-import com.cobblemon.mod.common.Cobblemon;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardTrack;
+import com.cobblemon.mdks.cobblemonpokedex.progress.CaptureBatcher;
+import com.cobblemon.mdks.cobblemonpokedex.progress.DexProgress;
+import com.cobblemon.mdks.cobblemonpokedex.progress.DexProgressCache;
+import com.cobblemon.mdks.cobblemonpokedex.progress.MilestoneNotifier;
+import com.cobblemon.mdks.cobblemonpokedex.ui.RewardsView;
+import com.cobblemon.mdks.cobblemonpokedex.util.Trace;
+import com.cobblemon.mdks.cobblemonpokedex.util.TraceCategory;
 import com.cobblemon.mod.common.api.Priority;
 import com.cobblemon.mod.common.api.events.CobblemonEvents;
 import com.cobblemon.mod.common.api.events.pokemon.PokemonCapturedEvent;
-import com.cobblemon.mod.common.api.pokedex.CaughtCount;
+import com.cobblemon.mod.common.pokemon.Pokemon;
 
 import kotlin.Unit;
-import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 
 public class CatchPokemonListener {
     private static final Logger LOGGER = LoggerFactory.getLogger("cobblemonpokedex");
-    private static final String PREFIX = "§b[§dSimpleDexRewards§b]§r ";
+
+    private static final CaptureBatcher batcher = new CaptureBatcher();
 
     public static void register() {
         CobblemonEvents.POKEMON_CAPTURED.subscribe(Priority.NORMAL, CatchPokemonListener::handle);
@@ -25,44 +33,95 @@ public class CatchPokemonListener {
 
     private static Unit handle(PokemonCapturedEvent event) {
         if (event.getPlayer() instanceof ServerPlayer player) {
-            try {
-                // Get player's Pokedex data
-                var pokedex = Cobblemon.INSTANCE.getPlayerDataManager().getPokedexData(player);
-                
-                // Get number of unique species caught
-                int uniqueSpeciesCaught = pokedex.getDexCalculatedValue(
-                    ResourceLocation.tryParse("cobblemon:national"),
-                    CaughtCount.INSTANCE
-                );
-
-                // Update player data with unique species count
-                PlayerDataConfig.PlayerData playerData = CobblemonPokedex.playerDataConfig.getPlayerData(player.getUUID());
-                playerData.updateTotalCaught(uniqueSpeciesCaught);
-                
-                // Save player data
-                CobblemonPokedex.playerDataConfig.savePlayer(player.getUUID());
-                
-                // Calculate completion percentage based on total available Pokemon
-                double completionPercentage = (double) uniqueSpeciesCaught / CobblemonPokedex.pokedexConfig.getTotalPokemon() * 100;
-                
-                // Check if we've just reached a new tier
-                for (Integer tier : CobblemonPokedex.rewardConfig.getCompletionTiers()) {
-                    if (!playerData.hasClaimedReward(tier) && 
-                        completionPercentage >= tier && 
-                        playerData.getTotalCaught() < uniqueSpeciesCaught) { // Only if we've just increased our count
-                        player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
-                            PREFIX + "§a§lMilestone Reached! §aYou've achieved §e" + tier + "%§a Pokédex completion!\n" +
-                            PREFIX + "§7Use §f/dexrewards§7 to claim your special rewards!"
-                        ));
-                        // Don't break - show messages for all reached tiers
-                    }
+            // A shiny only sets one bit, so it is recorded right away
+            Pokemon pokemon = event.getPokemon();
+            if (pokemon.getShiny() && CobblemonPokedex.pokedexConfig.isEnableShinyTracking()) {
+                String species = pokemon.getSpecies().getResourceIdentifier().getPath();
+                if (CobblemonPokedex.playerDataConfig.getPlayerData(player.getUUID()).addShinySpecies(species)) {
+                    Trace.debug(TraceCategory.EVENTS, "New shiny species {} for {}", species, player.getGameProfile().getName());
                 }
-                
-                LOGGER.debug("Updated unique species count for " + player.getName().getString() + ": " + uniqueSpeciesCaught);
-            } catch (Exception e) {
-                LOGGER.error("Error handling Pokemon capture for player " + player.getName().getString(), e);
             }
+
+            // Processed with the player's other captures once the batch is due
+            batcher.add(player.getUUID());
         }
         return Unit.INSTANCE;
     }
+
+    /**
+     * Processes the capture batches that have waited long enough, called every server tick
+     * @param server The server
+     */
+    public static void tick(MinecraftServer server) {
+        for (CaptureBatcher.Batch batch : batcher.tick(CobblemonPokedex.pokedexConfig.getCaptureBatchMaxTicks())) {
+            ServerPlayer player = server.getPlayerList().getPlayer(batch.getPlayerId());
+            if (player != null) {
+                process(player, batch);
+            }
+        }
+    }
+
+    /**
+     * Processes a player's waiting captures right away, called before they leave
+     * @param player The player
+     */
+    public static void flush(ServerPlayer player) {
+        CaptureBatcher.Batch batch = batcher.take(player.getUUID());
+        if (batch != null) {
+            process(player, batch);
+        }
+    }
+
+    /**
+     * Processes every waiting capture of the players still online, called when the server stops
+     * @param server The server
+     */
+    public static void flushAll(MinecraftServer server) {
+        for (CaptureBatcher.Batch batch : batcher.takeAll()) {
+            ServerPlayer player = server.getPlayerList().getPlayer(batch.getPlayerId());
+            if (player != null) {
+                process(player, batch);
+            }
+        }
+        CobblemonPokedex.LOGGER.info("Capture batches drained: " + batcher.getStats());
+    }
+
+    /**
+     * @return Batch size metrics of the capture batcher
+     */
+    public static String getStats() {
+        return batcher.getStats();
+    }
+
+    private static void process(ServerPlayer player, CaptureBatcher.Batch batch) {
+        try {
+            // Count unique species caught once for the whole batch and refresh the cached progress with it
+            int uniqueSpeciesCaught = DexProgressCache.countCaught(player);
+            if (uniqueSpeciesCaught < 0) return;
+            DexProgress progress = CobblemonPokedex.dexProgressCache.update(player, uniqueSpeciesCaught);
+
+            // Update player data with unique species count
+            PlayerDataConfig.PlayerData playerData = CobblemonPokedex.playerDataConfig.getPlayerData(player.getUUID());
+            int previousCaught = playerData.getTotalCaught();
+            playerData.updateTotalCaught(uniqueSpeciesCaught);
+            
+            // Tell the player about every tier crossed since the last milestone message, once
+            MilestoneNotifier.notify(player, playerData, RewardTrack.COMPLETION, progress,
+                DexProgress.of(previousCaught, progress.getTotal(), progress.getTierIndex()).getPercent());
+            if (CobblemonPokedex.pokedexConfig.isEnableShinyTracking()) {
+                // Shinies were never counted before the watermark existed, so there is nothing to skip
+                MilestoneNotifier.notify(player, playerData, RewardTrack.SHINY,
+                    CobblemonPokedex.dexProgressCache.get(player, RewardTrack.SHINY), 0);
+            }
+            
+            // Save player data
+            CobblemonPokedex.playerDataConfig.savePlayer(player.getUUID(), playerData);
+            RewardsView.refreshOpen(player.getUUID());
+            
+            Trace.debug(TraceCategory.EVENTS, "Processed {} captures of {}, unique species caught: {}",
+                batch.getSize(), player.getGameProfile().getName(), uniqueSpeciesCaught);
+        } catch (Exception e) {
+            LOGGER.error("Error handling Pokemon capture for player " + player.getName().getString(), e);
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package com.cobblemon.mdks.cobblemonpokedex.listeners;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mod.common.api.Priority;
+import com.cobblemon.mod.common.api.events.CobblemonEvents;
+import com.cobblemon.mod.common.api.events.pokemon.PokemonCapturedEvent;
+import com.cobblemon.mod.common.api.events.pokemon.TradeCompletedEvent;
+import com.cobblemon.mod.common.api.events.pokemon.evolution.EvolutionCompleteEvent;
+import com.cobblemon.mod.common.api.events.storage.ReleasePokemonEvent;
+
+import kotlin.Unit;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * Feeds Cobblemon storage events to the living dex tracker: captures add a
+ * Pokemon, releases remove one, evolutions change its species and trades queue
+ * a rescan of both players. Events are ignored while living dex tracking is off.
+ */
+public class LivingDexListener {
+    public static void register() {
+        CobblemonEvents.POKEMON_CAPTURED.subscribe(Priority.LOWEST, LivingDexListener::handleCapture);
+        CobblemonEvents.POKEMON_RELEASED_EVENT_POST.subscribe(Priority.LOWEST, LivingDexListener::handleRelease);
+        CobblemonEvents.EVOLUTION_COMPLETE.subscribe(Priority.LOWEST, LivingDexListener::handleEvolution);
+        CobblemonEvents.TRADE_COMPLETED.subscribe(Priority.LOWEST, LivingDexListener::handleTrade);
+    }
+
+    private static Unit handleCapture(PokemonCapturedEvent event) {
+        if (isEnabled() && event.getPlayer() instanceof ServerPlayer player) {
+            CobblemonPokedex.livingDexTracker.onAdded(player, event.getPokemon());
+        }
+        return Unit.INSTANCE;
+    }
+
+    private static Unit handleRelease(ReleasePokemonEvent.Post event) {
+        if (isEnabled() && event.getPlayer() instanceof ServerPlayer player) {
+            CobblemonPokedex.livingDexTracker.onRemoved(player, event.getPokemon());
+        }
+        return Unit.INSTANCE;
+    }
+
+    private static Unit handleEvolution(EvolutionCompleteEvent event) {
+        if (isEnabled()) {
+            CobblemonPokedex.livingDexTracker.onSpeciesChanged(event.getPokemon());
+        }
+        return Unit.INSTANCE;
+    }
+
+    private static Unit handleTrade(TradeCompletedEvent event) {
+        if (isEnabled()) {
+            // Which side received which Pokemon is simplest to settle by looking at both stores
+            CobblemonPokedex.livingDexTracker.rescan(event.getTradeParticipant1().getUuid());
+            CobblemonPokedex.livingDexTracker.rescan(event.getTradeParticipant2().getUuid());
+        }
+        return Unit.INSTANCE;
+    }
+
+    private static boolean isEnabled() {
+        return CobblemonPokedex.pokedexConfig.isEnableLivingDexTracking();
+    }
+}
@@ -0,0 +1,62 @@
+package com.cobblemon.mdks.cobblemonpokedex.listeners;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.ui.RewardsView;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * Keeps the player data cache in step with who is online.
+ *
+ * On join the player's data is loaded, then their interrupted reward claims
+ * are finished, mailbox items delivered and a living dex scan queued.
+ * On leave their waiting captures are processed and their data queued for
+ * saving; their cached dex progress and open rewards page are dropped.
+ * Every tick the capture, mailbox and living dex queues are worked through,
+ * and once a minute idle players are evicted from the cache.
+ */
+public class PlayerSessionListener {
+    private static final int EVICTION_INTERVAL_TICKS = 20 * 60; // Once a minute
+
+    private static int ticksSinceEviction = 0;
+
+    public static void register() {
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            ServerPlayer player = handler.getPlayer();
+            // The rest of the join needs the player's data, wait for it instead of reading it here
+            CobblemonPokedex.playerDataConfig.onPlayerJoin(player.getUUID())
+                .thenRunAsync(() -> onDataLoaded(player), server);
+        });
+
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            CatchPokemonListener.flush(handler.getPlayer());
+            CobblemonPokedex.playerDataConfig.onPlayerLeave(handler.getPlayer().getUUID());
+            CobblemonPokedex.dexProgressCache.invalidate(handler.getPlayer().getUUID());
+            CobblemonPokedex.rewardMailbox.onLeave(handler.getPlayer().getUUID());
+            CobblemonPokedex.livingDexTracker.onLeave(handler.getPlayer().getUUID());
+            RewardsView.remove(handler.getPlayer().getUUID());
+        });
+
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            CatchPokemonListener.tick(server);
+            CobblemonPokedex.rewardMailbox.tick(server);
+            CobblemonPokedex.livingDexTracker.tick(server);
+            if (++ticksSinceEviction >= EVICTION_INTERVAL_TICKS) {
+                ticksSinceEviction = 0;
+                CobblemonPokedex.playerDataConfig.evictIdlePlayers();
+            }
+        });
+    }
+
+    /**
+     * Runs the join steps that read player data, on the server thread once it is cached
+     */
+    private static void onDataLoaded(ServerPlayer player) {
+        if (player.hasDisconnected()) return;
+        CobblemonPokedex.claimService.resumePending(player);
+        CobblemonPokedex.rewardMailbox.onJoin(player);
+        CobblemonPokedex.livingDexTracker.onJoin(player);
+    }
+}
@@ -0,0 +1,23 @@
+package com.cobblemon.mdks.cobblemonpokedex.listeners;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mod.common.api.Priority;
+import com.cobblemon.mod.common.api.events.CobblemonEvents;
+import com.cobblemon.mod.common.api.events.pokedex.PokedexDataChangedEvent;
+
+import kotlin.Unit;
+
+/**
+ * Drops a player's cached dex progress whenever Cobblemon changes their Pokedex
+ * outside of a capture (evolutions, trades, starters, commands).
+ */
+public class PokedexChangeListener {
+    public static void register() {
+        CobblemonEvents.POKEDEX_DATA_CHANGED_POST.subscribe(Priority.LOWEST, PokedexChangeListener::handle);
+    }
+
+    private static Unit handle(PokedexDataChangedEvent.Post event) {
+        CobblemonPokedex.dexProgressCache.invalidate(event.getPlayerUUID());
+        return Unit.INSTANCE;
+    }
+}
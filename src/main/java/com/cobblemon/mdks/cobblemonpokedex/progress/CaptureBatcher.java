@@ -0,0 +1,139 @@
+package com.cobblemon.mdks.cobblemonpokedex.progress;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Collects capture events per player so a burst of captures, such as a swarm or
+ * a raid, is processed as one batch: one Pokedex recount, one milestone check
+ * and one save, rather than one of each per capture.
+ * A player's batch is due once it has waited the configured number of ticks;
+ * with a latency of one tick every capture is processed at the end of its tick.
+ */
+public class CaptureBatcher {
+    private static final int[] SIZE_BUCKETS = {1, 2, 5, 17}; // Batch sizes 1, 2-4, 5-16 and 17+
+
+    private final Map<UUID, Batch> batches = new LinkedHashMap<>();
+    private long tick = 0;
+
+    // Metrics, guarded by the same lock as the batches
+    private long captures = 0;
+    private long batchCount = 0;
+    private long batchedCaptures = 0;
+    private long largestBatch = 0;
+    private final long[] sizeCounts = new long[SIZE_BUCKETS.length];
+
+    /**
+     * Adds a capture to the player's batch, starting one if they have none
+     * @param playerId The player who captured
+     */
+    public synchronized void add(UUID playerId) {
+        Batch batch = batches.get(playerId);
+        if (batch == null) {
+            batches.put(playerId, new Batch(playerId, tick));
+        } else {
+            batch.size++;
+        }
+        captures++;
+    }
+
+    /**
+     * Advances one tick and takes every batch that has waited long enough
+     * @param maxLatencyTicks The number of ticks a batch may wait, at least one
+     * @return The due batches, oldest first
+     */
+    public synchronized List<Batch> tick(int maxLatencyTicks) {
+        tick++;
+        if (batches.isEmpty()) return List.of();
+
+        List<Batch> due = new ArrayList<>();
+        Iterator<Batch> it = batches.values().iterator();
+        while (it.hasNext()) {
+            Batch batch = it.next();
+            // Batches are in start order, so the first one that isn't due ends the scan
+            if (tick - batch.startTick < Math.max(1, maxLatencyTicks)) break;
+            it.remove();
+            record(batch);
+            due.add(batch);
+        }
+        return due;
+    }
+
+    /**
+     * Takes a player's batch before it is due, e.g. when they leave
+     * @param playerId The player
+     * @return The player's batch, or null if they have none
+     */
+    public synchronized Batch take(UUID playerId) {
+        Batch batch = batches.remove(playerId);
+        if (batch != null) record(batch);
+        return batch;
+    }
+
+    /**
+     * Takes every waiting batch, e.g. when the server stops
+     * @return All batches, oldest first
+     */
+    public synchronized List<Batch> takeAll() {
+        List<Batch> all = new ArrayList<>(batches.values());
+        batches.clear();
+        all.forEach(this::record);
+        return all;
+    }
+
+    public synchronized int getWaiting() {
+        return batches.size();
+    }
+
+    /**
+     * @return The average number of captures per processed batch
+     */
+    public synchronized double getAverageBatchSize() {
+        return batchCount == 0 ? 0 : (double) batchedCaptures / batchCount;
+    }
+
+    public synchronized long getLargestBatch() {
+        return largestBatch;
+    }
+
+    public synchronized String getStats() {
+        return "captures=" + captures + ", batches=" + batchCount
+            + ", avgSize=" + String.format(Locale.ROOT, "%.2f", getAverageBatchSize())
+            + ", maxSize=" + largestBatch + ", sizes[1/2-4/5-16/17+]=" + sizeCounts[0] + "/"
+            + sizeCounts[1] + "/" + sizeCounts[2] + "/" + sizeCounts[3] + ", waiting=" + batches.size();
+    }
+
+    private void record(Batch batch) {
+        batchCount++;
+        batchedCaptures += batch.size;
+        largestBatch = Math.max(largestBatch, batch.size);
+        for (int i = SIZE_BUCKETS.length - 1; i >= 0; i--) {
+            if (batch.size >= SIZE_BUCKETS[i]) {
+                sizeCounts[i]++;
+                break;
+            }
+        }
+    }
+
+    /**
+     * The captures of one player waiting to be processed together
+     */
+    public static final class Batch {
+        private final UUID playerId;
+        private final long startTick;
+        private int size = 1;
+
+        private Batch(UUID playerId, long startTick) {
+            this.playerId = playerId;
+            this.startTick = startTick;
+        }
+
+        public UUID getPlayerId() { return playerId; }
+        public int getSize() { return size; }
+    }
+}
@@ -0,0 +1,53 @@
+package com.cobblemon.mdks.cobblemonpokedex.progress;
+
+import com.cobblemon.mdks.cobblemonpokedex.config.TierIndex;
+
+/**
+ * Immutable snapshot of a player's Pokedex completion.
+ */
+public final class DexProgress {
+    private final int caught;
+    private final int total;
+    private final double percent;
+    private final TierIndex tierIndex;
+    private final long reachedMask;
+
+    private DexProgress(int caught, int total, TierIndex tierIndex) {
+        this.caught = caught;
+        this.total = total;
+        this.percent = total > 0 ? (double) caught / total * 100 : 0.0;
+        this.tierIndex = tierIndex;
+        this.reachedMask = tierIndex.reachedMask(percent);
+    }
+
+    /**
+     * @param caught The number of unique species caught
+     * @param total The configured total number of Pokemon
+     * @param tierIndex The completion tiers the reached mask is resolved against
+     * @return The snapshot
+     */
+    public static DexProgress of(int caught, int total, TierIndex tierIndex) {
+        return new DexProgress(caught, total, tierIndex);
+    }
+
+    /**
+     * @return true if this snapshot was computed for the given total and tiers
+     */
+    boolean matches(int total, TierIndex tierIndex) {
+        return this.total == total && this.tierIndex == tierIndex;
+    }
+
+    public int getCaught() { return caught; }
+    public int getTotal() { return total; }
+    public double getPercent() { return percent; }
+    public TierIndex getTierIndex() { return tierIndex; }
+
+    /**
+     * @return A mask of the reached completion tiers, bit i being {@code getTierIndex().tierAt(i)}
+     */
+    public long getReachedMask() { return reachedMask; }
+
+    public boolean hasReached(int tier) {
+        return percent >= tier;
+    }
+}
@@ -0,0 +1,133 @@
+package com.cobblemon.mdks.cobblemonpokedex.progress;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardTrack;
+import com.cobblemon.mdks.cobblemonpokedex.config.TierIndex;
+import com.cobblemon.mod.common.Cobblemon;
+import com.cobblemon.mod.common.api.pokedex.CaughtCount;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+/**
+ * Caches each player's Pokedex completion so UI opens and claims don't walk the
+ * Pokedex through getDexCalculatedValue. Entries are replaced on capture,
+ * dropped when Cobblemon reports a Pokedex change or the player leaves, and
+ * re-derived from the cached count when the total or the tiers are reconfigured.
+ * A stale entry can only under-report, since caught species never go away.
+ */
+public class DexProgressCache {
+    private static final ResourceLocation NATIONAL_DEX = ResourceLocation.tryParse("cobblemon:national");
+
+    private final Map<UUID, DexProgress> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Gets a player's progress, querying the Pokedex only on a cache miss
+     * @param player The player
+     * @return The player's progress
+     */
+    public DexProgress get(ServerPlayer player) {
+        return get(player.getUUID(), () -> countCaught(player), totalPokemon(), TierIndex.current(RewardTrack.COMPLETION));
+    }
+
+    /**
+     * Gets a player's progress on any reward track. Only completion needs the
+     * cache; the other tracks are counted incrementally in the player data.
+     * @param player The player
+     * @param track The reward track
+     * @return The player's progress on the track
+     */
+    public DexProgress get(ServerPlayer player, RewardTrack track) {
+        switch (track) {
+            case SHINY:
+                int shinies = CobblemonPokedex.playerDataConfig.getPlayerData(player.getUUID()).getShinySpeciesCount();
+                return DexProgress.of(shinies, CobblemonPokedex.pokedexConfig.getTotalShinyPokemon(), TierIndex.current(RewardTrack.SHINY));
+            case LIVING_DEX:
+                int owned = CobblemonPokedex.playerDataConfig.getPlayerData(player.getUUID()).getLivingDexCount();
+                return DexProgress.of(owned, totalPokemon(), TierIndex.current(RewardTrack.LIVING_DEX));
+            default:
+                return get(player);
+        }
+    }
+
+    /**
+     * @param playerId The player's UUID
+     * @param caughtCount Counts the player's caught species on a cache miss, negative on failure
+     * @param total The configured total number of Pokemon
+     * @param tierIndex The current completion tiers
+     * @return The cached or freshly computed progress
+     */
+    public DexProgress get(UUID playerId, IntSupplier caughtCount, int total, TierIndex tierIndex) {
+        DexProgress cached = snapshots.get(playerId);
+        if (cached != null && cached.matches(total, tierIndex)) {
+            return cached;
+        }
+
+        // After a reload the count is still right, only the derived values change
+        int caught = cached != null ? cached.getCaught() : caughtCount.getAsInt();
+        if (caught < 0) {
+            // Counting failed, report no progress but try again on the next read
+            return DexProgress.of(0, total, tierIndex);
+        }
+        DexProgress progress = DexProgress.of(caught, total, tierIndex);
+        snapshots.put(playerId, progress);
+        return progress;
+    }
+
+    /**
+     * Stores a freshly counted value, used by the capture listener which counts anyway
+     * @param player The player
+     * @param caught The number of unique species caught
+     * @return The new snapshot
+     */
+    public DexProgress update(ServerPlayer player, int caught) {
+        return update(player.getUUID(), caught, totalPokemon(), TierIndex.current(RewardTrack.COMPLETION));
+    }
+
+    public DexProgress update(UUID playerId, int caught, int total, TierIndex tierIndex) {
+        DexProgress progress = DexProgress.of(caught, total, tierIndex);
+        snapshots.put(playerId, progress);
+        return progress;
+    }
+
+    /**
+     * Drops a player's snapshot so the next read counts again
+     * @param playerId The player's UUID
+     */
+    public void invalidate(UUID playerId) {
+        snapshots.remove(playerId);
+    }
+
+    public void clear() {
+        snapshots.clear();
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * Counts the player's caught species in the national dex
+     * @param player The player
+     * @return The number of unique species caught, or -1 if the Pokedex could not be read
+     */
+    public static int countCaught(ServerPlayer player) {
+        try {
+            return Cobblemon.INSTANCE.getPlayerDataManager()
+                .getPokedexData(player)
+                .getDexCalculatedValue(NATIONAL_DEX, CaughtCount.INSTANCE);
+        } catch (Exception e) {
+            CobblemonPokedex.LOGGER.error("Error calculating Pokedex completion for player " + player.getName().getString(), e);
+            return -1;
+        }
+    }
+
+    private static int totalPokemon() {
+        return CobblemonPokedex.pokedexConfig.getTotalPokemon();
+    }
+}
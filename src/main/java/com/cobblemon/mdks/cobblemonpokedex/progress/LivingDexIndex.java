@@ -0,0 +1,122 @@
+package com.cobblemon.mdks.cobblemonpokedex.progress;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One player's living dex: which species each owned Pokemon is, and how many
+ * owned Pokemon there are of each species. A species is in the living dex while
+ * its count is above zero, so storage events only touch the Pokemon they are
+ * about instead of rescanning the party and every PC box.
+ *
+ * Not thread safe, it is only used from the server thread.
+ */
+public final class LivingDexIndex {
+    private final Map<UUID, String> speciesByPokemon = new HashMap<>();
+    private final Map<String, Integer> counts = new HashMap<>();
+
+    /**
+     * Records that the player owns a Pokemon, or that an owned Pokemon is now
+     * another species (after evolving)
+     * @param pokemonId The Pokemon's UUID
+     * @param species The Pokemon's species name
+     * @return The species that entered or left the living dex
+     */
+    public Delta put(UUID pokemonId, String species) {
+        String previous = speciesByPokemon.put(pokemonId, species);
+        if (species.equals(previous)) return Delta.NONE;
+
+        String lost = previous != null && decrement(previous) ? previous : null;
+        String gained = increment(species) ? species : null;
+        return Delta.of(gained, lost);
+    }
+
+    /**
+     * Records that the player no longer owns a Pokemon
+     * @param pokemonId The Pokemon's UUID
+     * @return The species that left the living dex, if any
+     */
+    public Delta remove(UUID pokemonId) {
+        String previous = speciesByPokemon.remove(pokemonId);
+        if (previous == null || !decrement(previous)) return Delta.NONE;
+        return Delta.of(null, previous);
+    }
+
+    /**
+     * Replaces the index with a full scan of the player's storage
+     * @param owned Species by UUID of every Pokemon the player owns
+     */
+    public void reconcile(Map<UUID, String> owned) {
+        speciesByPokemon.clear();
+        counts.clear();
+        for (Map.Entry<UUID, String> entry : owned.entrySet()) {
+            speciesByPokemon.put(entry.getKey(), entry.getValue());
+            increment(entry.getValue());
+        }
+    }
+
+    /**
+     * @param species The species name
+     * @return How many owned Pokemon are of the species
+     */
+    public int count(String species) {
+        return counts.getOrDefault(species, 0);
+    }
+
+    /**
+     * @return The species the player owns at least one of
+     */
+    public Set<String> getSpecies() {
+        return Collections.unmodifiableSet(counts.keySet());
+    }
+
+    /**
+     * @return How many Pokemon the player owns
+     */
+    public int getPokemonCount() {
+        return speciesByPokemon.size();
+    }
+
+    private boolean increment(String species) {
+        return counts.merge(species, 1, Integer::sum) == 1;
+    }
+
+    private boolean decrement(String species) {
+        Integer count = counts.get(species);
+        if (count == null) return false;
+        if (count > 1) {
+            counts.put(species, count - 1);
+            return false;
+        }
+        counts.remove(species);
+        return true;
+    }
+
+    /**
+     * The species that entered or left the living dex through one change
+     */
+    public static final class Delta {
+        static final Delta NONE = new Delta(null, null);
+
+        private final String gained;
+        private final String lost;
+
+        private Delta(String gained, String lost) {
+            this.gained = gained;
+            this.lost = lost;
+        }
+
+        private static Delta of(String gained, String lost) {
+            return gained == null && lost == null ? NONE : new Delta(gained, lost);
+        }
+
+        public boolean isEmpty() { return gained == null && lost == null; }
+        /** @return The species that entered the living dex, or null */
+        public String getGained() { return gained; }
+        /** @return The species that left the living dex, or null */
+        public String getLost() { return lost; }
+    }
+}
@@ -0,0 +1,193 @@
+package com.cobblemon.mdks.cobblemonpokedex.progress;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardTrack;
+import com.cobblemon.mdks.cobblemonpokedex.ui.RewardsView;
+import com.cobblemon.mdks.cobblemonpokedex.util.Trace;
+import com.cobblemon.mdks.cobblemonpokedex.util.TraceCategory;
+import com.cobblemon.mod.common.Cobblemon;
+import com.cobblemon.mod.common.pokemon.Pokemon;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps each online player's living dex species in step with the Pokemon they
+ * own. Storage events (captures, releases, evolutions) update a per-player
+ * {@link LivingDexIndex} of species reference counts, so a change costs one map
+ * update instead of a scan of the party and every PC box.
+ *
+ * Pokemon can also arrive in ways no event reports (starters, gifts, commands),
+ * so each player's storage is scanned once when they join and after trades,
+ * reconciling the index and the stored species. Scans are spread over ticks, a
+ * few players at a time, since the storage can only be read on the server thread.
+ * Moving Pokemon between the party and the PC does not change what the player
+ * owns, so it needs no handling.
+ */
+public class LivingDexTracker {
+    private static final int SCANS_PER_TICK = 2;
+
+    private final Map<UUID, LivingDexIndex> indexes = new HashMap<>();
+    private final Set<UUID> pendingScans = new LinkedHashSet<>();
+
+    /**
+     * Queues a player's storage scan, which builds their index
+     * @param player The player who joined
+     */
+    public void onJoin(ServerPlayer player) {
+        if (CobblemonPokedex.pokedexConfig.isEnableLivingDexTracking()) {
+            pendingScans.add(player.getUUID());
+        }
+    }
+
+    /**
+     * Drops a player's index, rebuilt by a scan when they next join
+     * @param playerId The player who left
+     */
+    public void onLeave(UUID playerId) {
+        indexes.remove(playerId);
+        pendingScans.remove(playerId);
+    }
+
+    /**
+     * Queues another scan of a player's storage, for changes the events cannot
+     * describe one Pokemon at a time (trades)
+     * @param playerId The player
+     */
+    public void rescan(UUID playerId) {
+        if (CobblemonPokedex.pokedexConfig.isEnableLivingDexTracking()) {
+            pendingScans.add(playerId);
+        }
+    }
+
+    /**
+     * Runs the next queued scans, called every server tick
+     * @param server The server
+     */
+    public void tick(MinecraftServer server) {
+        if (pendingScans.isEmpty()) return;
+        if (!CobblemonPokedex.pokedexConfig.isEnableLivingDexTracking()) {
+            pendingScans.clear();
+            indexes.clear();
+            return;
+        }
+
+        Iterator<UUID> queued = pendingScans.iterator();
+        for (int scans = 0; scans < SCANS_PER_TICK && queued.hasNext(); scans++) {
+            UUID playerId = queued.next();
+            queued.remove();
+            ServerPlayer player = server.getPlayerList().getPlayer(playerId);
+            if (player != null) {
+                scan(player);
+            }
+        }
+    }
+
+    /**
+     * Counts a Pokemon the player now owns
+     * @param player The owner
+     * @param pokemon The captured or received Pokemon
+     */
+    public void onAdded(ServerPlayer player, Pokemon pokemon) {
+        LivingDexIndex index = indexes.get(player.getUUID());
+        // Without an index the queued scan will see the Pokemon
+        if (index == null) return;
+        apply(player, index.put(pokemon.getUuid(), speciesOf(pokemon)));
+    }
+
+    /**
+     * Stops counting a Pokemon the player no longer owns
+     * @param player The former owner
+     * @param pokemon The released Pokemon
+     */
+    public void onRemoved(ServerPlayer player, Pokemon pokemon) {
+        LivingDexIndex index = indexes.get(player.getUUID());
+        if (index == null) return;
+        apply(player, index.remove(pokemon.getUuid()));
+    }
+
+    /**
+     * Moves an owned Pokemon to its new species after it evolved
+     * @param pokemon The evolved Pokemon
+     */
+    public void onSpeciesChanged(Pokemon pokemon) {
+        ServerPlayer player = pokemon.getOwnerPlayer();
+        if (player == null) return;
+        onAdded(player, pokemon);
+    }
+
+    /**
+     * @param playerId The player
+     * @return The player's index, or null until their storage has been scanned
+     */
+    public LivingDexIndex getIndex(UUID playerId) {
+        return indexes.get(playerId);
+    }
+
+    /**
+     * @return The number of players waiting for a scan
+     */
+    public int getPendingScans() {
+        return pendingScans.size();
+    }
+
+    private void scan(ServerPlayer player) {
+        Map<UUID, String> owned = new HashMap<>();
+        try {
+            for (Pokemon pokemon : Cobblemon.INSTANCE.getStorage().getParty(player)) {
+                owned.put(pokemon.getUuid(), speciesOf(pokemon));
+            }
+            for (Pokemon pokemon : Cobblemon.INSTANCE.getStorage().getPC(player)) {
+                owned.put(pokemon.getUuid(), speciesOf(pokemon));
+            }
+        } catch (Exception e) {
+            CobblemonPokedex.LOGGER.error("Error scanning Pokemon storage of " + player.getName().getString(), e);
+            return;
+        }
+
+        LivingDexIndex index = indexes.computeIfAbsent(player.getUUID(), id -> new LivingDexIndex());
+        index.reconcile(owned);
+
+        PlayerData playerData = CobblemonPokedex.playerDataConfig.getPlayerData(player.getUUID());
+        double previousPercent = CobblemonPokedex.dexProgressCache.get(player, RewardTrack.LIVING_DEX).getPercent();
+        playerData.updateLivingDexSpecies(index.getSpecies());
+        MilestoneNotifier.notify(player, playerData, RewardTrack.LIVING_DEX,
+            CobblemonPokedex.dexProgressCache.get(player, RewardTrack.LIVING_DEX), previousPercent);
+        CobblemonPokedex.playerDataConfig.savePlayer(player.getUUID(), playerData);
+
+        Trace.debug(TraceCategory.EVENTS, "Scanned {} Pokemon of {}, living dex species: {}",
+            index.getPokemonCount(), player.getGameProfile().getName(), index.getSpecies().size());
+    }
+
+    private void apply(ServerPlayer player, LivingDexIndex.Delta delta) {
+        if (delta.isEmpty()) return;
+
+        PlayerData playerData = CobblemonPokedex.playerDataConfig.getPlayerData(player.getUUID());
+        if (delta.getLost() != null) {
+            playerData.removeLivingDexSpecies(delta.getLost());
+        }
+        if (delta.getGained() != null) {
+            playerData.addLivingDexSpecies(delta.getGained());
+            // Only a gain can cross a tier, and the watermark is already seeded by the join scan
+            MilestoneNotifier.notify(player, playerData, RewardTrack.LIVING_DEX,
+                CobblemonPokedex.dexProgressCache.get(player, RewardTrack.LIVING_DEX), 0);
+        }
+        CobblemonPokedex.playerDataConfig.savePlayer(player.getUUID(), playerData);
+        RewardsView.refreshOpen(player.getUUID());
+
+        Trace.debug(TraceCategory.EVENTS, "Living dex of {} gained {}, lost {}",
+            player.getGameProfile().getName(), delta.getGained(), delta.getLost());
+    }
+
+    private static String speciesOf(Pokemon pokemon) {
+        return pokemon.getSpecies().getResourceIdentifier().getPath();
+    }
+}
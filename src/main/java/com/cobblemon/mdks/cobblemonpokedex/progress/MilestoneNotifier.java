@@ -0,0 +1,55 @@
+package com.cobblemon.mdks.cobblemonpokedex.progress;
+
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardTrack;
+import com.cobblemon.mdks.cobblemonpokedex.config.TierIndex;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * Tells players about reward tiers they reached, once per tier, using the
+ * watermark kept in their player data (see {@link MilestoneTracker})
+ */
+public final class MilestoneNotifier {
+    private static final String PREFIX = "§b[§dSimpleDexRewards§b]§r ";
+
+    private MilestoneNotifier() {}
+
+    /**
+     * Sends a message for every tier of the track crossed since the last one
+     * the player was told about, and advances the watermark past them
+     * @param player The player
+     * @param playerData The player's data holding the watermark
+     * @param track The reward track
+     * @param progress The player's current progress on the track
+     * @param previousPercent The progress before this change, seeding a missing watermark
+     */
+    public static void notify(ServerPlayer player, PlayerData playerData,
+                              RewardTrack track, DexProgress progress, double previousPercent) {
+        TierIndex tierIndex = progress.getTierIndex();
+        int watermark = playerData.getLastNotifiedTier(track);
+        if (watermark == MilestoneTracker.UNSET) {
+            watermark = MilestoneTracker.seed(tierIndex, previousPercent);
+        }
+        int[] crossed = MilestoneTracker.crossed(tierIndex, watermark, progress.getPercent());
+        for (int tier : crossed) {
+            player.sendSystemMessage(Component.literal(message(track, tier)));
+        }
+        playerData.setLastNotifiedTier(track, MilestoneTracker.advance(crossed, watermark));
+    }
+
+    private static String message(RewardTrack track, int tier) {
+        switch (track) {
+            case SHINY:
+                return PREFIX + "§a§lShiny Milestone Reached! §aYou've achieved §e" + tier + "%§a shiny Pokédex completion!\n" +
+                       PREFIX + "§7Use §f/dexrewards shiny§7 to claim your special rewards!";
+            case LIVING_DEX:
+                return PREFIX + "§a§lLiving Dex Milestone Reached! §aYou own §e" + tier + "%§a of the Pokédex!\n" +
+                       PREFIX + "§7Use §f/dexrewards livingdex§7 to claim your special rewards!";
+            default:
+                return PREFIX + "§a§lMilestone Reached! §aYou've achieved §e" + tier + "%§a Pokédex completion!\n" +
+                       PREFIX + "§7Use §f/dexrewards§7 to claim your special rewards!";
+        }
+    }
+}
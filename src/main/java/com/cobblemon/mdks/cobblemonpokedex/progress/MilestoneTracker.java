@@ -0,0 +1,59 @@
+package com.cobblemon.mdks.cobblemonpokedex.progress;
+
+import com.cobblemon.mdks.cobblemonpokedex.config.TierIndex;
+
+/**
+ * Finds the tiers a player crossed since they were last told about a milestone.
+ * The watermark is the highest tier value the player was told about, stored per
+ * track in their player data. Both ends of the crossed range come from a binary
+ * search over the sorted tiers, so a capture costs O(log tiers), and moving the
+ * watermark after each message means every tier is announced exactly once.
+ * Tier values rather than positions are stored so a reconfigured tier list
+ * neither repeats nor skips messages for tiers that stay.
+ */
+public final class MilestoneTracker {
+    public static final int UNSET = -1; // No watermark recorded yet
+
+    private static final int[] NONE = new int[0];
+
+    private MilestoneTracker() {}
+
+    /**
+     * @param index The tiers of the track
+     * @param watermark The highest tier the player was already told about
+     * @param progress The player's current progress on the track
+     * @return The tiers above the watermark that the progress reaches, ascending
+     */
+    public static int[] crossed(TierIndex index, int watermark, double progress) {
+        int from = index.countReached(watermark);
+        int to = index.countReached(progress);
+        if (to <= from) return NONE;
+
+        int[] tiers = new int[to - from];
+        for (int i = from; i < to; i++) {
+            tiers[i - from] = index.tierAt(i);
+        }
+        return tiers;
+    }
+
+    /**
+     * Picks a starting watermark for a player tracked before watermarks were
+     * stored, so they aren't told again about tiers they reached back then
+     * @param index The tiers of the track
+     * @param previousProgress The player's progress before the current update
+     * @return The highest tier the previous progress reached, or 0 if none
+     */
+    public static int seed(TierIndex index, double previousProgress) {
+        int reached = index.countReached(previousProgress);
+        return reached == 0 ? 0 : index.tierAt(reached - 1);
+    }
+
+    /**
+     * @param crossed Tiers returned by {@link #crossed}
+     * @param watermark The watermark they were found against
+     * @return The watermark once the player was told about the crossed tiers
+     */
+    public static int advance(int[] crossed, int watermark) {
+        return crossed.length == 0 ? watermark : crossed[crossed.length - 1];
+    }
+}
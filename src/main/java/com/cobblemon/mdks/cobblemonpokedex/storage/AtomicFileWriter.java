@@ -0,0 +1,192 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Crash-safe file writes.
+ * Content is written to a temporary file next to the target and then moved over
+ * it atomically, so readers only ever see the old or the new file, never a
+ * truncated one.
+ */
+public class AtomicFileWriter {
+    private static final String TEMP_SUFFIX = ".tmp";
+    // BATCH mode holds a channel per file until the group is forced, so large batches go in groups
+    static final int MAX_GROUP_SIZE = 64;
+
+    /**
+     * Writes a single file atomically
+     * @param target The file to replace
+     * @param content The new file content
+     * @param sync Whether to fsync the file and its directory before returning
+     * @throws IOException If the file could not be written
+     */
+    public static void write(Path target, byte[] content, boolean sync) throws IOException {
+        Path temp = tempFor(target);
+        try {
+            writeTemp(temp, content, sync);
+            move(temp, target);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        if (sync) {
+            syncDirectory(target.getParent());
+        }
+    }
+
+    /**
+     * Writes many files as one group commit. All temporary files are written first,
+     * then flushed to disk back to back, then moved into place, followed by a single
+     * fsync of each affected directory. Batches larger than {@link #MAX_GROUP_SIZE}
+     * files are written one group at a time, so no more channels than that are
+     * open at once.
+     * @param files The content to write, keyed by target file
+     * @param mode How the batch should be made durable
+     * @return The targets that could not be written
+     */
+    public static Set<Path> writeBatch(Map<Path, byte[]> files, FileSyncMode mode) {
+        Set<Path> failed = new HashSet<>();
+        Set<Path> directories = new HashSet<>();
+        Map<Path, byte[]> group = new LinkedHashMap<>();
+        for (Map.Entry<Path, byte[]> entry : files.entrySet()) {
+            group.put(entry.getKey(), entry.getValue());
+            if (group.size() == MAX_GROUP_SIZE) {
+                writeGroup(group, mode, failed, directories);
+                group.clear();
+            }
+        }
+        if (!group.isEmpty()) {
+            writeGroup(group, mode, failed, directories);
+        }
+
+        // Make the renames of every group durable with one sync per directory
+        if (mode != FileSyncMode.NONE) {
+            for (Path directory : directories) {
+                syncDirectory(directory);
+            }
+        }
+        return failed;
+    }
+
+    private static void writeGroup(Map<Path, byte[]> files, FileSyncMode mode, Set<Path> failed, Set<Path> directories) {
+        boolean syncEach = mode == FileSyncMode.ALWAYS;
+        boolean syncGroup = mode == FileSyncMode.BATCH;
+
+        // Phase 1: write all temporary files without forcing them yet
+        Map<Path, FileChannel> open = new LinkedHashMap<>();
+        for (Map.Entry<Path, byte[]> entry : files.entrySet()) {
+            Path target = entry.getKey();
+            Path temp = tempFor(target);
+            FileChannel channel = null;
+            try {
+                if (syncGroup) {
+                    channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                    writeFully(channel, entry.getValue());
+                    open.put(target, channel);
+                } else {
+                    writeTemp(temp, entry.getValue(), syncEach);
+                    open.put(target, null);
+                }
+            } catch (IOException e) {
+                CobblemonPokedex.LOGGER.error("Failed to write temporary file for " + target.getFileName(), e);
+                failed.add(target);
+                closeQuietly(channel);
+                deleteQuietly(temp);
+            }
+        }
+
+        // Phase 2: force the whole group in one pass
+        for (Map.Entry<Path, FileChannel> entry : open.entrySet()) {
+            FileChannel channel = entry.getValue();
+            if (channel == null) continue;
+            try (channel) {
+                channel.force(true);
+            } catch (IOException e) {
+                CobblemonPokedex.LOGGER.error("Failed to sync temporary file for " + entry.getKey().getFileName(), e);
+                failed.add(entry.getKey());
+                deleteQuietly(tempFor(entry.getKey()));
+            }
+        }
+
+        // Phase 3: publish, the caller syncs the directories
+        for (Path target : open.keySet()) {
+            if (failed.contains(target)) continue;
+            try {
+                move(tempFor(target), target);
+                directories.add(target.getParent());
+            } catch (IOException e) {
+                CobblemonPokedex.LOGGER.error("Failed to replace " + target.getFileName(), e);
+                failed.add(target);
+                deleteQuietly(tempFor(target));
+            }
+        }
+    }
+
+    private static Path tempFor(Path target) {
+        return target.resolveSibling(target.getFileName().toString() + TEMP_SUFFIX);
+    }
+
+    private static void writeTemp(Path temp, byte[] content, boolean sync) throws IOException {
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, content);
+            if (sync) {
+                channel.force(true);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, byte[] content) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void move(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Some file systems cannot rename atomically; a plain replace is still better than truncating in place
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void syncDirectory(Path directory) {
+        if (directory == null) return;
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened for syncing on every platform (e.g. Windows)
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+}
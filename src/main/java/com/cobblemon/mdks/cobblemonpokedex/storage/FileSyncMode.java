@@ -0,0 +1,15 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+public enum FileSyncMode {
+    NONE,             // Atomic rename only, survives process crashes but not power loss
+    ALWAYS,           // fsync every file as it is written
+    BATCH;            // fsync all files of a save queue flush together (group commit)
+
+    public static FileSyncMode fromString(String mode) {
+        try {
+            return valueOf(mode.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return BATCH;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+import com.cobblemon.mdks.cobblemonpokedex.util.PlayerDataMigration;
+import com.cobblemon.mdks.cobblemonpokedex.util.Utils;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Stores each player in its own pretty-printed JSON file named after their UUID.
+ * This is the original layout and stays the default backend.
+ */
+public class JsonFileStorage implements PlayerDataStorage {
+    private static final Gson GSON = Utils.newGson();
+
+    private final String directory;
+    private final FileSyncMode syncMode;
+
+    private int migratedCount;
+    private int failedMigrations;
+
+    public JsonFileStorage(String directory, FileSyncMode syncMode) {
+        this.directory = directory;
+        this.syncMode = syncMode;
+    }
+
+    @Override
+    public PlayerData load(UUID playerId) {
+        File file = new File(directory, playerId.toString() + ".json");
+        if (!file.exists()) return null;
+
+        try {
+            return readPlayerFile(file);
+        } catch (Exception e) {
+            CobblemonPokedex.LOGGER.error("Failed to load player data: " + file.getName(), e);
+            return null;
+        }
+    }
+
+    @Override
+    public Map<UUID, PlayerData> loadAll() {
+        Map<UUID, PlayerData> result = new HashMap<>();
+        File playerDir = new File(directory);
+        if (!playerDir.exists()) {
+            playerDir.mkdirs();
+            CobblemonPokedex.LOGGER.info("Created players directory at " + playerDir.getAbsolutePath());
+        }
+
+        File[] files = playerDir.listFiles((dir, name) ->
+            name.endsWith(".json") && !name.contains("_backup_"));
+        if (files == null) return result;
+
+        migratedCount = 0;
+        failedMigrations = 0;
+
+        for (File file : files) {
+            try {
+                UUID playerId = UUID.fromString(file.getName().replace(".json", ""));
+                PlayerData data = readPlayerFile(file);
+                if (data != null) {
+                    result.put(playerId, data);
+                }
+            } catch (Exception e) {
+                CobblemonPokedex.LOGGER.error("Failed to load player data: " + file.getName(), e);
+            }
+        }
+
+        if (migratedCount > 0) {
+            CobblemonPokedex.LOGGER.info("Successfully migrated " + migratedCount + " player data files to v2.0");
+        }
+        if (failedMigrations > 0) {
+            CobblemonPokedex.LOGGER.warn("Failed to migrate " + failedMigrations + " player data files");
+        }
+        return result;
+    }
+
+    /**
+     * Reads a single player file, migrating it to the current format if needed
+     * @param file The player data file
+     * @return The loaded data, or null if the file is empty or could not be migrated
+     */
+    private PlayerData readPlayerFile(File file) {
+        String content = Utils.readFileSync(directory, file.getName());
+        if (content == null || content.isEmpty()) return null;
+
+        JsonObject json = JsonParser.parseString(content).getAsJsonObject();
+
+        // Check if migration is needed
+        if (PlayerDataMigration.needsMigration(json)) {
+            CobblemonPokedex.LOGGER.info("Migrating player data file: " + file.getName());
+            if (PlayerDataMigration.migratePlayerFile(file, directory)) {
+                migratedCount++;
+                // Re-read the migrated data
+                content = Utils.readFileSync(directory, file.getName());
+                json = JsonParser.parseString(content).getAsJsonObject();
+            } else {
+                failedMigrations++;
+                CobblemonPokedex.LOGGER.error("Failed to migrate player data: " + file.getName());
+                return null;
+            }
+        }
+
+        return new PlayerData(json);
+    }
+
+    @Override
+    public Set<UUID> write(Map<UUID, PlayerData> batch) {
+        Path playerDir = Utils.checkForDirectory(directory).toPath().toAbsolutePath();
+        Map<Path, UUID> targets = new HashMap<>();
+        Map<Path, byte[]> files = new HashMap<>();
+        for (Map.Entry<UUID, PlayerData> entry : batch.entrySet()) {
+            Path target = playerDir.resolve(entry.getKey().toString() + ".json");
+            targets.put(target, entry.getKey());
+            files.put(target, GSON.toJson(entry.getValue().toJson()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        // One group commit per flush instead of one fsync per save
+        Set<UUID> failed = new HashSet<>();
+        for (Path target : AtomicFileWriter.writeBatch(files, syncMode)) {
+            failed.add(targets.get(target));
+        }
+        return failed;
+    }
+
+    /**
+     * @return true if the directory holds at least one player file
+     */
+    public boolean hasPlayerFiles() {
+        Path playerDir = Path.of(directory);
+        if (!Files.isDirectory(playerDir)) return false;
+
+        // Stops at the first match instead of listing the whole directory
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(playerDir, "*.json")) {
+            for (Path path : stream) {
+                if (!path.getFileName().toString().contains("_backup_")) return true;
+            }
+        } catch (IOException e) {
+            CobblemonPokedex.LOGGER.error("Failed to list players directory", e);
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        // Every write is self-contained, nothing to release
+    }
+}
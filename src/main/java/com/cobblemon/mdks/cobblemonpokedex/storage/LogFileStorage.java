@@ -0,0 +1,543 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Stores all players in a single append-only log file.
+ * Every save appends a new record; an in-memory index maps each UUID to the
+ * offset of its newest record. Superseded records are dropped by compaction
+ * once they make up most of the file.
+ *
+ * File layout: an 8 byte header (magic, format version) followed by records of
+ * [payload length:int][uuid:long,long][encoding:byte][payload][crc32:int].
+ * Records of either encoding can be mixed in one log, so switching the configured
+ * encoding only affects new saves. Binary records refer to species by id; new
+ * dictionary entries are appended as records under a reserved UUID ahead of the
+ * first player record that uses them.
+ */
+public class LogFileStorage implements PlayerDataStorage {
+    private static final int MAGIC = 0x53445231; // "SDR1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_OVERHEAD = 4 + 16 + 1 + 4;
+    private static final int MAX_PAYLOAD_SIZE = 16 * 1024 * 1024;
+    private static final byte ENCODING_JSON = 0;
+    private static final byte ENCODING_BINARY = 1;
+    private static final byte ENCODING_DICTIONARY = 2;
+    private static final UUID DICTIONARY_ID = new UUID(0L, 0L);
+
+    private static final int SCAN_WINDOW_SIZE = 64 * 1024;
+
+    private static final long MIN_COMPACTION_SIZE = 1024 * 1024;
+    private static final double COMPACTION_RATIO = 0.5;
+
+    private static final Gson GSON = new Gson();
+
+    private final Path file;
+    private final FileSyncMode syncMode;
+    private final PlayerDataEncoding encoding;
+    private final SpeciesDictionary dictionary = new SpeciesDictionary();
+    private final Map<UUID, Long> index = new HashMap<>();
+    private FileChannel channel;
+    private long liveBytes;
+
+    /**
+     * Opens the log, creating it if needed, and rebuilds the index.
+     * A torn record at the end of the file (from a crash mid-append) is truncated.
+     * A corrupt record followed by valid ones is skipped instead: the file is
+     * copied aside first and then compacted, so no later record is lost.
+     * @param file The log file
+     * @param syncMode Whether and how appended records are forced to disk
+     * @param encoding The encoding used for new records
+     * @throws IOException If the log cannot be opened or has an invalid header
+     */
+    public LogFileStorage(Path file, FileSyncMode syncMode, PlayerDataEncoding encoding) throws IOException {
+        this.file = file;
+        this.syncMode = syncMode;
+        this.encoding = encoding;
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        open();
+    }
+
+    public LogFileStorage(Path file, FileSyncMode syncMode) throws IOException {
+        this(file, syncMode, PlayerDataEncoding.JSON);
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index.clear();
+        dictionary.truncate(0);
+        liveBytes = 0;
+
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            writeFully(header, 0);
+            channel.force(true);
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            channel.close();
+            throw new IOException("Not a player data log: " + file);
+        }
+        int version = header.getInt();
+        if (version != FORMAT_VERSION) {
+            channel.close();
+            throw new IOException("Unsupported player data log version " + version + ": " + file);
+        }
+
+        boolean skipped;
+        try {
+            skipped = readIndex();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        if (skipped) {
+            compact();
+        }
+    }
+
+    /**
+     * Reads every record after the header into the index
+     * @return Whether a corrupt record had to be skipped
+     */
+    private boolean readIndex() throws IOException {
+        Map<UUID, Integer> sizes = new HashMap<>();
+        boolean skipped = false;
+        long position = HEADER_SIZE;
+        long size = channel.size();
+        while (position < size) {
+            Record record = readRecord(position);
+            if (record == null) {
+                long next = findNextRecord(position + 1, size);
+                if (next < 0) {
+                    // Nothing valid follows, so this is the tail of an interrupted append
+                    CobblemonPokedex.LOGGER.warn("Truncating torn record at offset " + position + " in " + file.getFileName());
+                    channel.truncate(position);
+                    break;
+                }
+                if (!skipped) {
+                    Path copy = file.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+                    Files.copy(file, copy);
+                    CobblemonPokedex.LOGGER.error("Corrupt player data log " + file.getFileName() + ", copied to " + copy.getFileName());
+                }
+                CobblemonPokedex.LOGGER.error("Skipping " + (next - position) + " unreadable bytes at offset " + position
+                    + " in " + file.getFileName());
+                skipped = true;
+                position = next;
+                continue;
+            }
+            if (record.encoding == ENCODING_DICTIONARY) {
+                readDictionaryRecord(record);
+                liveBytes += record.totalSize();
+                position += record.totalSize();
+                continue;
+            }
+            index.put(record.playerId, position);
+            sizes.put(record.playerId, record.totalSize());
+            position += record.totalSize();
+        }
+        for (int recordSize : sizes.values()) {
+            liveBytes += recordSize;
+        }
+        return skipped;
+    }
+
+    /**
+     * Scans forward for the next offset holding a record that passes its checksum
+     * @param from The first offset to try
+     * @param size The size of the log
+     * @return The offset of the record, or -1 if there is none
+     */
+    private long findNextRecord(long from, long size) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(SCAN_WINDOW_SIZE);
+        // Windows overlap by 3 bytes so every length field is seen whole once
+        for (long start = from; start + RECORD_OVERHEAD <= size; start += SCAN_WINDOW_SIZE - 3) {
+            window.clear();
+            window.limit((int) Math.min(SCAN_WINDOW_SIZE, size - start));
+            readFully(window, start);
+            for (int i = 0; i + 4 <= window.limit(); i++) {
+                long candidate = start + i;
+                int length = window.getInt(i);
+                if (length < 0 || length > MAX_PAYLOAD_SIZE || candidate + RECORD_OVERHEAD + length > size) continue;
+                if (readRecord(candidate) != null) {
+                    return candidate;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public synchronized PlayerData load(UUID playerId) {
+        Long offset = index.get(playerId);
+        if (offset == null) return null;
+
+        try {
+            Record record = readRecord(offset);
+            if (record == null) {
+                CobblemonPokedex.LOGGER.error("Corrupt player data record for " + playerId);
+                return null;
+            }
+            return decode(record);
+        } catch (Exception e) {
+            CobblemonPokedex.LOGGER.error("Failed to load player data for " + playerId, e);
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized Map<UUID, PlayerData> loadAll() {
+        Map<UUID, PlayerData> result = new HashMap<>();
+        for (UUID playerId : index.keySet()) {
+            PlayerData data = load(playerId);
+            if (data != null) {
+                result.put(playerId, data);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized Set<UUID> write(Map<UUID, PlayerData> batch) {
+        if (batch.isEmpty()) return new HashSet<>();
+
+        int dictionarySize = dictionary.size();
+        Map<UUID, Long> offsets = new HashMap<>();
+        Map<UUID, Integer> sizes = new HashMap<>();
+        byte[] dictionaryPayload = null;
+        long position = -1;
+        try {
+            // Encode the whole batch into one buffer so it is appended with a single write
+            Map<UUID, byte[]> payloads = new HashMap<>();
+            int totalSize = 0;
+            for (Map.Entry<UUID, PlayerData> entry : batch.entrySet()) {
+                byte[] payload = encode(entry.getValue());
+                payloads.put(entry.getKey(), payload);
+                totalSize += RECORD_OVERHEAD + payload.length;
+            }
+
+            // Species first seen in this batch go ahead of the records that use them
+            if (dictionary.size() > dictionarySize) {
+                dictionaryPayload = dictionaryPayload(dictionarySize);
+                totalSize += RECORD_OVERHEAD + dictionaryPayload.length;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(totalSize);
+            position = channel.size();
+            if (dictionaryPayload != null) {
+                putRecord(buffer, DICTIONARY_ID, ENCODING_DICTIONARY, dictionaryPayload);
+            }
+            for (Map.Entry<UUID, byte[]> entry : payloads.entrySet()) {
+                offsets.put(entry.getKey(), position + buffer.position());
+                sizes.put(entry.getKey(), RECORD_OVERHEAD + entry.getValue().length);
+                putRecord(buffer, entry.getKey(), encodingId(), entry.getValue());
+            }
+            buffer.flip();
+            writeFully(buffer, position);
+            if (syncMode != FileSyncMode.NONE) {
+                // One force per batch: the log is a natural group commit
+                channel.force(false);
+            }
+        } catch (IOException | RuntimeException e) {
+            CobblemonPokedex.LOGGER.error("Failed to append " + batch.size() + " player data records", e);
+            // Drop any partial append so later records are not stranded behind garbage
+            if (position >= 0) {
+                try {
+                    channel.truncate(position);
+                } catch (IOException truncateError) {
+                    CobblemonPokedex.LOGGER.error("Failed to roll back partial append", truncateError);
+                }
+            }
+            // The new ids were never persisted, so hand them out again on the retry
+            dictionary.truncate(dictionarySize);
+            return new HashSet<>(batch.keySet());
+        }
+
+        if (dictionaryPayload != null) {
+            liveBytes += RECORD_OVERHEAD + dictionaryPayload.length;
+        }
+
+        for (Map.Entry<UUID, Long> entry : offsets.entrySet()) {
+            Long previous = index.put(entry.getKey(), entry.getValue());
+            if (previous != null) {
+                liveBytes -= recordSizeAt(previous);
+            }
+            liveBytes += sizes.get(entry.getKey());
+        }
+
+        compactIfNeeded();
+        return new HashSet<>();
+    }
+
+    /**
+     * Rewrites the log if superseded records make up more than half of it
+     */
+    private void compactIfNeeded() {
+        try {
+            long size = channel.size();
+            if (size >= MIN_COMPACTION_SIZE && liveBytes < size * COMPACTION_RATIO) {
+                compact();
+            }
+        } catch (IOException e) {
+            CobblemonPokedex.LOGGER.error("Failed to compact player data log", e);
+        }
+    }
+
+    /**
+     * Copies the newest record of every player into a fresh log and swaps it in atomically
+     * @throws IOException If the compacted log could not be written
+     */
+    public synchronized void compact() throws IOException {
+        long before = channel.size();
+        Path temp = file.resolveSibling(file.getFileName().toString() + ".compact");
+        Map<UUID, Long> newIndex = new HashMap<>();
+
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            while (header.hasRemaining()) out.write(header);
+
+            long position = HEADER_SIZE;
+            if (dictionary.size() > 0) {
+                // The whole dictionary as one record, ahead of every player record
+                byte[] payload = dictionaryPayload(0);
+                ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + payload.length);
+                putRecord(record, DICTIONARY_ID, ENCODING_DICTIONARY, payload);
+                record.flip();
+                while (record.hasRemaining()) out.write(record);
+                position += RECORD_OVERHEAD + payload.length;
+            }
+            for (Map.Entry<UUID, Long> entry : index.entrySet()) {
+                int recordSize = recordSizeAt(entry.getValue());
+                ByteBuffer record = ByteBuffer.allocate(recordSize);
+                readFully(record, entry.getValue());
+                record.flip();
+                while (record.hasRemaining()) out.write(record);
+                newIndex.put(entry.getKey(), position);
+                position += recordSize;
+            }
+            out.force(true);
+        }
+
+        channel.close();
+        boolean replaced = false;
+        try {
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            replaced = true;
+        } finally {
+            // Reopen whichever file is now in place so the storage stays usable
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (replaced) {
+                index.clear();
+                index.putAll(newIndex);
+                liveBytes = channel.size() - HEADER_SIZE;
+            }
+        }
+
+        CobblemonPokedex.LOGGER.info("Compacted player data log from " + before + " to " + channel.size() + " bytes");
+    }
+
+    public synchronized boolean contains(UUID playerId) {
+        return index.containsKey(playerId);
+    }
+
+    /**
+     * @return The number of players with a record in the log
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            channel.force(true);
+            channel.close();
+        } catch (IOException e) {
+            CobblemonPokedex.LOGGER.error("Failed to close player data log", e);
+        }
+    }
+
+    /**
+     * @return The encoding new records are written with
+     */
+    public PlayerDataEncoding getEncoding() {
+        return encoding;
+    }
+
+    private byte[] encode(PlayerData data) {
+        if (encoding == PlayerDataEncoding.BINARY) {
+            return PlayerDataCodec.encode(data, dictionary);
+        }
+        return GSON.toJson(data.toJson()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte encodingId() {
+        return encoding == PlayerDataEncoding.BINARY ? ENCODING_BINARY : ENCODING_JSON;
+    }
+
+    private PlayerData decode(Record record) {
+        if (record.encoding == ENCODING_BINARY) {
+            return PlayerDataCodec.decode(record.payload, dictionary);
+        }
+        if (record.encoding != ENCODING_JSON) {
+            throw new IllegalStateException("Unknown record encoding " + record.encoding);
+        }
+        String json = new String(record.payload, StandardCharsets.UTF_8);
+        return new PlayerData(JsonParser.parseString(json).getAsJsonObject());
+    }
+
+    /**
+     * Encodes the dictionary entries from the given id onwards as
+     * [first id:int][count:int] followed by length-prefixed UTF-8 names
+     */
+    private byte[] dictionaryPayload(int fromId) {
+        List<String> names = dictionary.namesFrom(fromId);
+        List<byte[]> encoded = new ArrayList<>(names.size());
+        int size = 8;
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            size += 2 + bytes.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(fromId).putInt(names.size());
+        for (byte[] bytes : encoded) {
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+        return buffer.array();
+    }
+
+    private void readDictionaryRecord(Record record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(record.payload);
+        int fromId = buffer.getInt();
+        int count = buffer.getInt();
+        if (fromId != dictionary.size()) {
+            throw new IOException("Species dictionary gap in " + file.getFileName()
+                + ": expected id " + dictionary.size() + " but found " + fromId);
+        }
+        for (int i = 0; i < count; i++) {
+            byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(bytes);
+            dictionary.append(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void putRecord(ByteBuffer buffer, UUID playerId, byte encoding, byte[] payload) {
+        int start = buffer.position();
+        buffer.putInt(payload.length);
+        buffer.putLong(playerId.getMostSignificantBits());
+        buffer.putLong(playerId.getLeastSignificantBits());
+        buffer.put(encoding);
+        buffer.put(payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), start, buffer.position() - start);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Reads and verifies the record at the given offset
+     * @return The record, or null if it is truncated or fails its checksum
+     */
+    private Record readRecord(long offset) throws IOException {
+        long size = channel.size();
+        if (offset + 4 > size) return null;
+
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+        readFully(lengthBuffer, offset);
+        int length = lengthBuffer.getInt(0);
+        if (length < 0 || length > MAX_PAYLOAD_SIZE || offset + RECORD_OVERHEAD + length > size) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_OVERHEAD + length);
+        readFully(buffer, offset);
+        buffer.flip();
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.limit() - 4);
+        if ((int) crc.getValue() != buffer.getInt(buffer.limit() - 4)) {
+            return null;
+        }
+
+        buffer.getInt();
+        UUID playerId = new UUID(buffer.getLong(), buffer.getLong());
+        byte encoding = buffer.get();
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        return new Record(playerId, encoding, payload);
+    }
+
+    private int recordSizeAt(long offset) {
+        try {
+            ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+            readFully(lengthBuffer, offset);
+            return RECORD_OVERHEAD + lengthBuffer.getInt(0);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) throw new IOException("Unexpected end of player data log");
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static class Record {
+        private final UUID playerId;
+        private final byte encoding;
+        private final byte[] payload;
+
+        private Record(UUID playerId, byte encoding, byte[] payload) {
+            this.playerId = playerId;
+            this.encoding = encoding;
+            this.payload = payload;
+        }
+
+        private int totalSize() {
+            return RECORD_OVERHEAD + payload.length;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One-shot import of the per-file JSON layout into the log backend, and the
+ * matching export when switching back.
+ * v1.0 files are migrated by {@link JsonFileStorage} on the way in. The JSON
+ * files are left untouched so switching back to the JSON backend stays possible.
+ */
+public class LogStorageImporter {
+    private static final String MARKER_SUFFIX = ".imported";
+    private static final String EXPORTED_SUFFIX = ".exported";
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Imports all JSON player files into the log unless that has already been done
+     * @param source The JSON file storage to read from
+     * @param target The log storage to write into
+     * @param logFile The log file, used to place the completion marker next to it
+     * @return The number of imported players
+     */
+    public static int importIfNeeded(JsonFileStorage source, LogFileStorage target, Path logFile) {
+        Path marker = logFile.resolveSibling(logFile.getFileName().toString() + MARKER_SUFFIX);
+        if (Files.exists(marker) || !source.hasPlayerFiles()) {
+            return 0;
+        }
+
+        CobblemonPokedex.LOGGER.info("Importing player data files into " + logFile.getFileName() + "...");
+        Map<UUID, PlayerData> all = source.loadAll();
+
+        int imported = 0;
+        int failed = 0;
+        Map<UUID, PlayerData> batch = new HashMap<>();
+        for (Map.Entry<UUID, PlayerData> entry : all.entrySet()) {
+            // After an interrupted import, players already in the log may have newer data there
+            if (target.contains(entry.getKey())) continue;
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= BATCH_SIZE) {
+                Set<UUID> failedIds = target.write(batch);
+                imported += batch.size() - failedIds.size();
+                failed += failedIds.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            Set<UUID> failedIds = target.write(batch);
+            imported += batch.size() - failedIds.size();
+            failed += failedIds.size();
+        }
+
+        if (failed > 0) {
+            // No marker, so the import is retried on the next start
+            CobblemonPokedex.LOGGER.error("Failed to import " + failed + " player data files, will retry on next start");
+            return imported;
+        }
+
+        try {
+            Files.writeString(marker, "Imported " + imported + " players on " + Instant.now());
+        } catch (IOException e) {
+            CobblemonPokedex.LOGGER.error("Failed to write import marker " + marker.getFileName(), e);
+        }
+        CobblemonPokedex.LOGGER.info("Imported " + imported + " player data files into " + logFile.getFileName());
+        return imported;
+    }
+
+    /**
+     * Writes every player in an imported log back to JSON files. Records decode
+     * to the same JSON whatever their encoding, so nothing saved while the log
+     * backend was active is lost. Afterwards the log is renamed and the import
+     * marker removed, so selecting the log backend again starts a fresh import.
+     * @param logFile The log file
+     * @param target The JSON file storage to write into
+     * @return The number of exported players
+     */
+    public static int exportIfNeeded(Path logFile, JsonFileStorage target) {
+        Path marker = logFile.resolveSibling(logFile.getFileName().toString() + MARKER_SUFFIX);
+        if (!Files.exists(marker) || !Files.exists(logFile)) {
+            return 0;
+        }
+
+        CobblemonPokedex.LOGGER.info("Exporting " + logFile.getFileName() + " back to player data files...");
+        LogFileStorage source;
+        try {
+            source = new LogFileStorage(logFile, FileSyncMode.BATCH);
+        } catch (IOException e) {
+            CobblemonPokedex.LOGGER.error("Failed to open player data log for export", e);
+            return 0;
+        }
+
+        int exported = 0;
+        int failed = 0;
+        try {
+            Map<UUID, PlayerData> all = source.loadAll();
+            Map<UUID, PlayerData> batch = new HashMap<>();
+            for (Map.Entry<UUID, PlayerData> entry : all.entrySet()) {
+                batch.put(entry.getKey(), entry.getValue());
+                if (batch.size() >= BATCH_SIZE) {
+                    failed += target.write(batch).size();
+                    exported += batch.size();
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                failed += target.write(batch).size();
+                exported += batch.size();
+            }
+        } finally {
+            source.close();
+        }
+
+        if (failed > 0) {
+            // Keep the log and marker so the export is retried on the next start
+            CobblemonPokedex.LOGGER.error("Failed to export " + failed + " players, will retry on next start");
+            return exported - failed;
+        }
+
+        try {
+            Path exportedLog = logFile.resolveSibling(logFile.getFileName().toString() + EXPORTED_SUFFIX);
+            Files.delete(marker);
+            Files.move(logFile, exportedLog, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            CobblemonPokedex.LOGGER.error("Failed to retire exported player data log", e);
+        }
+        CobblemonPokedex.LOGGER.info("Exported " + exported + " players from " + logFile.getFileName());
+        return exported;
+    }
+}
@@ -0,0 +1,280 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compact binary encoding of {@link PlayerData}.
+ * Decoding an encoded record and calling {@link PlayerData#toJson()} gives the
+ * same JSON as the original, so the log can always be exported back to files.
+ *
+ * Layout (version 1): [codec version:byte][data version:string]
+ * [totalCaught][totalShinyCaught][highestTier][highestShinyTier][lastSaveTime]
+ * then the claimed tier sets of the regular, shiny and living dex tracks, then
+ * the set of living dex species ids from the {@link SpeciesDictionary}, then
+ * [count] pending mailbox items as strings, then [count] milestone watermarks
+ * by reward track, then the set of shiny species ids.
+ * Numbers are zigzag varints; int sets are described in {@link #writeIntSet}.
+ */
+public class PlayerDataCodec {
+    public static final byte CODEC_VERSION = 1;
+
+    private static final byte SET_DELTAS = 0;
+    private static final byte SET_BITSET = 1;
+
+    /**
+     * Encodes player data, assigning dictionary ids to species seen for the first time
+     * @param data The player data
+     * @param dictionary The species dictionary of the log the record is written to
+     * @return The encoded record payload
+     */
+    public static byte[] encode(PlayerData data, SpeciesDictionary dictionary) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(CODEC_VERSION);
+        writeString(out, data.getVersion());
+        writeVarLong(out, zigzag(data.getTotalCaught()));
+        writeVarLong(out, zigzag(data.getTotalShinyCaught()));
+        writeVarLong(out, zigzag(data.getHighestTierReached()));
+        writeVarLong(out, zigzag(data.getHighestShinyTierReached()));
+        writeVarLong(out, zigzag(data.getLastSaveTime()));
+
+        writeIntSet(out, data.getClaimedRewardTiers());
+        writeIntSet(out, data.getClaimedShinyRewardTiers());
+        writeIntSet(out, data.getClaimedLivingDexRewardTiers());
+
+        writeSpecies(out, data.getLivingDexSpecies(), dictionary);
+
+        List<String> pendingItems = data.getPendingItems();
+        writeVarLong(out, pendingItems.size());
+        for (String item : pendingItems) {
+            writeString(out, item);
+        }
+
+        int[] watermarks = data.getLastNotifiedTiers();
+        writeVarLong(out, watermarks.length);
+        for (int watermark : watermarks) {
+            writeVarLong(out, zigzag(watermark));
+        }
+
+        writeSpecies(out, data.getShinySpecies(), dictionary);
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a record written by {@link #encode}
+     * @param payload The encoded record payload
+     * @param dictionary The species dictionary of the log the record was read from
+     * @return The decoded player data
+     * @throws IllegalArgumentException If the payload is malformed or from another codec version
+     */
+    public static PlayerData decode(byte[] payload, SpeciesDictionary dictionary) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        try {
+            byte codecVersion = in.get();
+            if (codecVersion != CODEC_VERSION) {
+                throw new IllegalArgumentException("Unsupported player data codec version " + codecVersion);
+            }
+            String version = readString(in);
+            int totalCaught = (int) unzigzag(readVarLong(in));
+            int totalShinyCaught = (int) unzigzag(readVarLong(in));
+            int highestTier = (int) unzigzag(readVarLong(in));
+            int highestShinyTier = (int) unzigzag(readVarLong(in));
+            long lastSaveTime = unzigzag(readVarLong(in));
+
+            int[] claimed = readIntSet(in);
+            int[] claimedShiny = readIntSet(in);
+            int[] claimedLivingDex = readIntSet(in);
+
+            Set<String> species = readSpecies(in, dictionary);
+
+            int count = checkedCount(readVarLong(in), in);
+            List<String> pendingItems = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                pendingItems.add(readString(in));
+            }
+
+            int[] watermarks = new int[checkedCount(readVarLong(in), in)];
+            for (int i = 0; i < watermarks.length; i++) {
+                watermarks[i] = (int) unzigzag(readVarLong(in));
+            }
+
+            Set<String> shinySpecies = readSpecies(in, dictionary);
+
+            return new PlayerData(version, totalCaught, totalShinyCaught, highestTier, highestShinyTier,
+                lastSaveTime, claimed, claimedShiny, claimedLivingDex, species, pendingItems, watermarks, shinySpecies);
+        } catch (java.nio.BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated player data record", e);
+        }
+    }
+
+    private static void writeSpecies(ByteArrayOutputStream out, Set<String> species, SpeciesDictionary dictionary) {
+        int[] speciesIds = new int[species.size()];
+        int i = 0;
+        for (String name : species) {
+            speciesIds[i++] = dictionary.idFor(name);
+        }
+        Arrays.sort(speciesIds);
+        writeIntSet(out, speciesIds);
+    }
+
+    private static Set<String> readSpecies(ByteBuffer in, SpeciesDictionary dictionary) {
+        Set<String> species = new HashSet<>();
+        for (int id : readIntSet(in)) {
+            species.add(dictionary.nameFor(id));
+        }
+        return species;
+    }
+
+    /**
+     * Writes a sorted set of distinct ints as [count], then if not empty [base],
+     * and if more than one value [stride][mode] followed by either the
+     * (gap / stride) deltas as varints or a bitset over base + i * stride,
+     * whichever is smaller. Tier lists like 10, 20, 30... fit in a couple of bytes.
+     */
+    static void writeIntSet(ByteArrayOutputStream out, int[] sorted) {
+        writeVarLong(out, sorted.length);
+        if (sorted.length == 0) return;
+
+        int base = sorted[0];
+        writeVarLong(out, zigzag(base));
+        if (sorted.length == 1) return;
+
+        long stride = 0;
+        for (int i = 1; i < sorted.length; i++) {
+            stride = gcd(stride, (long) sorted[i] - sorted[i - 1]);
+        }
+        writeVarLong(out, stride);
+
+        long deltaBytes = 0;
+        for (int i = 1; i < sorted.length; i++) {
+            deltaBytes += varLongSize(((long) sorted[i] - sorted[i - 1]) / stride);
+        }
+        long bits = ((long) sorted[sorted.length - 1] - base) / stride + 1;
+        long bitsetBytes = varLongSize(bits) + (bits + 7) / 8;
+
+        if (bitsetBytes < deltaBytes) {
+            out.write(SET_BITSET);
+            writeVarLong(out, bits);
+            byte[] bitset = new byte[(int) ((bits + 7) / 8)];
+            for (int value : sorted) {
+                long bit = ((long) value - base) / stride;
+                bitset[(int) (bit >>> 3)] |= (byte) (1 << (bit & 7));
+            }
+            out.write(bitset, 0, bitset.length);
+        } else {
+            out.write(SET_DELTAS);
+            for (int i = 1; i < sorted.length; i++) {
+                writeVarLong(out, ((long) sorted[i] - sorted[i - 1]) / stride);
+            }
+        }
+    }
+
+    static int[] readIntSet(ByteBuffer in) {
+        int count = checkedCount(readVarLong(in), in);
+        int[] values = new int[count];
+        if (count == 0) return values;
+
+        long base = unzigzag(readVarLong(in));
+        values[0] = (int) base;
+        if (count == 1) return values;
+
+        long stride = readVarLong(in);
+        byte mode = in.get();
+        if (mode == SET_DELTAS) {
+            long value = base;
+            for (int i = 1; i < count; i++) {
+                value += readVarLong(in) * stride;
+                values[i] = (int) value;
+            }
+        } else if (mode == SET_BITSET) {
+            long bits = readVarLong(in);
+            byte[] bitset = new byte[checkedCount((bits + 7) / 8, in)];
+            in.get(bitset);
+            int i = 0;
+            for (long bit = 0; bit < bits && i < count; bit++) {
+                if ((bitset[(int) (bit >>> 3)] & (1 << (bit & 7))) != 0) {
+                    values[i++] = (int) (base + bit * stride);
+                }
+            }
+            if (i != count) {
+                throw new IllegalArgumentException("Int set bitset holds " + i + " values, expected " + count);
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown int set mode " + mode);
+        }
+        return values;
+    }
+
+    private static int checkedCount(long count, ByteBuffer in) {
+        // Every element takes at least a bit, so a larger count can only come from a corrupt record
+        if (count < 0 || count > (long) in.remaining() * 8 + 1) {
+            throw new IllegalArgumentException("Invalid element count " + count);
+        }
+        return (int) count;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[checkedCount(readVarLong(in), in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long readVarLong(ByteBuffer in) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IllegalArgumentException("Varint too long");
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
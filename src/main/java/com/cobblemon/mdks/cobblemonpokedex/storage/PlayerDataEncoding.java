@@ -0,0 +1,14 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+public enum PlayerDataEncoding {
+    JSON,             // Compact JSON, same document as the per-player files
+    BINARY;           // Versioned binary records, see PlayerDataCodec
+
+    public static PlayerDataEncoding fromString(String encoding) {
+        try {
+            return valueOf(encoding.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return JSON;
+        }
+    }
+}
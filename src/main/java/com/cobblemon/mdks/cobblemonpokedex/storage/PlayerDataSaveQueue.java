@@ -0,0 +1,182 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind queue for player data.
+ * Snapshots are taken on the calling thread and written to disk on a dedicated
+ * I/O thread. Repeated saves of the same player between two flushes are coalesced
+ * so only the newest snapshot is written.
+ */
+public class PlayerDataSaveQueue {
+    private static final int MAX_PENDING_BEFORE_FLUSH = 256;
+
+    private final Map<UUID, PlayerData> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private final Writer writer;
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean shutdown;
+
+    /**
+     * Writes a batch of player data snapshots to persistent storage
+     */
+    @FunctionalInterface
+    public interface Writer {
+        /**
+         * @param batch The snapshots to write, keyed by player UUID
+         * @return The UUIDs that could not be written and should be retried
+         */
+        Set<UUID> write(Map<UUID, PlayerData> batch);
+    }
+
+    /**
+     * Creates a new save queue and starts its flush schedule
+     * @param writer The writer used to persist flushed snapshots
+     * @param flushIntervalMs Maximum time a snapshot waits in the queue before being written
+     */
+    public PlayerDataSaveQueue(Writer writer, long flushIntervalMs) {
+        this.writer = writer;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SimpleDexRewards-IO");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a snapshot for writing, replacing any snapshot of the same player
+     * that has not been flushed yet
+     * @param playerId The UUID of the player
+     * @param snapshot A detached copy of the player's data
+     */
+    public void enqueue(UUID playerId, PlayerData snapshot) {
+        queued.incrementAndGet();
+        if (pending.put(playerId, snapshot) != null) {
+            coalesced.incrementAndGet();
+        }
+
+        if (shutdown) {
+            // Late saves after shutdown are written straight away so they are not lost
+            flush();
+        } else if (pending.size() >= MAX_PENDING_BEFORE_FLUSH) {
+            executor.execute(this::flushSafely);
+        }
+    }
+
+    /**
+     * Writes every pending snapshot on the calling thread.
+     * Snapshots stay visible through {@link #getPending} until they are on disk.
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty()) return;
+
+        Map<UUID, PlayerData> batch = new HashMap<>(pending);
+        Set<UUID> failedIds;
+        try {
+            failedIds = writer.write(batch);
+        } catch (Exception e) {
+            CobblemonPokedex.LOGGER.error("Failed to flush " + batch.size() + " player data snapshots", e);
+            failedIds = batch.keySet();
+        }
+        if (failedIds == null) failedIds = Collections.emptySet();
+
+        for (Map.Entry<UUID, PlayerData> entry : batch.entrySet()) {
+            if (failedIds.contains(entry.getKey())) {
+                // Left in place so the next flush retries it
+                failed.incrementAndGet();
+            } else {
+                flushed.incrementAndGet();
+                // Only drop the entry if no newer snapshot was queued during the write
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Runs a task on the I/O thread, after any flush that is already scheduled.
+     * Falls back to the calling thread once the queue has been shut down.
+     * @param task The task to run
+     */
+    public void runOnIoThread(Runnable task) {
+        if (!shutdown) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } catch (Exception e) {
+                        CobblemonPokedex.LOGGER.error("Unexpected error in player data I/O task", e);
+                    }
+                });
+                return;
+            } catch (RejectedExecutionException e) {
+                // Shut down between the check and the submit
+            }
+        }
+        task.run();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            CobblemonPokedex.LOGGER.error("Unexpected error in player data save queue", e);
+        }
+    }
+
+    /**
+     * Returns the queued snapshot of a player that has not been written yet
+     * @param playerId The UUID of the player
+     * @return The pending snapshot, or null if nothing is queued
+     */
+    public PlayerData getPending(UUID playerId) {
+        return pending.get(playerId);
+    }
+
+    /**
+     * Stops the flush schedule and drains all pending snapshots to disk.
+     * Blocks until the drain has completed.
+     */
+    public void shutdown() {
+        shutdown = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                CobblemonPokedex.LOGGER.warn("Player data I/O thread did not stop in time, draining on caller thread");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        CobblemonPokedex.LOGGER.info("Player data save queue drained: " + getStats());
+    }
+
+    public long getQueuedCount() { return queued.get(); }
+    public long getCoalescedCount() { return coalesced.get(); }
+    public long getFlushedCount() { return flushed.get(); }
+    public long getFailedCount() { return failed.get(); }
+    public int getPendingCount() { return pending.size(); }
+
+    public String getStats() {
+        return "queued=" + queued.get() + ", coalesced=" + coalesced.get()
+            + ", flushed=" + flushed.get() + ", failed=" + failed.get() + ", pending=" + pending.size();
+    }
+}
@@ -0,0 +1,39 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Persistent backend for player data.
+ * Implementations must be safe to call from the save queue's I/O thread and
+ * the server thread at the same time.
+ */
+public interface PlayerDataStorage {
+    /**
+     * Reads a single player's record
+     * @param playerId The UUID of the player
+     * @return The stored data, or null if the player has no record
+     */
+    PlayerData load(UUID playerId);
+
+    /**
+     * Reads every stored player record
+     * @return All stored data keyed by player UUID
+     */
+    Map<UUID, PlayerData> loadAll();
+
+    /**
+     * Writes a batch of player records
+     * @param batch The data to write, keyed by player UUID
+     * @return The UUIDs that could not be written
+     */
+    Set<UUID> write(Map<UUID, PlayerData> batch);
+
+    /**
+     * Releases any resources held by this storage
+     */
+    void close();
+}
@@ -0,0 +1,75 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only mapping between species names and small integer ids.
+ * Ids are handed out in first-seen order and never reused, so a binary record
+ * written with an older dictionary still decodes against a newer one.
+ */
+public class SpeciesDictionary {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Gets the id of a species, assigning the next free id if it is new
+     * @param species The species name
+     * @return The id of the species
+     */
+    public int idFor(String species) {
+        Integer id = ids.get(species);
+        if (id != null) return id;
+
+        int newId = names.size();
+        names.add(species);
+        ids.put(species, newId);
+        return newId;
+    }
+
+    /**
+     * @param id A species id
+     * @return The species name
+     * @throws IllegalArgumentException If the id was never assigned
+     */
+    public String nameFor(int id) {
+        if (id < 0 || id >= names.size()) {
+            throw new IllegalArgumentException("Unknown species id " + id);
+        }
+        return names.get(id);
+    }
+
+    /**
+     * Adds a name read back from storage. Names must arrive in id order.
+     * @param species The species name for the next id
+     */
+    public void append(String species) {
+        names.add(species);
+        ids.put(species, names.size() - 1);
+    }
+
+    /**
+     * @param fromId The first id to return
+     * @return The names assigned from the given id onwards, in id order
+     */
+    public List<String> namesFrom(int fromId) {
+        return new ArrayList<>(names.subList(fromId, names.size()));
+    }
+
+    /**
+     * Forgets every id from the given size onwards, used when the write that
+     * introduced them failed
+     * @param size The size to truncate to
+     */
+    public void truncate(int size) {
+        while (names.size() > size) {
+            ids.remove(names.remove(names.size() - 1));
+        }
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
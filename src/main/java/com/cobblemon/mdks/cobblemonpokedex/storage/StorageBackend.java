@@ -0,0 +1,14 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+public enum StorageBackend {
+    JSON,             // One JSON file per player in config/simpledexrewards/players
+    LOG;              // Single append-only log file with an in-memory index
+
+    public static StorageBackend fromString(String backend) {
+        try {
+            return valueOf(backend.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return JSON;
+        }
+    }
+}
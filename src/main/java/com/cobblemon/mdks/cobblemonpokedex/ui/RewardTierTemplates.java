@@ -0,0 +1,415 @@
+package com.cobblemon.mdks.cobblemonpokedex.ui;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.config.Reward;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardConfig.RewardTier;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardSnapshot;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardTrack;
+import com.cobblemon.mdks.cobblemonpokedex.util.Trace;
+import com.cobblemon.mdks.cobblemonpokedex.util.TraceCategory;
+
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.component.ItemLore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The player-independent parts of one reward track's page, compiled once per
+ * reward config load: display stacks with their names, and the lore of every
+ * tier in each state that does not depend on the player's progress. Opening the
+ * UI only copies these stacks and overlays the per-player state.
+ *
+ * Built lazily on first use so modded display items are registered by then.
+ */
+public final class RewardTierTemplates {
+    private static final AtomicReferenceArray<RewardTierTemplates> CURRENT = new AtomicReferenceArray<>(RewardTrack.values().length);
+
+    private static final int ROWS = 6;
+    private static final int COLUMNS = 9;
+
+    private final RewardTrack track;
+    private final List<TierTemplate> tiers;
+    private final CompletionTemplate completion;
+    private final ClaimAllTemplate claimAll;
+    private final List<NavigationTemplate> navigation;
+
+    private RewardTierTemplates(RewardTrack track, List<TierTemplate> tiers, CompletionTemplate completion,
+                                ClaimAllTemplate claimAll, List<NavigationTemplate> navigation) {
+        this.track = track;
+        this.tiers = tiers;
+        this.completion = completion;
+        this.claimAll = claimAll;
+        this.navigation = navigation;
+    }
+
+    /**
+     * @return The completion page templates for the loaded reward config, compiling them if needed
+     */
+    public static RewardTierTemplates get() {
+        return get(RewardTrack.COMPLETION);
+    }
+
+    /**
+     * @param track The reward track of the page
+     * @return The page templates for the loaded reward config, compiling them if needed
+     */
+    public static RewardTierTemplates get(RewardTrack track) {
+        RewardTierTemplates templates = CURRENT.get(track.ordinal());
+        if (templates == null) {
+            templates = compile(RewardSnapshot.current().track(track), track);
+            CURRENT.set(track.ordinal(), templates);
+        }
+        return templates;
+    }
+
+    /**
+     * Drops the compiled templates, called whenever the reward config is (re)loaded
+     */
+    public static void invalidate() {
+        for (int i = 0; i < CURRENT.length(); i++) {
+            CURRENT.set(i, null);
+        }
+    }
+
+    /**
+     * @param track A reward track
+     * @return Whether the track has a page: it is enabled and has tiers
+     */
+    public static boolean hasPage(RewardTrack track) {
+        return CobblemonPokedex.pokedexConfig.isTrackEnabled(track)
+            && RewardSnapshot.current().track(track).size() > 0;
+    }
+
+    private static RewardTierTemplates compile(RewardSnapshot.Track compiled, RewardTrack track) {
+        List<TierTemplate> tiers = new ArrayList<>();
+        for (int ordinal = 0; ordinal < compiled.size(); ordinal++) {
+            int tier = compiled.getIndex().tierAt(ordinal);
+            RewardTier reward = compiled.getRewardAt(ordinal);
+            if (reward == null) {
+                CobblemonPokedex.LOGGER.error("No reward found for " + trackName(track) + "tier: " + tier);
+                continue;
+            }
+            if (reward.getDisplay() == null) {
+                CobblemonPokedex.LOGGER.error("No display configured for " + trackName(track) + "tier: " + tier);
+                continue;
+            }
+            if (!compiled.isOnPage(ordinal)) continue; // Position rejected when the config was compiled
+            tiers.add(new TierTemplate(tier, reward));
+        }
+
+        CompletionTemplate completion = null;
+        RewardTier completionReward = compiled.getProgressDisplay();
+        if (completionReward != null && completionReward.getDisplay() != null) {
+            completion = new CompletionTemplate(completionReward, track);
+        }
+
+        boolean[] used = new boolean[ROWS * COLUMNS];
+        for (TierTemplate tier : tiers) {
+            markUsed(used, tier.getRow(), tier.getSlot());
+        }
+        if (completion != null) {
+            markUsed(used, completion.getRow(), completion.getSlot());
+        }
+
+        // The claim-all button goes two slots right of the default completion tracker
+        ClaimAllTemplate claimAll = null;
+        int claimAllPosition = freeSlot(used, (ROWS - 1) * COLUMNS + 6);
+        if (claimAllPosition >= 0) {
+            claimAll = new ClaimAllTemplate(claimAllPosition / COLUMNS, claimAllPosition % COLUMNS);
+        } else {
+            CobblemonPokedex.LOGGER.warn("No free slot for the claim all button, every slot holds a tier");
+        }
+
+        // One button per other page, leftwards from two slots left of the tracker
+        List<NavigationTemplate> navigation = new ArrayList<>();
+        int preferred = (ROWS - 1) * COLUMNS + 2;
+        for (RewardTrack target : RewardTrack.values()) {
+            if (target == track || !hasPage(target)) continue;
+            int position = freeSlot(used, preferred--);
+            if (position < 0) break;
+            navigation.add(new NavigationTemplate(target, position / COLUMNS, position % COLUMNS));
+        }
+
+        Trace.debug(TraceCategory.UI, "Compiled reward UI templates for {} {} tiers", tiers.size(), track);
+        return new RewardTierTemplates(track, List.copyOf(tiers), completion, claimAll, List.copyOf(navigation));
+    }
+
+    /**
+     * Claims a slot, the preferred one if free, else the first free one from the bottom
+     * @return The claimed position, or -1 if every slot is used
+     */
+    private static int freeSlot(boolean[] used, int preferred) {
+        if (preferred >= 0 && !used[preferred]) {
+            used[preferred] = true;
+            return preferred;
+        }
+        for (int position = used.length - 1; position >= 0; position--) {
+            if (!used[position]) {
+                used[position] = true;
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private static String trackName(RewardTrack track) {
+        switch (track) {
+            case SHINY: return "shiny ";
+            case LIVING_DEX: return "living dex ";
+            default: return "";
+        }
+    }
+
+    /**
+     * @param track A reward track
+     * @return The title of the track's page
+     */
+    public static String titleOf(RewardTrack track) {
+        switch (track) {
+            case SHINY: return "Shiny Pokedex Progression";
+            case LIVING_DEX: return "Living Dex Progression";
+            default: return "Pokedex Progression";
+        }
+    }
+
+    private static String completionNameOf(RewardTrack track) {
+        switch (track) {
+            case SHINY: return "Shiny Pokedex Completion";
+            case LIVING_DEX: return "Living Dex Completion";
+            default: return "Pokedex Completion";
+        }
+    }
+
+    private static Item iconOf(RewardTrack track) {
+        switch (track) {
+            case SHINY: return Items.NETHER_STAR;
+            case LIVING_DEX: return Items.CHEST;
+            default: return Items.BOOK;
+        }
+    }
+
+    private static void markUsed(boolean[] used, int row, int slot) {
+        if (row >= 0 && row < ROWS && slot >= 0 && slot < COLUMNS) {
+            used[row * COLUMNS + slot] = true;
+        }
+    }
+
+    public RewardTrack getTrack() {
+        return track;
+    }
+
+    public List<TierTemplate> getTiers() {
+        return tiers;
+    }
+
+    /**
+     * @return The completion tracker template, or null if it has no display
+     */
+    public CompletionTemplate getCompletion() {
+        return completion;
+    }
+
+    /**
+     * @return The claim all button template, or null if the grid has no free slot
+     */
+    public ClaimAllTemplate getClaimAll() {
+        return claimAll;
+    }
+
+    /**
+     * @return The buttons leading to the pages of the other enabled tracks
+     */
+    public List<NavigationTemplate> getNavigation() {
+        return navigation;
+    }
+
+    /**
+     * One reward tier button. Claimed and available stacks are complete and only
+     * need copying; the locked stack gets its lore per open because it shows progress.
+     */
+    public static final class TierTemplate {
+        private final int tier;
+        private final int row;
+        private final int slot;
+        private final ItemStack claimedStack;
+        private final ItemStack availableStack;
+        private final ItemStack lockedStack;
+        private final List<Component> lockedLorePrefix;
+
+        private TierTemplate(int tier, RewardTier reward) {
+            this.tier = tier;
+            this.row = reward.getRow() - 1;
+            this.slot = reward.getSlot() - 1;
+
+            List<Component> lore = new ArrayList<>();
+            lore.add(Component.literal("§7Required: §f" + tier + "%"));
+            for (Reward item : reward.getRewards()) {
+                lore.add(Component.literal("§7• " + item.getDisplayText()));
+            }
+            lore.add(Component.literal("")); // Empty line for spacing
+
+            ItemStack base = reward.getDisplayItem();
+            base.set(DataComponents.CUSTOM_NAME, Component.literal("§6" + reward.getDisplay().getFormat()));
+            base.set(DataComponents.HIDE_ADDITIONAL_TOOLTIP, net.minecraft.util.Unit.INSTANCE);
+
+            this.claimedStack = withLore(base, lore, Component.literal("§a✔ Claimed"));
+            this.availableStack = withLore(base, lore,
+                Component.literal("§e⚡ Available"), Component.literal("§7Click to claim!"));
+            this.lockedStack = base;
+            this.lockedLorePrefix = List.copyOf(lore);
+        }
+
+        private static ItemStack withLore(ItemStack base, List<Component> prefix, Component... lines) {
+            List<Component> lore = new ArrayList<>(prefix);
+            lore.addAll(List.of(lines));
+            ItemStack stack = base.copy();
+            stack.set(DataComponents.LORE, new ItemLore(lore));
+            return stack;
+        }
+
+        public int getTier() { return tier; }
+        public int getRow() { return row; }
+        public int getSlot() { return slot; }
+
+        /**
+         * @return A fresh copy of the display stack for a claimed tier
+         */
+        public ItemStack claimed() {
+            return claimedStack.copy();
+        }
+
+        /**
+         * @return A fresh copy of the display stack for a reached but unclaimed tier
+         */
+        public ItemStack available() {
+            return availableStack.copy();
+        }
+
+        /**
+         * @param completionPercentage The player's current completion
+         * @return A fresh display stack for a locked tier showing the player's progress
+         */
+        public ItemStack locked(double completionPercentage) {
+            List<Component> lore = new ArrayList<>(lockedLorePrefix.size() + 2);
+            lore.addAll(lockedLorePrefix);
+            lore.add(Component.literal("§c✘ Locked"));
+            lore.add(Component.literal("§7Progress: §f" + String.format("%.1f%%", completionPercentage)));
+            ItemStack stack = lockedStack.copy();
+            stack.set(DataComponents.LORE, new ItemLore(lore));
+            return stack;
+        }
+    }
+
+    /**
+     * The completion tracker button, whose lore is the only per-player text
+     */
+    public static final class CompletionTemplate {
+        private final int row;
+        private final int slot;
+        private final ItemStack baseStack;
+        private final String format;
+
+        private CompletionTemplate(RewardTier reward, RewardTrack track) {
+            this.row = reward.getRow() - 1;
+            this.slot = reward.getSlot() - 1;
+            this.format = reward.getDisplay().getFormat();
+
+            ItemStack base = reward.getDisplayItem();
+            base.set(DataComponents.CUSTOM_NAME, Component.literal("§6" + completionNameOf(track)));
+            base.set(DataComponents.HIDE_ADDITIONAL_TOOLTIP, net.minecraft.util.Unit.INSTANCE);
+            this.baseStack = base;
+        }
+
+        public int getRow() { return row; }
+        public int getSlot() { return slot; }
+
+        /**
+         * @return A fresh display stack showing the given progress
+         */
+        public ItemStack create(int caught, int total, double completionPercentage) {
+            String text = format
+                .replace("{caught}", String.valueOf(caught))
+                .replace("{total}", String.valueOf(total))
+                .replace("{percent}", String.format("%.1f", completionPercentage));
+            ItemStack stack = baseStack.copy();
+            stack.set(DataComponents.LORE, new ItemLore(List.of(Component.literal("§7" + text))));
+            return stack;
+        }
+    }
+
+    /**
+     * The claim all button, which shows how many tiers are ready to claim
+     */
+    public static final class ClaimAllTemplate {
+        private final int row;
+        private final int slot;
+        private final ItemStack readyStack;
+        private final ItemStack emptyStack;
+
+        private ClaimAllTemplate(int row, int slot) {
+            this.row = row;
+            this.slot = slot;
+
+            this.readyStack = new ItemStack(Items.CHEST);
+            readyStack.set(DataComponents.CUSTOM_NAME, Component.literal("§6Claim All"));
+            this.emptyStack = new ItemStack(Items.MINECART);
+            emptyStack.set(DataComponents.CUSTOM_NAME, Component.literal("§7Claim All"));
+            emptyStack.set(DataComponents.LORE, new ItemLore(List.of(Component.literal("§7No rewards ready to claim"))));
+        }
+
+        public int getRow() { return row; }
+        public int getSlot() { return slot; }
+
+        /**
+         * @param available The number of tiers the player can claim
+         * @return A fresh display stack for the button
+         */
+        public ItemStack create(int available) {
+            if (available == 0) {
+                return emptyStack.copy();
+            }
+            ItemStack stack = readyStack.copy();
+            stack.set(DataComponents.LORE, new ItemLore(List.of(
+                Component.literal("§e⚡ " + available + " reward" + (available == 1 ? "" : "s") + " ready"),
+                Component.literal("§7Click to claim them all!"))));
+            return stack;
+        }
+    }
+
+    /**
+     * A button that switches to the page of another reward track
+     */
+    public static final class NavigationTemplate {
+        private final RewardTrack target;
+        private final int row;
+        private final int slot;
+        private final ItemStack stack;
+
+        private NavigationTemplate(RewardTrack target, int row, int slot) {
+            this.target = target;
+            this.row = row;
+            this.slot = slot;
+
+            this.stack = new ItemStack(iconOf(target));
+            stack.set(DataComponents.CUSTOM_NAME, Component.literal("§b" + titleOf(target)));
+            stack.set(DataComponents.LORE, new ItemLore(List.of(Component.literal("§7Click to open"))));
+        }
+
+        public RewardTrack getTarget() { return target; }
+        public int getRow() { return row; }
+        public int getSlot() { return slot; }
+
+        /**
+         * @return A fresh copy of the button's display stack
+         */
+        public ItemStack create() {
+            return stack.copy();
+        }
+    }
+}
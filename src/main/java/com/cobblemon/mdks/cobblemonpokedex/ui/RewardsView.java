@@ -0,0 +1,212 @@
+package com.cobblemon.mdks.cobblemonpokedex.ui;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardTrack;
+import com.cobblemon.mdks.cobblemonpokedex.progress.DexProgress;
+import com.cobblemon.mdks.cobblemonpokedex.ui.RewardTierTemplates.ClaimAllTemplate;
+import com.cobblemon.mdks.cobblemonpokedex.ui.RewardTierTemplates.CompletionTemplate;
+import com.cobblemon.mdks.cobblemonpokedex.ui.RewardTierTemplates.NavigationTemplate;
+import com.cobblemon.mdks.cobblemonpokedex.ui.RewardTierTemplates.TierTemplate;
+import com.cobblemon.mdks.cobblemonpokedex.util.Trace;
+import com.cobblemon.mdks.cobblemonpokedex.util.TraceCategory;
+
+import ca.landonjw.gooeylibs2.api.UIManager;
+import ca.landonjw.gooeylibs2.api.button.GooeyButton;
+import ca.landonjw.gooeylibs2.api.button.PlaceholderButton;
+import ca.landonjw.gooeylibs2.api.page.LinkedPage;
+import ca.landonjw.gooeylibs2.api.template.types.ChestTemplate;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The rewards page of one reward track a player has open. The page is built once when it opens;
+ * after a claim only the buttons whose state changed are replaced in the
+ * template, which sends just those slots to the client instead of reopening
+ * the whole container.
+ */
+public class RewardsView {
+    private static final Map<UUID, RewardsView> OPEN = new ConcurrentHashMap<>();
+
+    /**
+     * Handles clicks on the page, kept outside the view so claiming stays in the command
+     */
+    public interface Listener {
+        /**
+         * @param view The view that was clicked
+         * @param tier The tier of the clicked button
+         * @param state The state the button showed when clicked
+         */
+        void onTierClick(RewardsView view, int tier, TierState state);
+
+        /**
+         * @param view The view whose claim all button was clicked
+         */
+        void onClaimAll(RewardsView view);
+
+        /**
+         * @param view The view whose navigation button was clicked
+         * @param target The track of the page to switch to
+         */
+        void onNavigate(RewardsView view, RewardTrack target);
+    }
+
+    public enum TierState {
+        LOCKED,           // Not reached yet
+        AVAILABLE,        // Reached but not claimed
+        CLAIMED           // Reached and claimed
+    }
+
+    private final ServerPlayer player;
+    private final RewardTrack track;
+    private final Listener listener;
+    private final RewardTierTemplates templates;
+    private final ChestTemplate template;
+    private final TierState[] states;
+    private DexProgress shown;
+    private int shownClaimable = -1;
+
+    private RewardsView(ServerPlayer player, RewardTrack track, Listener listener, RewardTierTemplates templates) {
+        this.player = player;
+        this.track = track;
+        this.listener = listener;
+        this.templates = templates;
+        this.template = ChestTemplate.builder(6)
+            .fill(new PlaceholderButton()) // Fill with empty background
+            .build();
+        this.states = new TierState[templates.getTiers().size()];
+
+        // Navigation never changes while the page is open
+        for (NavigationTemplate navigation : templates.getNavigation()) {
+            RewardTrack target = navigation.getTarget();
+            template.set(navigation.getRow(), navigation.getSlot(), GooeyButton.builder()
+                .display(navigation.create())
+                .onClick(action -> listener.onNavigate(this, target))
+                .build());
+        }
+    }
+
+    /**
+     * Builds the page of a track for a player and opens it, replacing any page they had open
+     * @param player The viewer
+     * @param track The reward track of the page
+     * @param listener Handles clicks on the page
+     */
+    public static void open(ServerPlayer player, RewardTrack track, Listener listener) {
+        // Static parts of every button come precompiled, only per-player state is added here
+        RewardsView view = new RewardsView(player, track, listener, RewardTierTemplates.get(track));
+        view.update(CobblemonPokedex.dexProgressCache.get(player, track));
+        Trace.debug(TraceCategory.UI, "Opening {} rewards page for {} with {} tiers",
+            track, player.getGameProfile().getName(), view.states.length);
+
+        LinkedPage page = LinkedPage.builder()
+            .template(view.template)
+            .title(RewardTierTemplates.titleOf(track))
+            .onClose(action -> OPEN.remove(player.getUUID(), view))
+            .build();
+        OPEN.put(player.getUUID(), view);
+        UIManager.openUIForcefully(player, page);
+    }
+
+    /**
+     * Brings a player's open rewards page up to date, if they have one open, after
+     * their progress or claims changed outside the page (captures, /dexrewards claimall)
+     * @param playerId The player
+     */
+    public static void refreshOpen(UUID playerId) {
+        RewardsView view = OPEN.get(playerId);
+        if (view != null) {
+            view.refresh();
+        }
+    }
+
+    /**
+     * Forgets a player's page, for players who disconnect without closing it
+     * @param playerId The player
+     */
+    public static void remove(UUID playerId) {
+        OPEN.remove(playerId);
+    }
+
+    /**
+     * Brings the page up to date with the viewer's current progress and claims,
+     * replacing only the buttons that changed. If the reward config was reloaded
+     * since the page opened, the page is rebuilt instead.
+     */
+    public void refresh() {
+        if (templates != RewardTierTemplates.get(track)) {
+            open(player, track, listener);
+            return;
+        }
+        int changed = update(CobblemonPokedex.dexProgressCache.get(player, track));
+        Trace.trace(TraceCategory.UI, "Refreshed {} buttons for {}", changed, player.getGameProfile().getName());
+    }
+
+    public ServerPlayer getPlayer() {
+        return player;
+    }
+
+    public RewardTrack getTrack() {
+        return track;
+    }
+
+    /**
+     * @return The number of buttons replaced
+     */
+    private int update(DexProgress progress) {
+        int changed = 0;
+        double percent = progress.getPercent();
+        boolean progressChanged = shown == null || shown.getCaught() != progress.getCaught()
+            || shown.getTotal() != progress.getTotal();
+
+        CompletionTemplate completion = templates.getCompletion();
+        if (completion != null && progressChanged) {
+            template.set(completion.getRow(), completion.getSlot(), GooeyButton.builder()
+                .display(completion.create(progress.getCaught(), progress.getTotal(), percent))
+                .build());
+            changed++;
+        }
+
+        PlayerData playerData = CobblemonPokedex.playerDataConfig.getPlayerData(player.getUUID());
+        List<TierTemplate> tiers = templates.getTiers();
+        for (int i = 0; i < tiers.size(); i++) {
+            TierTemplate tierTemplate = tiers.get(i);
+            int tier = tierTemplate.getTier();
+            TierState state = percent < tier ? TierState.LOCKED
+                : playerData.hasClaimed(track, tier) ? TierState.CLAIMED : TierState.AVAILABLE;
+            // Locked buttons show the current progress, so they change with it
+            if (state == states[i] && !(state == TierState.LOCKED && progressChanged)) continue;
+
+            states[i] = state;
+            GooeyButton tierButton = GooeyButton.builder()
+                .display(switch (state) {
+                    case CLAIMED -> tierTemplate.claimed();
+                    case AVAILABLE -> tierTemplate.available();
+                    default -> tierTemplate.locked(percent);
+                })
+                .onClick(action -> listener.onTierClick(this, tier, state))
+                .build();
+            template.set(tierTemplate.getRow(), tierTemplate.getSlot(), tierButton);
+            changed++;
+        }
+
+        ClaimAllTemplate claimAll = templates.getClaimAll();
+        if (claimAll != null) {
+            int claimable = Long.bitCount(playerData.getClaimableMask(track, progress.getTierIndex(), percent));
+            if (claimable != shownClaimable) {
+                shownClaimable = claimable;
+                template.set(claimAll.getRow(), claimAll.getSlot(), GooeyButton.builder()
+                    .display(claimAll.create(claimable))
+                    .onClick(action -> listener.onClaimAll(this))
+                    .build());
+                changed++;
+            }
+        }
+        shown = progress;
+        return changed;
+    }
+}
@@ -0,0 +1,78 @@
+package com.cobblemon.mdks.cobblemonpokedex.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide table of dense species ids, so per-player species sets can be
+ * bitsets instead of sets of strings. The table is seeded from Cobblemon's
+ * species registry in Pokedex order once the server has started; names seen
+ * earlier (from saved player data) or not in the registry get the next free id.
+ * Ids only live in memory and are never written to disk.
+ *
+ * Species keys are the path of the species identifier, e.g. "pikachu".
+ */
+public final class SpeciesIds {
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[0];
+
+    private SpeciesIds() {
+    }
+
+    /**
+     * Gets the id of a species, assigning one if the species is new
+     * @param species The species key
+     * @return The dense id of the species
+     */
+    public static int intern(String species) {
+        Integer id = IDS.get(species);
+        if (id != null) return id;
+        return assign(species);
+    }
+
+    /**
+     * Looks up an id without assigning one, for read-only queries
+     * @param species The species key
+     * @return The id, or -1 if the species was never interned
+     */
+    public static int idOf(String species) {
+        Integer id = IDS.get(species);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * @param id A species id
+     * @return The species key for the id
+     */
+    public static String nameOf(int id) {
+        return names[id];
+    }
+
+    /**
+     * Interns species in the given order, used to seed the table from the registry
+     * @param species The species keys
+     */
+    public static void registerAll(Iterable<String> species) {
+        for (String name : species) {
+            intern(name);
+        }
+    }
+
+    public static int size() {
+        return names.length;
+    }
+
+    private static synchronized int assign(String species) {
+        Integer existing = IDS.get(species);
+        if (existing != null) return existing;
+
+        // Publish the name before the id so readers never see an id without its name
+        int id = names.length;
+        String[] grown = Arrays.copyOf(names, id + 1);
+        grown[id] = species;
+        names = grown;
+        IDS.put(species, id);
+        return id;
+    }
+}
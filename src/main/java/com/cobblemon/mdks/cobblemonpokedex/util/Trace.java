@@ -0,0 +1,171 @@
+package com.cobblemon.mdks.cobblemonpokedex.util;
+
+import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Categorized debug tracing. Each category has its own level, set in the Pokedex
+ * config. Messages use SLF4J style {} placeholders and are formatted only once
+ * they pass the level check, so a message below its category's level is never
+ * built. Calls with up to three arguments use fixed-arity overloads and allocate
+ * no varargs array; the arguments themselves are still evaluated (and primitives
+ * boxed) before the check, so guard costly ones with {@link #isEnabled}.
+ *
+ * Traced messages go to a ring buffer that admins can dump with
+ * /dexrewards trace, and optionally to the server log as well.
+ */
+public final class Trace {
+    public static final int DEFAULT_BUFFER_SIZE = 512;
+
+    private static volatile TraceLevel[] levels = defaultLevels();
+    private static volatile TraceBuffer buffer = new TraceBuffer(DEFAULT_BUFFER_SIZE);
+    private static volatile boolean toLog = false;
+
+    private Trace() {}
+
+    /**
+     * Applies new trace settings. The buffer is only replaced, losing its entries,
+     * when its size changes.
+     * @param categoryLevels The level of each category; missing categories are off
+     * @param bufferSize The number of entries the ring buffer keeps
+     * @param logTraces Whether traced messages are also written to the server log
+     */
+    public static void configure(Map<TraceCategory, TraceLevel> categoryLevels, int bufferSize, boolean logTraces) {
+        TraceLevel[] configured = defaultLevels();
+        for (Map.Entry<TraceCategory, TraceLevel> entry : categoryLevels.entrySet()) {
+            configured[entry.getKey().ordinal()] = entry.getValue();
+        }
+        if (buffer.getCapacity() != Math.max(1, bufferSize)) {
+            buffer = new TraceBuffer(bufferSize);
+        }
+        toLog = logTraces;
+        levels = configured;
+    }
+
+    /**
+     * Changes one category's level until the config is next loaded
+     * @param category The category
+     * @param level The new level
+     */
+    public static synchronized void setLevel(TraceCategory category, TraceLevel level) {
+        TraceLevel[] updated = levels.clone();
+        updated[category.ordinal()] = level;
+        levels = updated;
+    }
+
+    public static TraceLevel getLevel(TraceCategory category) {
+        return levels[category.ordinal()];
+    }
+
+    /**
+     * @param category The category of a message
+     * @param level The level of the message
+     * @return Whether a message of this level in this category would be recorded
+     */
+    public static boolean isEnabled(TraceCategory category, TraceLevel level) {
+        return level != TraceLevel.OFF && levels[category.ordinal()].compareTo(level) >= 0;
+    }
+
+    public static void info(TraceCategory category, String format, Object arg) {
+        if (isEnabled(category, TraceLevel.INFO)) record(category, TraceLevel.INFO, format, arg);
+    }
+
+    public static void info(TraceCategory category, String format, Object arg1, Object arg2) {
+        if (isEnabled(category, TraceLevel.INFO)) record(category, TraceLevel.INFO, format, arg1, arg2);
+    }
+
+    public static void info(TraceCategory category, String format, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(category, TraceLevel.INFO)) record(category, TraceLevel.INFO, format, arg1, arg2, arg3);
+    }
+
+    public static void info(TraceCategory category, String format, Object... args) {
+        if (isEnabled(category, TraceLevel.INFO)) record(category, TraceLevel.INFO, format, args);
+    }
+
+    public static void debug(TraceCategory category, String format, Object arg) {
+        if (isEnabled(category, TraceLevel.DEBUG)) record(category, TraceLevel.DEBUG, format, arg);
+    }
+
+    public static void debug(TraceCategory category, String format, Object arg1, Object arg2) {
+        if (isEnabled(category, TraceLevel.DEBUG)) record(category, TraceLevel.DEBUG, format, arg1, arg2);
+    }
+
+    public static void debug(TraceCategory category, String format, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(category, TraceLevel.DEBUG)) record(category, TraceLevel.DEBUG, format, arg1, arg2, arg3);
+    }
+
+    public static void debug(TraceCategory category, String format, Object... args) {
+        if (isEnabled(category, TraceLevel.DEBUG)) record(category, TraceLevel.DEBUG, format, args);
+    }
+
+    public static void trace(TraceCategory category, String format, Object arg) {
+        if (isEnabled(category, TraceLevel.TRACE)) record(category, TraceLevel.TRACE, format, arg);
+    }
+
+    public static void trace(TraceCategory category, String format, Object arg1, Object arg2) {
+        if (isEnabled(category, TraceLevel.TRACE)) record(category, TraceLevel.TRACE, format, arg1, arg2);
+    }
+
+    public static void trace(TraceCategory category, String format, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(category, TraceLevel.TRACE)) record(category, TraceLevel.TRACE, format, arg1, arg2, arg3);
+    }
+
+    public static void trace(TraceCategory category, String format, Object... args) {
+        if (isEnabled(category, TraceLevel.TRACE)) record(category, TraceLevel.TRACE, format, args);
+    }
+
+    /**
+     * @param limit The most entries to return
+     * @return Up to limit of the newest traced entries, oldest first
+     */
+    public static List<TraceBuffer.Entry> getRecent(int limit) {
+        return buffer.getRecent(limit);
+    }
+
+    public static TraceBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Replaces each {} in a format with the next argument, SLF4J style. A {} preceded
+     * by a backslash is kept as written, and {}s without an argument are left alone.
+     * @param format The message format
+     * @param args The arguments
+     * @return The formatted message
+     */
+    public static String format(String format, Object... args) {
+        if (args == null || args.length == 0) return format;
+
+        StringBuilder message = new StringBuilder(format.length() + 16 * args.length);
+        int arg = 0;
+        int start = 0;
+        int placeholder;
+        while (arg < args.length && (placeholder = format.indexOf("{}", start)) >= 0) {
+            if (placeholder > 0 && format.charAt(placeholder - 1) == '\\') {
+                message.append(format, start, placeholder - 1).append("{}");
+            } else {
+                message.append(format, start, placeholder).append(args[arg++]);
+            }
+            start = placeholder + 2;
+        }
+        return message.append(format, start, format.length()).toString();
+    }
+
+    private static void record(TraceCategory category, TraceLevel level, String format, Object... args) {
+        String message = format(format, args);
+        buffer.add(new TraceBuffer.Entry(System.currentTimeMillis(), category, level,
+            Thread.currentThread().getName(), message));
+        if (toLog) {
+            CobblemonPokedex.LOGGER.info("[trace/" + category.name().toLowerCase() + "] " + message);
+        }
+    }
+
+    private static TraceLevel[] defaultLevels() {
+        TraceLevel[] defaults = new TraceLevel[TraceCategory.values().length];
+        Arrays.fill(defaults, TraceLevel.OFF);
+        return defaults;
+    }
+}
@@ -0,0 +1,93 @@
+package com.cobblemon.mdks.cobblemonpokedex.util;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A fixed size ring of the most recent trace entries. Recording overwrites the
+ * oldest entry once the ring is full, so tracing never grows memory no matter
+ * how long it is left on.
+ */
+public class TraceBuffer {
+    private final Entry[] entries;
+    private long recorded = 0;
+
+    /**
+     * @param capacity The number of entries kept
+     */
+    public TraceBuffer(int capacity) {
+        this.entries = new Entry[Math.max(1, capacity)];
+    }
+
+    /**
+     * Records an entry, overwriting the oldest one if the buffer is full
+     * @param entry The entry
+     */
+    public synchronized void add(Entry entry) {
+        entries[(int) (recorded % entries.length)] = entry;
+        recorded++;
+    }
+
+    /**
+     * @param limit The most entries to return
+     * @return Up to limit of the newest entries, oldest first
+     */
+    public synchronized List<Entry> getRecent(int limit) {
+        int count = (int) Math.min(Math.min(recorded, entries.length), Math.max(0, limit));
+        List<Entry> recent = new ArrayList<>(count);
+        for (long i = recorded - count; i < recorded; i++) {
+            recent.add(entries[(int) (i % entries.length)]);
+        }
+        return recent;
+    }
+
+    /**
+     * @return The number of entries recorded since the buffer was created or cleared,
+     *     including ones since overwritten
+     */
+    public synchronized long getRecorded() {
+        return recorded;
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+        recorded = 0;
+    }
+
+    /**
+     * A single traced message
+     */
+    public static final class Entry {
+        private final long time;
+        private final TraceCategory category;
+        private final TraceLevel level;
+        private final String thread;
+        private final String message;
+
+        public Entry(long time, TraceCategory category, TraceLevel level, String thread, String message) {
+            this.time = time;
+            this.category = category;
+            this.level = level;
+            this.thread = thread;
+            this.message = message;
+        }
+
+        public long getTime() { return time; }
+        public TraceCategory getCategory() { return category; }
+        public TraceLevel getLevel() { return level; }
+        public String getThread() { return thread; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return Instant.ofEpochMilli(time) + " " + level + " [" + category.name().toLowerCase() + "] ("
+                + thread + ") " + message;
+        }
+    }
+}
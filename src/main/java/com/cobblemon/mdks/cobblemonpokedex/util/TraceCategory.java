@@ -0,0 +1,20 @@
+package com.cobblemon.mdks.cobblemonpokedex.util;
+
+public enum TraceCategory {
+    UI,               // Opening and refreshing the rewards pages
+    PERSISTENCE,      // Player data loads, saves and file writes
+    REWARDS,          // Claims and the rewards they grant
+    EVENTS;           // Catches, joins and other game events
+
+    /**
+     * @param category A category name, in any case
+     * @return The category, or null if there is none by that name
+     */
+    public static TraceCategory fromString(String category) {
+        try {
+            return valueOf(category.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+}
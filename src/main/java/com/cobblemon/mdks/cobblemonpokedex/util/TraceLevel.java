@@ -0,0 +1,16 @@
+package com.cobblemon.mdks.cobblemonpokedex.util;
+
+public enum TraceLevel {
+    OFF,              // Nothing is traced
+    INFO,             // One entry per player action, such as a claim
+    DEBUG,            // Also the work an action does, such as each file written
+    TRACE;            // Everything, including per-button and per-reward detail
+
+    public static TraceLevel fromString(String level) {
+        try {
+            return valueOf(level.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return OFF;
+        }
+    }
+}
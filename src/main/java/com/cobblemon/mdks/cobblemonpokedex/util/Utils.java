@@ -1,6 +1,7 @@
 package com.cobblemon.mdks.cobblemonpokedex.util;
 
 import com.cobblemon.mdks.cobblemonpokedex.CobblemonPokedex;
+import com.cobblemon.mdks.cobblemonpokedex.storage.AtomicFileWriter;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import net.minecraft.server.level.ServerPlayer;
@@ -8,7 +9,6 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.ChatFormatting;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -41,22 +41,19 @@ public class Utils {
         }
     }
 
+    /**
+     * Writes a file atomically and durably: the content goes to a temporary file
+     * that is synced and then moved over the target, so a crash mid-write never
+     * leaves a truncated file behind.
+     */
     public static boolean writeFileSync(String path, String fileName, String content) {
         try {
             // Ensure directory exists
             File dir = checkForDirectory(path);
             Path filePath = Paths.get(dir.getAbsolutePath(), fileName);
 
-            // Write file
-            try (FileWriter writer = new FileWriter(filePath.toFile())) {
-                writer.write(content);
-            }
-            File file = filePath.toFile();
-            CobblemonPokedex.LOGGER.info("Successfully wrote file: " + filePath.toAbsolutePath());
-            if (!file.exists()) {
-                CobblemonPokedex.LOGGER.warn("File was written but does not exist: " + filePath.toAbsolutePath());
-                return false;
-            }
+            AtomicFileWriter.write(filePath, content.getBytes(StandardCharsets.UTF_8), true);
+            Trace.debug(TraceCategory.PERSISTENCE, "Wrote file {}", filePath);
             return true;
         } catch (Exception e) {
             CobblemonPokedex.LOGGER.error("Failed to write file: " + fileName, e);
@@ -0,0 +1,110 @@
+package com.cobblemon.mdks.cobblemonpokedex.claim;
+
+import com.cobblemon.mdks.cobblemonpokedex.claim.ClaimJournal.OpenClaim;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardTrack;
+import com.cobblemon.mdks.cobblemonpokedex.storage.FileSyncMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClaimJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ClaimKey key = new ClaimKey(UUID.randomUUID(), RewardTrack.COMPLETION, 20);
+
+    @Test
+    void testKeyRoundTrip() {
+        assertEquals(key, ClaimKey.parse(key.toString()));
+        assertEquals(key.hashCode(), ClaimKey.parse(key.toString()).hashCode());
+        assertNotEquals(key, new ClaimKey(key.getPlayerId(), RewardTrack.SHINY, 20));
+        assertThrows(IllegalArgumentException.class, () -> ClaimKey.parse("not-a-key"));
+    }
+
+    @Test
+    void testInterruptedClaimIsReplayed() throws IOException {
+        Path file = tempDir.resolve("claims.journal");
+        ClaimJournal journal = new ClaimJournal(file, FileSyncMode.BATCH);
+        journal.begin(key, 3);
+        journal.attempting(key, 0);
+        journal.attempting(key, 1);
+        journal.close();
+
+        ClaimJournal reopened = new ClaimJournal(file, FileSyncMode.BATCH);
+        OpenClaim claim = reopened.getOpen(key);
+        assertNotNull(claim);
+        assertEquals(3, claim.getRewardCount());
+        assertTrue(claim.isAttempted(0));
+        assertTrue(claim.isAttempted(1));
+        assertFalse(claim.isAttempted(2));
+        assertFalse(reopened.isCommitted(key));
+
+        reopened.attempting(key, 2);
+        reopened.commit(key);
+        assertNull(reopened.getOpen(key));
+        assertTrue(reopened.isCommitted(key));
+        reopened.close();
+
+        ClaimJournal committed = new ClaimJournal(file, FileSyncMode.BATCH);
+        assertTrue(committed.getOpenClaims().isEmpty());
+        assertEquals(List.of(key), committed.getCommitted());
+        committed.close();
+    }
+
+    @Test
+    void testTornRecordIsDropped() throws IOException {
+        Path file = tempDir.resolve("claims.journal");
+        ClaimJournal journal = new ClaimJournal(file, FileSyncMode.NONE);
+        journal.begin(key, 2);
+        journal.attempting(key, 0);
+        journal.close();
+        Files.write(file, ("ATTEMPTED " + key + " 1").getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        ClaimJournal reopened = new ClaimJournal(file, FileSyncMode.NONE);
+        assertFalse(reopened.getOpen(key).isAttempted(1));
+        // New records start on a clean line after the torn one was cut off
+        reopened.attempting(key, 1);
+        reopened.close();
+
+        ClaimJournal again = new ClaimJournal(file, FileSyncMode.NONE);
+        assertTrue(again.getOpen(key).isAttempted(1));
+        again.close();
+    }
+
+    @Test
+    void testCompactionKeepsOnlyOpenClaims() throws IOException {
+        Path file = tempDir.resolve("claims.journal");
+        ClaimKey other = new ClaimKey(UUID.randomUUID(), RewardTrack.LIVING_DEX, 50);
+        ClaimJournal journal = new ClaimJournal(file, FileSyncMode.BATCH);
+        journal.begin(key, 1);
+        journal.attempting(key, 0);
+        journal.commit(key);
+        journal.begin(other, 2);
+        journal.attempting(other, 1);
+
+        journal.compact();
+        assertTrue(journal.getCommitted().isEmpty());
+        assertEquals(2, Files.readAllLines(file).size());
+
+        // Appends keep working after the file was replaced
+        journal.attempting(other, 0);
+        journal.close();
+
+        ClaimJournal reopened = new ClaimJournal(file, FileSyncMode.BATCH);
+        assertFalse(reopened.isCommitted(key));
+        OpenClaim claim = reopened.getOpen(other);
+        assertTrue(claim.isAttempted(0));
+        assertTrue(claim.isAttempted(1));
+        reopened.close();
+    }
+}
@@ -0,0 +1,135 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClaimedTiersTest {
+
+    @BeforeEach
+    void setUp() {
+        TierIndex.publish(RewardTrack.COMPLETION, TierIndex.of(List.of(10, 20, 30, 40, 50)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TierIndex.publish(RewardTrack.COMPLETION, TierIndex.EMPTY);
+    }
+
+    @Test
+    void testClaimAndUnclaim() {
+        ClaimedTiers claims = new ClaimedTiers(RewardTrack.COMPLETION);
+        claims.set(20, true);
+        claims.set(35, true); // Not a configured tier
+        assertTrue(claims.isClaimed(20));
+        assertTrue(claims.isClaimed(35));
+        assertFalse(claims.isClaimed(10));
+
+        claims.set(20, false);
+        claims.set(35, false);
+        assertFalse(claims.isClaimed(20));
+        assertFalse(claims.isClaimed(35));
+        assertTrue(claims.isEmpty());
+    }
+
+    @Test
+    void testClaimableMask() {
+        TierIndex index = TierIndex.current(RewardTrack.COMPLETION);
+        ClaimedTiers claims = new ClaimedTiers(RewardTrack.COMPLETION);
+        claims.set(10, true);
+
+        // 10, 20 and 30 are reached, 10 is already claimed
+        long mask = claims.claimableMask(index, 34.5);
+        assertEquals(0b110L, mask);
+        assertEquals(20, index.tierAt(Long.numberOfTrailingZeros(mask)));
+        assertEquals(0L, claims.claimableMask(index, 5.0));
+        assertEquals(0b11110L, claims.claimableMask(index, 100.0));
+    }
+
+    @Test
+    void testClaimsSurviveTierIndexChange() {
+        ClaimedTiers claims = new ClaimedTiers(RewardTrack.COMPLETION);
+        claims.set(30, true);
+        claims.set(60, true);
+
+        // 60 becomes a configured tier and 30 stops being one
+        TierIndex reloaded = TierIndex.of(List.of(10, 20, 40, 60));
+        TierIndex.publish(RewardTrack.COMPLETION, reloaded);
+
+        assertTrue(claims.isClaimed(30));
+        assertTrue(claims.isClaimed(60));
+        assertEquals(1L << reloaded.ordinalOf(60), claims.claimedMask(reloaded));
+        assertArrayEquals(new int[]{30, 60}, claims.toArray());
+    }
+
+    @Test
+    void testPublishAllReplacesEveryTrack() {
+        TierIndex completion = TierIndex.of(List.of(25, 50));
+        TierIndex shiny = TierIndex.of(List.of(1, 5));
+        TierIndex[] indexes = new TierIndex[RewardTrack.values().length];
+        Arrays.fill(indexes, TierIndex.EMPTY);
+        indexes[RewardTrack.COMPLETION.ordinal()] = completion;
+        indexes[RewardTrack.SHINY.ordinal()] = shiny;
+        TierIndex.publishAll(indexes);
+
+        // Changing the array afterwards does not leak into the published indexes
+        indexes[RewardTrack.SHINY.ordinal()] = TierIndex.EMPTY;
+        assertSame(completion, TierIndex.current(RewardTrack.COMPLETION));
+        assertSame(shiny, TierIndex.current(RewardTrack.SHINY));
+        assertSame(TierIndex.EMPTY, TierIndex.current(RewardTrack.LIVING_DEX));
+
+        TierIndex.publish(RewardTrack.SHINY, TierIndex.EMPTY);
+        assertThrows(IllegalArgumentException.class, () -> TierIndex.publishAll(new TierIndex[1]));
+    }
+
+    @Test
+    void testIndexKeepsTheLowestTiersUpToTheLimit() {
+        List<Integer> tiers = new ArrayList<>();
+        for (int tier = TierIndex.MAX_INDEXED_TIERS + 6; tier >= 1; tier--) {
+            tiers.add(tier);
+        }
+        TierIndex index = TierIndex.of(tiers);
+        assertEquals(TierIndex.MAX_INDEXED_TIERS, index.size());
+        assertEquals(TierIndex.MAX_INDEXED_TIERS, index.maxTier());
+        assertEquals(-1, index.ordinalOf(TierIndex.MAX_INDEXED_TIERS + 1));
+    }
+
+    @Test
+    void testJsonCompatibility() {
+        JsonObject json = new JsonObject();
+        JsonObject claimed = new JsonObject();
+        claimed.addProperty("10", true);
+        claimed.addProperty("20", false);
+        claimed.addProperty("55", true);
+        json.add("claimedRewards", claimed);
+
+        PlayerData data = new PlayerData(json);
+        assertTrue(data.hasClaimedReward(10));
+        assertFalse(data.hasClaimedReward(20));
+        assertTrue(data.hasClaimedReward(55));
+
+        JsonObject saved = data.toJson().getAsJsonObject("claimedRewards");
+        assertEquals(2, saved.size());
+        assertTrue(saved.get("10").getAsBoolean());
+        assertTrue(saved.get("55").getAsBoolean());
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        PlayerData data = new PlayerData();
+        data.setClaimedReward(10, true);
+        PlayerData copy = data.copy();
+        data.setClaimedReward(20, true);
+
+        assertTrue(copy.hasClaimedReward(10));
+        assertFalse(copy.hasClaimedReward(20));
+    }
+}
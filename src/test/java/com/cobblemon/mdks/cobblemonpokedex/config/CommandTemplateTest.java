@@ -0,0 +1,55 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandTemplateTest {
+    private static final UUID UUID_1 = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final RewardContext CONTEXT = new RewardContext("Ash", UUID_1, 50, 512, 1025, 49.95);
+
+    @Test
+    void testBuiltInPlaceholders() {
+        CommandTemplate template = CommandTemplate.compile("give %player% diamond %tier%");
+        assertFalse(template.isConstant());
+        assertEquals("give Ash diamond 50", template.apply(CONTEXT));
+
+        assertEquals("tell Ash 512/1025 50.0% " + UUID_1,
+            CommandTemplate.compile("tell %player% %caught%/%total% %percent%% %uuid%").apply(CONTEXT));
+    }
+
+    @Test
+    void testConstantCommandIsUnchanged() {
+        CommandTemplate template = CommandTemplate.compile("effect give @p minecraft:speed 60 1");
+        assertTrue(template.isConstant());
+        assertEquals("effect give @p minecraft:speed 60 1", template.apply(CONTEXT));
+    }
+
+    @Test
+    void testPercentSignsThatAreNotPlaceholders() {
+        String command = "say 50% off, 10% more %% done";
+        CommandTemplate template = CommandTemplate.compile(command);
+        assertTrue(template.isConstant());
+        assertEquals(command, template.apply(CONTEXT));
+    }
+
+    @Test
+    void testUnknownPlaceholderIsKeptAsWritten() {
+        assertEquals("say %unknown% Ash", CommandTemplate.compile("say %unknown% %player%").apply(CONTEXT));
+    }
+
+    @Test
+    void testCustomResolver() {
+        PlaceholderResolver resolver = (name, context) -> name.equals("rank") ? "tier" + context.getTier() : null;
+        CommandTemplate.addResolver(resolver);
+        try {
+            assertEquals("lp user Ash parent add tier50",
+                CommandTemplate.compile("lp user %player% parent add %rank%").apply(CONTEXT));
+        } finally {
+            CommandTemplate.removeResolver(resolver);
+        }
+        assertEquals("%rank%", CommandTemplate.compile("%rank%").apply(CONTEXT));
+    }
+}
@@ -0,0 +1,49 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigDiffTest {
+
+    private static JsonObject json(String text) {
+        return JsonParser.parseString(text).getAsJsonObject();
+    }
+
+    @Test
+    void testIdenticalConfigsHaveNoChanges() {
+        JsonObject config = json("{\"maxTiers\":10,\"rewards\":{\"10\":{\"items\":[]}}}");
+
+        assertTrue(ConfigDiff.describe(config, config.deepCopy()).isEmpty());
+        assertEquals("config.json: no changes", ConfigDiff.summarize("config.json", List.of()));
+    }
+
+    @Test
+    void testChangedValuesShowOldAndNew() {
+        List<String> changes = ConfigDiff.describe(
+            json("{\"maxTiers\":10,\"completionTiers\":[10,20],\"enabled\":true}"),
+            json("{\"maxTiers\":12,\"completionTiers\":[10,20,30],\"enabled\":true}"));
+
+        assertEquals(List.of("maxTiers 10 -> 12", "completionTiers [10,20] -> [10,20,30]"), changes);
+    }
+
+    @Test
+    void testSectionsAreComparedPerEntry() {
+        List<String> changes = ConfigDiff.describe(
+            json("{\"rewards\":{\"10\":{\"items\":[\"a\"]},\"20\":{\"items\":[\"b\"]},\"30\":{\"items\":[]}}}"),
+            json("{\"rewards\":{\"10\":{\"items\":[\"a\"]},\"20\":{\"items\":[\"c\"]},\"40\":{\"items\":[]}}}"));
+
+        assertEquals(List.of("rewards.20 changed", "rewards.30 removed", "rewards.40 added"), changes);
+    }
+
+    @Test
+    void testAddedAndRemovedSettings() {
+        List<String> changes = ConfigDiff.describe(json("{\"old\":1}"), json("{\"new\":2}"));
+
+        assertEquals(List.of("old removed", "new added"), changes);
+    }
+}
@@ -0,0 +1,214 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+import com.cobblemon.mdks.cobblemonpokedex.util.Utils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests for changing player data from several threads while it is saved
+ * and while the config is replaced by a reload: every change must survive.
+ */
+class PlayerDataConfigConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int CHANGES_PER_THREAD = 500;
+    private static final int EVICTIONS = 1000;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Runs the task on every thread at once and waits for all of them
+     */
+    private static void runConcurrently(ThreadTask task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(thread);
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            threads.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : threads) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        assertTrue(failures.isEmpty(), "Workers failed: " + failures);
+    }
+
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+
+    private static String item(int thread, int change) {
+        return "{count:1,id:\"minecraft:stone\",tag:" + thread + "_" + change + "}";
+    }
+
+    @Test
+    void testConcurrentChangesToOnePlayerAreNotLost() throws InterruptedException {
+        PlayerDataConfig.PlayerData data = new PlayerDataConfig.PlayerData();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < CHANGES_PER_THREAD; i++) {
+                data.addPendingItem(item(thread, i));
+                data.setClaimedReward(thread * CHANGES_PER_THREAD + i, true);
+            }
+        });
+
+        assertEquals(THREADS * CHANGES_PER_THREAD, data.getPendingItems().size());
+        assertEquals(THREADS * CHANGES_PER_THREAD, data.copy().getClaimedRewardTiers().length);
+    }
+
+    @Test
+    void testChangesRacingSavesAreAllWritten() throws InterruptedException {
+        UUID playerId = UUID.randomUUID();
+        PlayerDataConfig config = new PlayerDataConfig(tempDir, null);
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        // A saver keeps snapshotting while the writers change the data
+        Thread saver = new Thread(() -> {
+            while (writing.get()) {
+                config.savePlayer(playerId, config.getPlayerData(playerId));
+            }
+        });
+        saver.start();
+        runConcurrently(thread -> {
+            for (int i = 0; i < CHANGES_PER_THREAD; i++) {
+                PlayerDataConfig.PlayerData data = config.getPlayerData(playerId);
+                data.addPendingItem(item(thread, i));
+                config.savePlayer(playerId, data);
+            }
+        });
+        writing.set(false);
+        saver.join();
+        config.close();
+
+        PlayerDataConfig reloaded = new PlayerDataConfig(tempDir, null);
+        assertEquals(THREADS * CHANGES_PER_THREAD, reloaded.getPlayerData(playerId).getPendingItems().size());
+        reloaded.close();
+    }
+
+    @Test
+    void testChangesRacingEvictionAreAllWritten() throws InterruptedException {
+        // More offline players than the smallest cache allows, so an evictor keeps dropping them
+        Utils.writeFileSync(tempDir.toString(), "config.json", "{\"lazyPlayerLoading\": true, \"playerCacheMaxSize\": 16}");
+        PlayerDataConfig config = new PlayerDataConfig(tempDir, PokedexConfig.read(tempDir));
+        UUID[] players = new UUID[THREADS * 3];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = UUID.randomUUID();
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger evicted = new AtomicInteger();
+        AtomicInteger changes = new AtomicInteger();
+
+        Thread evictor = new Thread(() -> {
+            while (writing.get()) {
+                evicted.addAndGet(config.evictIdlePlayers());
+            }
+        });
+        evictor.start();
+        // Writers keep going until enough of their players were evicted under them
+        runConcurrently(thread -> {
+            for (int i = 0; i < CHANGES_PER_THREAD || (evicted.get() < EVICTIONS && i < CHANGES_PER_THREAD * 20); i++) {
+                UUID playerId = players[thread * 3 + i % 3];
+                PlayerDataConfig.PlayerData data = config.getPlayerData(playerId);
+                data.addPendingItem(item(thread, i));
+                config.savePlayer(playerId, data);
+                changes.incrementAndGet();
+            }
+        });
+        writing.set(false);
+        evictor.join();
+        config.close();
+
+        PlayerDataConfig reloaded = new PlayerDataConfig(tempDir, null);
+        int written = 0;
+        for (UUID playerId : players) {
+            written += reloaded.getPlayerData(playerId).getPendingItems().size();
+        }
+        assertEquals(changes.get(), written);
+        reloaded.close();
+    }
+
+    @Test
+    void testChangesThroughTheOldInstanceSurviveAReload() throws InterruptedException {
+        UUID cachedPlayer = UUID.randomUUID();
+        UUID uncachedPlayer = UUID.randomUUID();
+        PlayerDataConfig previous = new PlayerDataConfig(tempDir, null);
+        previous.getPlayerData(cachedPlayer);
+        PlayerDataConfig[] replacement = new PlayerDataConfig[1];
+
+        // Writers keep using the old instance while thread 0 swaps it out halfway through
+        runConcurrently(thread -> {
+            for (int i = 0; i < CHANGES_PER_THREAD; i++) {
+                if (thread == 0 && i == CHANGES_PER_THREAD / 2) {
+                    previous.close();
+                    PlayerDataConfig next = new PlayerDataConfig(tempDir, null);
+                    next.adopt(previous);
+                    replacement[0] = next;
+                }
+                UUID playerId = i % 2 == 0 ? cachedPlayer : uncachedPlayer;
+                PlayerDataConfig.PlayerData data = previous.getPlayerData(playerId);
+                data.addPendingItem(item(thread, i));
+                previous.savePlayer(playerId, data);
+            }
+        });
+
+        PlayerDataConfig next = replacement[0];
+        assertSame(next.getPlayerData(cachedPlayer), previous.getPlayerData(cachedPlayer));
+        next.close();
+
+        PlayerDataConfig reloaded = new PlayerDataConfig(tempDir, null);
+        int written = reloaded.getPlayerData(cachedPlayer).getPendingItems().size()
+            + reloaded.getPlayerData(uncachedPlayer).getPendingItems().size();
+        assertEquals(THREADS * CHANGES_PER_THREAD, written);
+        reloaded.close();
+    }
+
+    @Test
+    void testReloadReconcilesCachedPlayersWithStorage() {
+        UUID editedPlayer = UUID.randomUUID();
+        UUID changedPlayer = UUID.randomUUID();
+        PlayerDataConfig previous = new PlayerDataConfig(tempDir, null);
+        PlayerDataConfig.PlayerData edited = previous.getPlayerData(editedPlayer);
+        edited.updateTotalCaught(10);
+        previous.getPlayerData(changedPlayer).updateTotalCaught(20);
+        previous.save();
+
+        // An operator edits one player's file while the other player keeps playing
+        PlayerDataConfig.PlayerData onDisk = edited.copy();
+        onDisk.updateTotalCaught(42);
+        Utils.writeFileSync(tempDir.resolve("players").toString(), editedPlayer + ".json",
+            Utils.newGson().toJson(onDisk.toJson()));
+
+        previous.close();
+        previous.getPlayerData(changedPlayer).updateTotalCaught(21); // Unsaved when the reload reads storage
+        PlayerDataConfig next = new PlayerDataConfig(tempDir, null);
+        assertTrue(next.adopt(previous) > 0);
+
+        assertSame(edited, next.getPlayerData(editedPlayer));
+        assertEquals(42, edited.getTotalCaught());
+        assertEquals(21, next.getPlayerData(changedPlayer).getTotalCaught());
+        next.close();
+    }
+}
@@ -1,12 +1,20 @@
 package com.cobblemon.mdks.cobblemonpokedex.config;
 
+import com.cobblemon.mdks.cobblemonpokedex.util.Utils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class PokedexConfigTest {
     
     private PokedexConfig config;
+
+    @TempDir
+    Path tempDir;
     
     @BeforeEach
     void setUp() {
@@ -43,4 +51,15 @@ public class PokedexConfigTest {
         assertTrue(config.getTotalShinyPokemon() > 0);
         assertEquals(config.getTotalPokemon(), config.getTotalShinyPokemon());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testReadReportsBrokenFileInsteadOfResetting() {
+        String directory = tempDir.toString();
+        Utils.writeFileSync(directory, "config.json", "{\"totalPokemon\": 1025");
+        assertThrows(IllegalArgumentException.class, () -> PokedexConfig.read(tempDir));
+        assertEquals("{\"totalPokemon\": 1025", Utils.readFileSync(directory, "config.json"));
+
+        Utils.writeFileSync(directory, "config.json", "{\"totalPokemon\": 1025}");
+        assertEquals(1025, PokedexConfig.read(tempDir).getTotalPokemon());
+    }
+}
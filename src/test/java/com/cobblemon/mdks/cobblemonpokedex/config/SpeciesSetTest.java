@@ -0,0 +1,72 @@
+package com.cobblemon.mdks.cobblemonpokedex.config;
+
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+import com.cobblemon.mdks.cobblemonpokedex.util.SpeciesIds;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpeciesSetTest {
+
+    @Test
+    void testAddRemoveContains() {
+        SpeciesSet set = new SpeciesSet();
+        assertTrue(set.add("bulbasaur"));
+        assertFalse(set.add("bulbasaur"));
+        assertTrue(set.contains("bulbasaur"));
+        assertEquals(1, set.size());
+
+        assertTrue(set.remove("bulbasaur"));
+        assertFalse(set.remove("bulbasaur"));
+        assertFalse(set.contains("bulbasaur"));
+    }
+
+    @Test
+    void testLookupsDoNotInternUnknownSpecies() {
+        SpeciesSet set = new SpeciesSet();
+        int before = SpeciesIds.size();
+        assertFalse(set.contains("not_a_real_species_" + System.nanoTime()));
+        assertFalse(set.remove("not_a_real_species_" + System.nanoTime()));
+        assertEquals(before, SpeciesIds.size());
+    }
+
+    @Test
+    void testViewIsLiveAndReadOnly() {
+        PlayerData data = new PlayerData();
+        Set<String> view = data.getLivingDexSpecies();
+        assertTrue(view.isEmpty());
+
+        data.addLivingDexSpecies("charmander");
+        data.addLivingDexSpecies("squirtle");
+        assertEquals(Set.of("charmander", "squirtle"), new HashSet<>(view));
+        assertTrue(view.contains("squirtle"));
+        assertThrows(UnsupportedOperationException.class, () -> view.add("pikachu"));
+    }
+
+    @Test
+    void testCopyAndJsonRoundTrip() {
+        PlayerData data = new PlayerData();
+        data.updateLivingDexSpecies(Set.of("eevee", "vaporeon", "jolteon"));
+        PlayerData copy = data.copy();
+        data.removeLivingDexSpecies("eevee");
+
+        assertEquals(3, copy.getLivingDexCount());
+        assertTrue(copy.hasLivingDexSpecies("eevee"));
+        assertFalse(data.hasLivingDexSpecies("eevee"));
+
+        PlayerData reloaded = new PlayerData(copy.toJson());
+        assertEquals(copy.getLivingDexSpecies(), reloaded.getLivingDexSpecies());
+    }
+
+    @Test
+    void testRegisterAllKeepsExistingIds() {
+        int pikachu = SpeciesIds.intern("pikachu");
+        SpeciesIds.registerAll(List.of("pikachu", "raichu"));
+        assertEquals(pikachu, SpeciesIds.idOf("pikachu"));
+        assertEquals("raichu", SpeciesIds.nameOf(SpeciesIds.idOf("raichu")));
+    }
+}
@@ -0,0 +1,69 @@
+package com.cobblemon.mdks.cobblemonpokedex.progress;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaptureBatcherTest {
+
+    @Test
+    void testBurstBecomesOneBatchPerPlayer() {
+        CaptureBatcher batcher = new CaptureBatcher();
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        for (int i = 0; i < 12; i++) batcher.add(alice);
+        batcher.add(bob);
+
+        List<CaptureBatcher.Batch> due = batcher.tick(1);
+        assertEquals(2, due.size());
+        assertEquals(alice, due.get(0).getPlayerId());
+        assertEquals(12, due.get(0).getSize());
+        assertEquals(1, due.get(1).getSize());
+        assertTrue(batcher.tick(1).isEmpty());
+        assertEquals(0, batcher.getWaiting());
+    }
+
+    @Test
+    void testBatchesWaitForMaxLatency() {
+        CaptureBatcher batcher = new CaptureBatcher();
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        batcher.add(alice);
+        assertTrue(batcher.tick(3).isEmpty());
+        batcher.add(alice);
+        batcher.add(bob);
+        assertTrue(batcher.tick(3).isEmpty());
+
+        List<CaptureBatcher.Batch> due = batcher.tick(3);
+        assertEquals(1, due.size());
+        assertEquals(alice, due.get(0).getPlayerId());
+        assertEquals(2, due.get(0).getSize());
+
+        // Bob's batch started a tick after Alice's, so it is due a tick later
+        assertEquals(bob, batcher.tick(3).get(0).getPlayerId());
+    }
+
+    @Test
+    void testTakeAndMetrics() {
+        CaptureBatcher batcher = new CaptureBatcher();
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        for (int i = 0; i < 20; i++) batcher.add(alice);
+        batcher.add(bob);
+        batcher.add(bob);
+
+        assertEquals(20, batcher.take(alice).getSize());
+        assertNull(batcher.take(alice));
+        assertEquals(1, batcher.takeAll().size());
+        assertTrue(batcher.takeAll().isEmpty());
+
+        assertEquals(20, batcher.getLargestBatch());
+        assertEquals(11.0, batcher.getAverageBatchSize());
+        String stats = batcher.getStats();
+        assertTrue(stats.contains("captures=22"), stats);
+        assertTrue(stats.contains("sizes[1/2-4/5-16/17+]=0/1/0/1"), stats);
+    }
+}
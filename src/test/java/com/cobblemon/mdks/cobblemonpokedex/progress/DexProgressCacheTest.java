@@ -0,0 +1,64 @@
+package com.cobblemon.mdks.cobblemonpokedex.progress;
+
+import com.cobblemon.mdks.cobblemonpokedex.config.TierIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DexProgressCacheTest {
+    private static final TierIndex TIERS = TierIndex.of(List.of(10, 20, 30));
+
+    @Test
+    void testCountsOnlyOnMiss() {
+        DexProgressCache cache = new DexProgressCache();
+        UUID playerId = UUID.randomUUID();
+        AtomicInteger counts = new AtomicInteger();
+
+        DexProgress first = cache.get(playerId, () -> { counts.incrementAndGet(); return 25; }, 100, TIERS);
+        DexProgress second = cache.get(playerId, () -> { counts.incrementAndGet(); return 99; }, 100, TIERS);
+
+        assertEquals(1, counts.get());
+        assertSame(first, second);
+        assertEquals(25.0, second.getPercent());
+        assertEquals(0b11L, second.getReachedMask());
+    }
+
+    @Test
+    void testUpdateAndInvalidate() {
+        DexProgressCache cache = new DexProgressCache();
+        UUID playerId = UUID.randomUUID();
+
+        cache.update(playerId, 12, 100, TIERS);
+        assertEquals(12, cache.get(playerId, () -> fail("should be cached"), 100, TIERS).getCaught());
+
+        cache.invalidate(playerId);
+        assertEquals(31, cache.get(playerId, () -> 31, 100, TIERS).getCaught());
+    }
+
+    @Test
+    void testReconfigurationReusesCachedCount() {
+        DexProgressCache cache = new DexProgressCache();
+        UUID playerId = UUID.randomUUID();
+        cache.update(playerId, 50, 100, TIERS);
+
+        TierIndex reloaded = TierIndex.of(List.of(5, 10));
+        DexProgress progress = cache.get(playerId, () -> fail("count should be reused"), 500, reloaded);
+        assertEquals(50, progress.getCaught());
+        assertEquals(10.0, progress.getPercent());
+        assertEquals(0b11L, progress.getReachedMask());
+    }
+
+    @Test
+    void testFailedCountIsNotCached() {
+        DexProgressCache cache = new DexProgressCache();
+        UUID playerId = UUID.randomUUID();
+
+        assertEquals(0, cache.get(playerId, () -> -1, 100, TIERS).getCaught());
+        assertEquals(0, cache.size());
+        assertEquals(40, cache.get(playerId, () -> 40, 100, TIERS).getCaught());
+    }
+}
@@ -0,0 +1,83 @@
+package com.cobblemon.mdks.cobblemonpokedex.progress;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LivingDexIndexTest {
+
+    @Test
+    void testSpeciesEntersOnFirstAndLeavesOnLastPokemon() {
+        LivingDexIndex index = new LivingDexIndex();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        assertEquals("pikachu", index.put(first, "pikachu").getGained());
+        assertTrue(index.put(second, "pikachu").isEmpty());
+        assertEquals(2, index.count("pikachu"));
+
+        assertTrue(index.remove(first).isEmpty());
+        assertEquals("pikachu", index.remove(second).getLost());
+        assertEquals(0, index.count("pikachu"));
+        assertTrue(index.getSpecies().isEmpty());
+    }
+
+    @Test
+    void testRepeatedAndUnknownEventsChangeNothing() {
+        LivingDexIndex index = new LivingDexIndex();
+        UUID pokemon = UUID.randomUUID();
+        index.put(pokemon, "eevee");
+
+        assertTrue(index.put(pokemon, "eevee").isEmpty());
+        assertEquals(1, index.count("eevee"));
+        assertTrue(index.remove(UUID.randomUUID()).isEmpty());
+        assertEquals(1, index.getPokemonCount());
+    }
+
+    @Test
+    void testEvolutionMovesThePokemonToItsNewSpecies() {
+        LivingDexIndex index = new LivingDexIndex();
+        UUID charmander = UUID.randomUUID();
+        UUID otherCharmander = UUID.randomUUID();
+        index.put(charmander, "charmander");
+        index.put(otherCharmander, "charmander");
+
+        LivingDexIndex.Delta evolved = index.put(charmander, "charmeleon");
+        assertEquals("charmeleon", evolved.getGained());
+        assertNull(evolved.getLost());
+
+        LivingDexIndex.Delta lastEvolved = index.put(otherCharmander, "charmeleon");
+        assertNull(lastEvolved.getGained());
+        assertEquals("charmander", lastEvolved.getLost());
+        assertEquals(Set.of("charmeleon"), index.getSpecies());
+        assertEquals(2, index.count("charmeleon"));
+    }
+
+    @Test
+    void testReconcileReplacesTheIndex() {
+        LivingDexIndex index = new LivingDexIndex();
+        UUID stale = UUID.randomUUID();
+        index.put(stale, "magikarp");
+
+        Map<UUID, String> owned = new HashMap<>();
+        UUID bulbasaur = UUID.randomUUID();
+        owned.put(bulbasaur, "bulbasaur");
+        owned.put(UUID.randomUUID(), "bulbasaur");
+        owned.put(UUID.randomUUID(), "squirtle");
+        index.reconcile(owned);
+
+        assertEquals(Set.of("bulbasaur", "squirtle"), index.getSpecies());
+        assertEquals(2, index.count("bulbasaur"));
+        assertEquals(3, index.getPokemonCount());
+        assertTrue(index.remove(stale).isEmpty());
+
+        // Events after the scan keep counting from it
+        assertTrue(index.remove(bulbasaur).isEmpty());
+        assertEquals(1, index.count("bulbasaur"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.cobblemon.mdks.cobblemonpokedex.progress;
+
+import com.cobblemon.mdks.cobblemonpokedex.config.TierIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MilestoneTrackerTest {
+    private static final TierIndex TIERS = TierIndex.of(List.of(10, 25, 50, 75, 100));
+
+    @Test
+    void testCountReached() {
+        assertEquals(0, TIERS.countReached(0));
+        assertEquals(0, TIERS.countReached(9.99));
+        assertEquals(1, TIERS.countReached(10));
+        assertEquals(3, TIERS.countReached(74.9));
+        assertEquals(5, TIERS.countReached(100));
+        assertEquals(0, TierIndex.EMPTY.countReached(100));
+        assertEquals(0b111L, TIERS.reachedMask(50));
+    }
+
+    @Test
+    void testEachTierIsAnnouncedOnce() {
+        int watermark = 0;
+        int announced = 0;
+        // Progress that creeps up, stalls and jumps over several tiers at once
+        double[] progress = {5, 10, 10, 12, 24.9, 25, 60, 60, 99, 100, 100};
+        int[] expected = {0, 1, 0, 0, 0, 1, 1, 0, 1, 1, 0};
+        for (int i = 0; i < progress.length; i++) {
+            int[] crossed = MilestoneTracker.crossed(TIERS, watermark, progress[i]);
+            assertEquals(expected[i], crossed.length, "at " + progress[i]);
+            watermark = MilestoneTracker.advance(crossed, watermark);
+            announced += crossed.length;
+        }
+        assertEquals(5, announced);
+        assertEquals(100, watermark);
+    }
+
+    @Test
+    void testJumpReportsEveryCrossedTierInOrder() {
+        assertArrayEquals(new int[]{25, 50, 75}, MilestoneTracker.crossed(TIERS, 10, 80));
+        assertArrayEquals(new int[0], MilestoneTracker.crossed(TIERS, 50, 40));
+        assertEquals(10, MilestoneTracker.advance(new int[0], 10));
+    }
+
+    @Test
+    void testSeedSkipsTiersReachedBeforeTracking() {
+        assertEquals(0, MilestoneTracker.seed(TIERS, 3));
+        assertEquals(50, MilestoneTracker.seed(TIERS, 55));
+        int watermark = MilestoneTracker.seed(TIERS, 55);
+        assertArrayEquals(new int[]{75}, MilestoneTracker.crossed(TIERS, watermark, 76));
+    }
+
+    @Test
+    void testWatermarkBetweenTiersAfterReconfiguration() {
+        // The player was told about 30 under an old config, the new one has no 30
+        TierIndex reconfigured = TierIndex.of(List.of(20, 40, 60));
+        assertArrayEquals(new int[]{40}, MilestoneTracker.crossed(reconfigured, 30, 45));
+    }
+}
@@ -0,0 +1,97 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtomicFileWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private long countTempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".tmp")).count();
+        }
+    }
+
+    @Test
+    void testWriteReplacesExistingFile() throws IOException {
+        Path target = tempDir.resolve("player.json");
+        Files.writeString(target, "{\"totalCaught\": 1, \"padding\": \"longer than the new content\"}");
+
+        AtomicFileWriter.write(target, bytes("{\"totalCaught\": 2}"), true);
+
+        assertEquals("{\"totalCaught\": 2}", Files.readString(target));
+        assertEquals(0, countTempFiles(), "Temporary file should have been moved into place");
+    }
+
+    @Test
+    void testWriteBatchWritesAllFiles() throws IOException {
+        for (FileSyncMode mode : FileSyncMode.values()) {
+            Map<Path, byte[]> files = new HashMap<>();
+            for (int i = 0; i < 10; i++) {
+                files.put(tempDir.resolve(mode.name() + "_" + i + ".json"), bytes("{\"index\": " + i + "}"));
+            }
+
+            Set<Path> failed = AtomicFileWriter.writeBatch(files, mode);
+
+            assertTrue(failed.isEmpty(), "No file should fail in mode " + mode);
+            for (Map.Entry<Path, byte[]> entry : files.entrySet()) {
+                assertEquals(new String(entry.getValue(), StandardCharsets.UTF_8), Files.readString(entry.getKey()));
+            }
+        }
+        assertEquals(0, countTempFiles());
+    }
+
+    @Test
+    void testWriteBatchLargerThanOneGroup() throws IOException {
+        Map<Path, byte[]> files = new HashMap<>();
+        int count = AtomicFileWriter.MAX_GROUP_SIZE * 2 + 5;
+        for (int i = 0; i < count; i++) {
+            files.put(tempDir.resolve("player_" + i + ".json"), bytes("{\"index\": " + i + "}"));
+        }
+
+        assertTrue(AtomicFileWriter.writeBatch(files, FileSyncMode.BATCH).isEmpty());
+        for (Map.Entry<Path, byte[]> entry : files.entrySet()) {
+            assertEquals(new String(entry.getValue(), StandardCharsets.UTF_8), Files.readString(entry.getKey()));
+        }
+        assertEquals(0, countTempFiles());
+    }
+
+    @Test
+    void testWriteBatchReportsFailedTargets() {
+        Path missingDir = tempDir.resolve("missing").resolve("player.json");
+        Path valid = tempDir.resolve("valid.json");
+        Map<Path, byte[]> files = new HashMap<>();
+        files.put(missingDir, bytes("{}"));
+        files.put(valid, bytes("{}"));
+
+        Set<Path> failed = AtomicFileWriter.writeBatch(files, FileSyncMode.BATCH);
+
+        assertEquals(Set.of(missingDir), failed);
+        assertTrue(Files.exists(valid));
+    }
+
+    @Test
+    void testFileSyncModeFromString() {
+        assertEquals(FileSyncMode.NONE, FileSyncMode.fromString("none"));
+        assertEquals(FileSyncMode.ALWAYS, FileSyncMode.fromString("ALWAYS"));
+        assertEquals(FileSyncMode.BATCH, FileSyncMode.fromString("unknown"));
+        assertEquals(FileSyncMode.BATCH, FileSyncMode.fromString(null));
+    }
+}
@@ -0,0 +1,249 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+import com.cobblemon.mdks.cobblemonpokedex.util.Utils;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogFileStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static PlayerData playerWithCaught(int caught) {
+        PlayerData data = new PlayerData();
+        data.updateTotalCaught(caught);
+        data.setClaimedReward(10, true);
+        data.addLivingDexSpecies("pikachu");
+        return data;
+    }
+
+    @Test
+    void testWriteAndReopen() throws IOException {
+        Path logFile = tempDir.resolve("players.db");
+        UUID player1 = UUID.randomUUID();
+        UUID player2 = UUID.randomUUID();
+
+        LogFileStorage storage = new LogFileStorage(logFile, FileSyncMode.BATCH);
+        assertTrue(storage.write(Map.of(player1, playerWithCaught(10), player2, playerWithCaught(20))).isEmpty());
+        assertTrue(storage.write(Map.of(player1, playerWithCaught(15))).isEmpty());
+        assertEquals(15, storage.load(player1).getTotalCaught());
+        storage.close();
+
+        // Index is rebuilt from the log and points at the newest record
+        LogFileStorage reopened = new LogFileStorage(logFile, FileSyncMode.BATCH);
+        assertEquals(2, reopened.size());
+        assertEquals(15, reopened.load(player1).getTotalCaught());
+        assertEquals(20, reopened.load(player2).getTotalCaught());
+        assertTrue(reopened.load(player2).hasClaimedReward(10));
+        assertTrue(reopened.load(player2).getLivingDexSpecies().contains("pikachu"));
+        assertNull(reopened.load(UUID.randomUUID()));
+        reopened.close();
+    }
+
+    @Test
+    void testTornTailIsTruncated() throws IOException {
+        Path logFile = tempDir.resolve("players.db");
+        UUID playerId = UUID.randomUUID();
+
+        LogFileStorage storage = new LogFileStorage(logFile, FileSyncMode.BATCH);
+        storage.write(Map.of(playerId, playerWithCaught(42)));
+        storage.close();
+        long validSize = Files.size(logFile);
+
+        // Simulate a crash in the middle of appending a record
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(java.nio.ByteBuffer.wrap(new byte[]{0, 0, 1, 0, 7, 7, 7}));
+        }
+
+        LogFileStorage reopened = new LogFileStorage(logFile, FileSyncMode.BATCH);
+        assertEquals(validSize, Files.size(logFile));
+        assertEquals(42, reopened.load(playerId).getTotalCaught());
+        reopened.close();
+    }
+
+    @Test
+    void testCorruptMiddleRecordKeepsLaterRecords() throws IOException {
+        Path logFile = tempDir.resolve("players.db");
+        UUID first = UUID.randomUUID();
+        UUID corrupted = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+
+        LogFileStorage storage = new LogFileStorage(logFile, FileSyncMode.BATCH);
+        storage.write(Map.of(first, playerWithCaught(1)));
+        long middleOffset = Files.size(logFile);
+        storage.write(Map.of(corrupted, playerWithCaught(2)));
+        storage.write(Map.of(last, playerWithCaught(3)));
+        storage.close();
+
+        // Flip a payload byte of the middle record so its checksum fails
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long payloadOffset = middleOffset + 4 + 16 + 1;
+            java.nio.ByteBuffer octet = java.nio.ByteBuffer.allocate(1);
+            channel.read(octet, payloadOffset);
+            octet.put(0, (byte) (octet.get(0) ^ 0x55)).rewind();
+            channel.write(octet, payloadOffset);
+        }
+
+        LogFileStorage reopened = new LogFileStorage(logFile, FileSyncMode.BATCH);
+        assertEquals(1, reopened.load(first).getTotalCaught());
+        assertNull(reopened.load(corrupted));
+        assertEquals(3, reopened.load(last).getTotalCaught());
+        reopened.close();
+
+        try (var files = Files.list(tempDir)) {
+            assertTrue(files.anyMatch(path -> path.getFileName().toString().startsWith("players.db.corrupt-")));
+        }
+
+        // The corrupt bytes were compacted away, so the next open is clean
+        LogFileStorage again = new LogFileStorage(logFile, FileSyncMode.BATCH);
+        assertEquals(2, again.size());
+        again.close();
+    }
+
+    @Test
+    void testFailedEncodeDoesNotLeaveDictionaryGap() throws IOException {
+        Path logFile = tempDir.resolve("players.db");
+        UUID broken = UUID.randomUUID();
+        UUID healthy = UUID.randomUUID();
+
+        // New species get dictionary ids before the null mailbox item fails the encode
+        PlayerData unencodable = playerWithCaught(1);
+        unencodable.addLivingDexSpecies("eevee");
+        unencodable.addPendingItem(null);
+
+        LogFileStorage storage = new LogFileStorage(logFile, FileSyncMode.BATCH, PlayerDataEncoding.BINARY);
+        assertEquals(Set.of(broken), storage.write(Map.of(broken, unencodable)));
+        PlayerData later = playerWithCaught(2);
+        later.addLivingDexSpecies("vaporeon");
+        assertTrue(storage.write(Map.of(healthy, later)).isEmpty());
+        storage.close();
+
+        LogFileStorage reopened = new LogFileStorage(logFile, FileSyncMode.BATCH, PlayerDataEncoding.BINARY);
+        assertEquals(later.toJson(), reopened.load(healthy).toJson());
+        assertNull(reopened.load(broken));
+        reopened.close();
+    }
+
+    @Test
+    void testCompactionKeepsNewestRecords() throws IOException {
+        Path logFile = tempDir.resolve("players.db");
+        UUID player1 = UUID.randomUUID();
+        UUID player2 = UUID.randomUUID();
+
+        LogFileStorage storage = new LogFileStorage(logFile, FileSyncMode.NONE);
+        for (int i = 1; i <= 50; i++) {
+            storage.write(Map.of(player1, playerWithCaught(i), player2, playerWithCaught(i * 2)));
+        }
+        long before = Files.size(logFile);
+        storage.compact();
+
+        assertTrue(Files.size(logFile) < before);
+        assertEquals(50, storage.load(player1).getTotalCaught());
+        assertEquals(100, storage.load(player2).getTotalCaught());
+
+        // Appends after compaction still land in the right place
+        storage.write(Map.of(player1, playerWithCaught(51)));
+        storage.close();
+        LogFileStorage reopened = new LogFileStorage(logFile, FileSyncMode.NONE);
+        assertEquals(51, reopened.load(player1).getTotalCaught());
+        assertEquals(100, reopened.load(player2).getTotalCaught());
+        reopened.close();
+    }
+
+    @Test
+    void testImportFromJsonFilesIncludingV1() throws IOException {
+        String playersDir = tempDir.resolve("players").toString();
+        UUID v1Player = UUID.randomUUID();
+        UUID v2Player = UUID.randomUUID();
+
+        JsonObject v1Data = new JsonObject();
+        v1Data.addProperty("version", "1.0");
+        v1Data.addProperty("totalCaught", 30);
+        JsonObject claimed = new JsonObject();
+        claimed.addProperty("10", true);
+        v1Data.add("claimedRewards", claimed);
+        Utils.writeFileSync(playersDir, v1Player + ".json", Utils.newGson().toJson(v1Data));
+        Utils.writeFileSync(playersDir, v2Player + ".json", Utils.newGson().toJson(playerWithCaught(60).toJson()));
+
+        Path logFile = tempDir.resolve("players.db");
+        LogFileStorage storage = new LogFileStorage(logFile, FileSyncMode.BATCH);
+        JsonFileStorage jsonStorage = new JsonFileStorage(playersDir, FileSyncMode.BATCH);
+
+        assertEquals(2, LogStorageImporter.importIfNeeded(jsonStorage, storage, logFile));
+        assertEquals(30, storage.load(v1Player).getTotalCaught());
+        assertEquals("2.0", storage.load(v1Player).getVersion());
+        assertTrue(storage.load(v1Player).hasClaimedReward(10));
+        assertEquals(60, storage.load(v2Player).getTotalCaught());
+
+        // The import only runs once
+        assertEquals(0, LogStorageImporter.importIfNeeded(jsonStorage, storage, logFile));
+        storage.close();
+    }
+
+    @Test
+    void testBinaryRecordsAndDictionarySurviveReopenAndCompaction() throws IOException {
+        Path logFile = tempDir.resolve("players.db");
+        UUID player1 = UUID.randomUUID();
+        UUID player2 = UUID.randomUUID();
+
+        // Start with JSON records, then switch the encoding for new saves
+        LogFileStorage jsonLog = new LogFileStorage(logFile, FileSyncMode.BATCH, PlayerDataEncoding.JSON);
+        jsonLog.write(Map.of(player1, playerWithCaught(5), player2, playerWithCaught(6)));
+        jsonLog.close();
+
+        LogFileStorage storage = new LogFileStorage(logFile, FileSyncMode.BATCH, PlayerDataEncoding.BINARY);
+        PlayerData withSpecies = playerWithCaught(10);
+        withSpecies.addLivingDexSpecies("eevee");
+        storage.write(Map.of(player1, withSpecies));
+        assertEquals(withSpecies.toJson(), storage.load(player1).toJson());
+        storage.close();
+
+        LogFileStorage reopened = new LogFileStorage(logFile, FileSyncMode.BATCH, PlayerDataEncoding.BINARY);
+        assertEquals(withSpecies.toJson(), reopened.load(player1).toJson());
+        assertEquals(6, reopened.load(player2).getTotalCaught());
+
+        reopened.compact();
+        PlayerData later = playerWithCaught(11);
+        later.addLivingDexSpecies("vaporeon");
+        reopened.write(Map.of(player2, later));
+        reopened.close();
+
+        LogFileStorage compacted = new LogFileStorage(logFile, FileSyncMode.BATCH, PlayerDataEncoding.BINARY);
+        assertEquals(withSpecies.toJson(), compacted.load(player1).toJson());
+        assertEquals(later.toJson(), compacted.load(player2).toJson());
+        compacted.close();
+    }
+
+    @Test
+    void testExportWritesLogBackToJsonFiles() throws IOException {
+        String playersDir = tempDir.resolve("players").toString();
+        UUID playerId = UUID.randomUUID();
+        Utils.writeFileSync(playersDir, playerId + ".json", Utils.newGson().toJson(playerWithCaught(1).toJson()));
+
+        Path logFile = tempDir.resolve("players.db");
+        JsonFileStorage jsonStorage = new JsonFileStorage(playersDir, FileSyncMode.BATCH);
+        LogFileStorage storage = new LogFileStorage(logFile, FileSyncMode.BATCH, PlayerDataEncoding.BINARY);
+        LogStorageImporter.importIfNeeded(jsonStorage, storage, logFile);
+        PlayerData updated = playerWithCaught(99);
+        storage.write(Map.of(playerId, updated));
+        storage.close();
+
+        assertEquals(1, LogStorageImporter.exportIfNeeded(logFile, jsonStorage));
+        assertEquals(updated.toJson(), jsonStorage.load(playerId).toJson());
+        assertFalse(Files.exists(logFile));
+        assertEquals(0, LogStorageImporter.exportIfNeeded(logFile, jsonStorage));
+    }
+}
@@ -0,0 +1,140 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+import com.cobblemon.mdks.cobblemonpokedex.config.RewardTrack;
+import com.cobblemon.mdks.cobblemonpokedex.progress.MilestoneTracker;
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerDataCodecTest {
+
+    private static PlayerData samplePlayer() {
+        PlayerData data = new PlayerData();
+        data.updateTotalCaught(512);
+        data.updateTotalShinyCaught(7);
+        for (int tier = 10; tier <= 100; tier += 10) {
+            data.setClaimedReward(tier, true);
+        }
+        data.setClaimedReward(110, false);
+        data.setClaimedShinyReward(5, true);
+        data.setClaimedLivingDexReward(25, true);
+        for (String species : new String[]{"bulbasaur", "charmander", "squirtle", "pikachu", "mewtwo"}) {
+            data.addLivingDexSpecies(species);
+        }
+        return data;
+    }
+
+    @Test
+    void testRoundTripMatchesJson() {
+        SpeciesDictionary dictionary = new SpeciesDictionary();
+        PlayerData original = samplePlayer();
+
+        byte[] encoded = PlayerDataCodec.encode(original, dictionary);
+        PlayerData decoded = PlayerDataCodec.decode(encoded, dictionary);
+
+        assertEquals(original.toJson(), decoded.toJson());
+        assertFalse(decoded.hasClaimedReward(110));
+        assertTrue(decoded.hasClaimedReward(100));
+        assertEquals(5, dictionary.size());
+    }
+
+    @Test
+    void testRoundTripOfEmptyAndJsonLoadedData() {
+        SpeciesDictionary dictionary = new SpeciesDictionary();
+        PlayerData empty = new PlayerData();
+        assertEquals(empty.toJson(), PlayerDataCodec.decode(PlayerDataCodec.encode(empty, dictionary), dictionary).toJson());
+
+        PlayerData fromJson = new PlayerData(JsonParser.parseString(new Gson().toJson(samplePlayer().toJson())).getAsJsonObject());
+        assertEquals(fromJson.toJson(), PlayerDataCodec.decode(PlayerDataCodec.encode(fromJson, dictionary), dictionary).toJson());
+    }
+
+    @Test
+    void testPendingItemsRoundTrip() {
+        SpeciesDictionary dictionary = new SpeciesDictionary();
+        PlayerData withMail = samplePlayer();
+        withMail.addPendingItem("{count:3,id:\"minecraft:diamond\"}");
+        withMail.addPendingItem("{count:1,id:\"cobblemon:master_ball\"}");
+
+        PlayerData decoded = PlayerDataCodec.decode(PlayerDataCodec.encode(withMail, dictionary), dictionary);
+        assertEquals(withMail.getPendingItems(), decoded.getPendingItems());
+        assertEquals(withMail.toJson(), decoded.toJson());
+    }
+
+    @Test
+    void testShinySpeciesRoundTrip() {
+        SpeciesDictionary dictionary = new SpeciesDictionary();
+        PlayerData data = samplePlayer();
+        assertTrue(data.addShinySpecies("gyarados"));
+        assertTrue(data.addShinySpecies("pikachu"));
+        assertFalse(data.addShinySpecies("pikachu"));
+        assertEquals(2, data.getTotalShinyCaught());
+
+        PlayerData decoded = PlayerDataCodec.decode(PlayerDataCodec.encode(data, dictionary), dictionary);
+        assertEquals(data.getShinySpecies(), decoded.getShinySpecies());
+        assertEquals(data.toJson(), decoded.toJson());
+        assertTrue(new PlayerData(data.toJson()).hasShinySpecies("gyarados"));
+    }
+
+    @Test
+    void testMilestoneWatermarksRoundTrip() {
+        SpeciesDictionary dictionary = new SpeciesDictionary();
+        PlayerData data = samplePlayer();
+        data.setLastNotifiedTier(RewardTrack.COMPLETION, 70);
+        data.setLastNotifiedTier(RewardTrack.SHINY, 5);
+
+        PlayerData decoded = PlayerDataCodec.decode(PlayerDataCodec.encode(data, dictionary), dictionary);
+        assertEquals(70, decoded.getLastNotifiedTier(RewardTrack.COMPLETION));
+        assertEquals(5, decoded.getLastNotifiedTier(RewardTrack.SHINY));
+        assertEquals(MilestoneTracker.UNSET, decoded.getLastNotifiedTier(RewardTrack.LIVING_DEX));
+        assertEquals(data.toJson(), decoded.toJson());
+        assertEquals(70, new PlayerData(data.toJson()).getLastNotifiedTier(RewardTrack.COMPLETION));
+    }
+
+    @Test
+    void testBinaryIsSmallerThanJson() {
+        PlayerData data = samplePlayer();
+        byte[] binary = PlayerDataCodec.encode(data, new SpeciesDictionary());
+        byte[] json = new Gson().toJson(data.toJson()).getBytes(StandardCharsets.UTF_8);
+        assertTrue(binary.length * 4 < json.length, binary.length + " vs " + json.length);
+    }
+
+    @Test
+    void testIntSetEdgeCases() {
+        int[][] sets = {
+            {},
+            {42},
+            {-5, 0, 5},
+            {10, 20, 30, 40, 50, 60, 70, 80, 90, 100},
+            {1, 2, 3, 1000000},
+            {Integer.MIN_VALUE, 0, Integer.MAX_VALUE},
+            {3, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21}
+        };
+        for (int[] set : sets) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            PlayerDataCodec.writeIntSet(out, set);
+            ByteBuffer in = ByteBuffer.wrap(out.toByteArray());
+            assertArrayEquals(set, PlayerDataCodec.readIntSet(in), Arrays.toString(set));
+            assertFalse(in.hasRemaining());
+        }
+    }
+
+    @Test
+    void testRejectsUnknownVersionAndTruncation() {
+        SpeciesDictionary dictionary = new SpeciesDictionary();
+        byte[] encoded = PlayerDataCodec.encode(samplePlayer(), dictionary);
+
+        byte[] future = encoded.clone();
+        future[0] = 99;
+        assertThrows(IllegalArgumentException.class, () -> PlayerDataCodec.decode(future, dictionary));
+        assertThrows(IllegalArgumentException.class,
+            () -> PlayerDataCodec.decode(Arrays.copyOf(encoded, encoded.length / 2), dictionary));
+    }
+}
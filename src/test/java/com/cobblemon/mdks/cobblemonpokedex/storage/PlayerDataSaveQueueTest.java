@@ -0,0 +1,85 @@
+package com.cobblemon.mdks.cobblemonpokedex.storage;
+
+import com.cobblemon.mdks.cobblemonpokedex.config.PlayerDataConfig.PlayerData;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerDataSaveQueueTest {
+
+    private static final long LONG_INTERVAL_MS = 60000;
+
+    @Test
+    void testRepeatedSavesAreCoalesced() {
+        Map<UUID, PlayerData> written = new ConcurrentHashMap<>();
+        PlayerDataSaveQueue queue = new PlayerDataSaveQueue(batch -> {
+            written.putAll(batch);
+            return Collections.emptySet();
+        }, LONG_INTERVAL_MS);
+
+        UUID playerId = UUID.randomUUID();
+        for (int caught = 1; caught <= 5; caught++) {
+            PlayerData data = new PlayerData();
+            data.updateTotalCaught(caught);
+            queue.enqueue(playerId, data);
+        }
+        queue.flush();
+
+        assertEquals(5, queue.getQueuedCount());
+        assertEquals(4, queue.getCoalescedCount());
+        assertEquals(1, queue.getFlushedCount());
+        assertEquals(5, written.get(playerId).getTotalCaught(), "Only the newest snapshot should be written");
+        queue.shutdown();
+    }
+
+    @Test
+    void testShutdownDrainsPendingWrites() {
+        Set<UUID> written = ConcurrentHashMap.newKeySet();
+        PlayerDataSaveQueue queue = new PlayerDataSaveQueue(batch -> {
+            written.addAll(batch.keySet());
+            return Collections.emptySet();
+        }, LONG_INTERVAL_MS);
+
+        UUID player1 = UUID.randomUUID();
+        UUID player2 = UUID.randomUUID();
+        queue.enqueue(player1, new PlayerData());
+        queue.enqueue(player2, new PlayerData());
+        assertEquals(2, queue.getPendingCount());
+
+        queue.shutdown();
+
+        assertEquals(0, queue.getPendingCount());
+        assertTrue(written.contains(player1));
+        assertTrue(written.contains(player2));
+    }
+
+    @Test
+    void testFailedWritesAreRetried() {
+        Set<UUID> failOnce = new HashSet<>();
+        PlayerDataSaveQueue queue = new PlayerDataSaveQueue(batch -> {
+            Set<UUID> failed = new HashSet<>();
+            for (UUID id : batch.keySet()) {
+                if (failOnce.add(id)) failed.add(id);
+            }
+            return failed;
+        }, LONG_INTERVAL_MS);
+
+        UUID playerId = UUID.randomUUID();
+        queue.enqueue(playerId, new PlayerData());
+        queue.flush();
+        assertEquals(1, queue.getFailedCount());
+        assertNotNull(queue.getPending(playerId), "Failed snapshot should stay queued");
+
+        queue.flush();
+        assertEquals(1, queue.getFlushedCount());
+        assertNull(queue.getPending(playerId));
+        queue.shutdown();
+    }
+}
@@ -0,0 +1,93 @@
+package com.cobblemon.mdks.cobblemonpokedex.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceTest {
+
+    @AfterEach
+    void tearDown() {
+        Trace.configure(new EnumMap<>(TraceCategory.class), Trace.DEFAULT_BUFFER_SIZE, false);
+        Trace.getBuffer().clear();
+    }
+
+    @Test
+    void testFormat() {
+        assertEquals("plain", Trace.format("plain"));
+        assertEquals("a 1 b two", Trace.format("a {} b {}", 1, "two"));
+        assertEquals("extra {}", Trace.format("extra {}"));
+        assertEquals("only 1 {}", Trace.format("only {} {}", 1));
+        assertEquals("kept {} then 5", Trace.format("kept \\{} then {}", 5));
+        assertEquals("null", Trace.format("{}", (Object) null));
+    }
+
+    @Test
+    void testLevelsPerCategory() {
+        Map<TraceCategory, TraceLevel> levels = new EnumMap<>(TraceCategory.class);
+        levels.put(TraceCategory.REWARDS, TraceLevel.DEBUG);
+        Trace.configure(levels, 64, false);
+
+        assertTrue(Trace.isEnabled(TraceCategory.REWARDS, TraceLevel.INFO));
+        assertTrue(Trace.isEnabled(TraceCategory.REWARDS, TraceLevel.DEBUG));
+        assertFalse(Trace.isEnabled(TraceCategory.REWARDS, TraceLevel.TRACE));
+        assertFalse(Trace.isEnabled(TraceCategory.UI, TraceLevel.INFO));
+        assertFalse(Trace.isEnabled(TraceCategory.REWARDS, TraceLevel.OFF));
+
+        Trace.debug(TraceCategory.REWARDS, "claimed {}", 10);
+        Trace.trace(TraceCategory.REWARDS, "not recorded {}", 10);
+        Trace.info(TraceCategory.UI, "not recorded");
+        List<TraceBuffer.Entry> entries = Trace.getRecent(10);
+        assertEquals(1, entries.size());
+        assertEquals("claimed 10", entries.get(0).getMessage());
+        assertEquals(TraceCategory.REWARDS, entries.get(0).getCategory());
+        assertEquals(TraceLevel.DEBUG, entries.get(0).getLevel());
+
+        Trace.setLevel(TraceCategory.UI, TraceLevel.TRACE);
+        assertTrue(Trace.isEnabled(TraceCategory.UI, TraceLevel.TRACE));
+        assertTrue(Trace.isEnabled(TraceCategory.REWARDS, TraceLevel.DEBUG));
+
+        // Every level has the same fixed-arity overloads
+        Trace.info(TraceCategory.UI, "{} of {} for {}", 1, 2, "a");
+        Trace.trace(TraceCategory.UI, "{} {} {} {}", 1, 2, 3, 4);
+        entries = Trace.getRecent(2);
+        assertEquals("1 of 2 for a", entries.get(0).getMessage());
+        assertEquals("1 2 3 4", entries.get(1).getMessage());
+    }
+
+    @Test
+    void testRingBufferKeepsNewestEntries() {
+        TraceBuffer buffer = new TraceBuffer(4);
+        assertTrue(buffer.getRecent(10).isEmpty());
+        for (int i = 0; i < 10; i++) {
+            buffer.add(new TraceBuffer.Entry(i, TraceCategory.EVENTS, TraceLevel.INFO, "main", "entry " + i));
+        }
+
+        assertEquals(10, buffer.getRecorded());
+        List<TraceBuffer.Entry> recent = buffer.getRecent(10);
+        assertEquals(4, recent.size());
+        assertEquals("entry 6", recent.get(0).getMessage());
+        assertEquals("entry 9", recent.get(3).getMessage());
+
+        List<TraceBuffer.Entry> lastTwo = buffer.getRecent(2);
+        assertEquals("entry 8", lastTwo.get(0).getMessage());
+        assertEquals("entry 9", lastTwo.get(1).getMessage());
+
+        buffer.clear();
+        assertEquals(0, buffer.getRecorded());
+        assertTrue(buffer.getRecent(10).isEmpty());
+    }
+
+    @Test
+    void testParsingNames() {
+        assertEquals(TraceCategory.PERSISTENCE, TraceCategory.fromString("persistence"));
+        assertNull(TraceCategory.fromString("network"));
+        assertEquals(TraceLevel.DEBUG, TraceLevel.fromString("Debug"));
+        assertEquals(TraceLevel.OFF, TraceLevel.fromString("verbose"));
+    }
+}